@@ -1,6 +1,12 @@
 package com.mycompany.myapp.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Goto.
@@ -13,12 +19,84 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Cache cache = new Cache();
+
+    private final Datasource datasource = new Datasource();
+
+    private final QueryCount queryCount = new QueryCount();
+
+    private final SlowQueryLog slowQueryLog = new SlowQueryLog();
+
+    private final MultiGet multiGet = new MultiGet();
+
+    private final AttendeeCounts attendeeCounts = new AttendeeCounts();
+
+    private final ResponseCache responseCache = new ResponseCache();
+
+    private final VirtualThreads virtualThreads = new VirtualThreads();
+
+    private final JwtCache jwtCache = new JwtCache();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final LoginThrottle loginThrottle = new LoginThrottle();
+
+    private final UserCache userCache = new UserCache();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Datasource getDatasource() {
+        return datasource;
+    }
+
+    public QueryCount getQueryCount() {
+        return queryCount;
+    }
+
+    public SlowQueryLog getSlowQueryLog() {
+        return slowQueryLog;
+    }
+
+    public MultiGet getMultiGet() {
+        return multiGet;
+    }
+
+    public AttendeeCounts getAttendeeCounts() {
+        return attendeeCounts;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    public VirtualThreads getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public JwtCache getJwtCache() {
+        return jwtCache;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public LoginThrottle getLoginThrottle() {
+        return loginThrottle;
+    }
+
+    public UserCache getUserCache() {
+        return userCache;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +111,597 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Cache {
+
+        /**
+         * Per-region overrides of the {@code jhipster.cache.caffeine} defaults, keyed by cache (region) name.
+         */
+        private final Map<String, Region> regions = new LinkedHashMap<>();
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public static class Region {
+
+            private Long maxEntries;
+
+            private Integer timeToLiveSeconds;
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public Integer getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Integer timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+        }
+    }
+
+    public static class Datasource {
+
+        private final Replica replica = new Replica();
+
+        private final ConnectionLimit connectionLimit = new ConnectionLimit();
+
+        public Replica getReplica() {
+            return replica;
+        }
+
+        public ConnectionLimit getConnectionLimit() {
+            return connectionLimit;
+        }
+
+        /**
+         * A read replica of the {@code spring.datasource} database, used by read-only transactions. Unset connection
+         * settings default to the primary ones.
+         */
+        public static class Replica {
+
+            private boolean enabled = false;
+
+            private String url;
+
+            private String username;
+
+            private String password;
+
+            private Integer maximumPoolSize;
+
+            /**
+             * Replication lag above which read-only transactions go back to the primary.
+             */
+            private Duration maxLag = Duration.ofSeconds(5);
+
+            private Duration healthCheckInterval = Duration.ofSeconds(10);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+
+            public Integer getMaximumPoolSize() {
+                return maximumPoolSize;
+            }
+
+            public void setMaximumPoolSize(Integer maximumPoolSize) {
+                this.maximumPoolSize = maximumPoolSize;
+            }
+
+            public Duration getMaxLag() {
+                return maxLag;
+            }
+
+            public void setMaxLag(Duration maxLag) {
+                this.maxLag = maxLag;
+            }
+
+            public Duration getHealthCheckInterval() {
+                return healthCheckInterval;
+            }
+
+            public void setHealthCheckInterval(Duration healthCheckInterval) {
+                this.healthCheckInterval = healthCheckInterval;
+            }
+        }
+
+        /**
+         * Limit of the number of connections used at once, in front of the pool, see {@code ConnectionLimitingDataSource}.
+         */
+        public static class ConnectionLimit {
+
+            /**
+             * Whether to limit the connections, by default when virtual threads are enabled.
+             */
+            private Boolean enabled;
+
+            /**
+             * Maximum number of connections used at once, by default the maximum size of the pool.
+             */
+            private Integer maxConnections;
+
+            /**
+             * Time to wait for a connection before failing.
+             */
+            private Duration acquireTimeout = Duration.ofSeconds(30);
+
+            public Boolean getEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(Boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public Integer getMaxConnections() {
+                return maxConnections;
+            }
+
+            public void setMaxConnections(Integer maxConnections) {
+                this.maxConnections = maxConnections;
+            }
+
+            public Duration getAcquireTimeout() {
+                return acquireTimeout;
+            }
+
+            public void setAcquireTimeout(Duration acquireTimeout) {
+                this.acquireTimeout = acquireTimeout;
+            }
+        }
+    }
+
+    /**
+     * Counting of the SQL statements executed by each request, see {@code QueryCountFilter}.
+     */
+    public static class QueryCount {
+
+        /**
+         * Requests executing more statements are logged as a warning, as they may be N+1 selects.
+         */
+        private int warnThreshold = 30;
+
+        /**
+         * Whether to send the number of statements in the {@code X-Query-Count} response header.
+         */
+        private boolean header = false;
+
+        public int getWarnThreshold() {
+            return warnThreshold;
+        }
+
+        public void setWarnThreshold(int warnThreshold) {
+            this.warnThreshold = warnThreshold;
+        }
+
+        public boolean isHeader() {
+            return header;
+        }
+
+        public void setHeader(boolean header) {
+            this.header = header;
+        }
+    }
+
+    /**
+     * Logging of slow SQL statements, which can be changed at runtime with the {@code hibernatestatistics} endpoint.
+     */
+    public static class SlowQueryLog {
+
+        /**
+         * Statements taking longer to execute are logged as a warning, disabled when not set.
+         */
+        private Duration threshold;
+
+        public Duration getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(Duration threshold) {
+            this.threshold = threshold;
+        }
+    }
+
+    /**
+     * Multi-get requests, resolving several entities by id at once with {@code GET /api/{entity}?ids=}.
+     */
+    public static class MultiGet {
+
+        /**
+         * Maximum number of ids of a request.
+         */
+        private int maxIds = 100;
+
+        public int getMaxIds() {
+            return maxIds;
+        }
+
+        public void setMaxIds(int maxIds) {
+            this.maxIds = maxIds;
+        }
+    }
+
+    /**
+     * Reconciliation of the numbers of attendees of sessions and conferences, which are maintained by the database.
+     */
+    public static class AttendeeCounts {
+
+        /**
+         * Cron expression of the reconciliation job, {@code -} to disable it.
+         */
+        private String reconciliationCron = "0 30 1 * * ?";
+
+        /**
+         * Number of rows repaired per transaction, each transaction locking its rows.
+         */
+        private int batchSize = 500;
+
+        public String getReconciliationCron() {
+            return reconciliationCron;
+        }
+
+        public void setReconciliationCron(String reconciliationCron) {
+            this.reconciliationCron = reconciliationCron;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    /**
+     * Caching of the serialized responses of frequently read endpoints, see {@code ResponseCacheFilter}.
+     */
+    public static class ResponseCache {
+
+        /**
+         * Maximum total size of the cached response bodies.
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(16);
+
+        /**
+         * Time after which a cached response is evicted, as writes bypassing the API don't evict it.
+         */
+        private Duration timeToLive = Duration.ofMinutes(10);
+
+        /**
+         * Cached endpoints, keyed by path, none by default.
+         */
+        private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+
+        public Map<String, Endpoint> getEndpoints() {
+            return endpoints;
+        }
+
+        public static class Endpoint {
+
+            /**
+             * Patterns of the paths whose successful {@code POST}, {@code PUT}, {@code PATCH} and {@code DELETE} requests
+             * evict the cached responses of the endpoint.
+             */
+            private List<String> invalidatedBy = new ArrayList<>();
+
+            public List<String> getInvalidatedBy() {
+                return invalidatedBy;
+            }
+
+            public void setInvalidatedBy(List<String> invalidatedBy) {
+                this.invalidatedBy = invalidatedBy;
+            }
+        }
+    }
+
+    /**
+     * Monitoring of the virtual threads, used when {@code spring.threads.virtual.enabled} is set on Java 21 or later.
+     */
+    public static class VirtualThreads {
+
+        /**
+         * Virtual threads pinned to their carrier thread for longer are recorded, see {@code PinnedThreadsMetrics}.
+         */
+        private Duration pinnedThreshold = Duration.ofMillis(20);
+
+        public Duration getPinnedThreshold() {
+            return pinnedThreshold;
+        }
+
+        public void setPinnedThreshold(Duration pinnedThreshold) {
+            this.pinnedThreshold = pinnedThreshold;
+        }
+    }
+
+    /**
+     * Cache of the decoded JWT tokens, see {@code CachingJwtDecoder}.
+     */
+    public static class JwtCache {
+
+        /**
+         * Maximum number of cached tokens, {@code 0} to decode every token.
+         */
+        private long maximumSize = 10_000;
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
+
+    /**
+     * Executor hashing the passwords, see {@code BoundedPasswordEncoder}.
+     */
+    public static class PasswordHashing {
+
+        /**
+         * Number of threads hashing passwords, defaults to the number of processors.
+         */
+        private Integer poolSize;
+
+        /**
+         * Number of passwords waiting for a thread above which they are rejected, defaults to half the server worker
+         * threads minus the pool size, as the requests hashing or waiting for a hash block their worker thread.
+         */
+        private Integer queueCapacity;
+
+        /**
+         * Maximum time a request waits for its password to be hashed, after which it is rejected.
+         */
+        private Duration maxWait = Duration.ofSeconds(1);
+
+        /**
+         * Time after which the clients of the rejected requests should retry.
+         */
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        /**
+         * Time to hash a password, the BCrypt cost is calibrated at startup to hash in at most this time.
+         */
+        private Duration targetHashTime = Duration.ofMillis(100);
+
+        /**
+         * BCrypt cost used even when hashing takes longer than the target time.
+         */
+        private int minimumCost = 10;
+
+        /**
+         * Maximum BCrypt cost.
+         */
+        private int maximumCost = 16;
+
+        public Integer getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(Integer poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public Integer getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(Integer queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        public void setRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+
+        public Duration getTargetHashTime() {
+            return targetHashTime;
+        }
+
+        public void setTargetHashTime(Duration targetHashTime) {
+            this.targetHashTime = targetHashTime;
+        }
+
+        public int getMinimumCost() {
+            return minimumCost;
+        }
+
+        public void setMinimumCost(int minimumCost) {
+            this.minimumCost = minimumCost;
+        }
+
+        public int getMaximumCost() {
+            return maximumCost;
+        }
+
+        public void setMaximumCost(int maximumCost) {
+            this.maximumCost = maximumCost;
+        }
+    }
+
+    /**
+     * Throttling of the login attempts, see {@code LoginThrottle}.
+     */
+    public static class LoginThrottle {
+
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of buckets of each type, the least frequently used ones are evicted first.
+         */
+        private long maximumSize = 100_000;
+
+        /**
+         * Number of reverse proxies in front of the application, each appending the address it received the request from
+         * to the {@code X-Forwarded-For} header, 0 to throttle by the remote address of the connection.
+         */
+        private int trustedProxies = 0;
+
+        private final Bucket login = new Bucket(10, Duration.ofMinutes(5));
+
+        private final Bucket ip = new Bucket(300, Duration.ofMinutes(1));
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public int getTrustedProxies() {
+            return trustedProxies;
+        }
+
+        public void setTrustedProxies(int trustedProxies) {
+            this.trustedProxies = trustedProxies;
+        }
+
+        public Bucket getLogin() {
+            return login;
+        }
+
+        public Bucket getIp() {
+            return ip;
+        }
+
+        public static class Bucket {
+
+            /**
+             * Number of attempts allowed in a burst.
+             */
+            private int capacity;
+
+            /**
+             * Time to refill an empty bucket.
+             */
+            private Duration refillPeriod;
+
+            public Bucket(int capacity, Duration refillPeriod) {
+                this.capacity = capacity;
+                this.refillPeriod = refillPeriod;
+            }
+
+            public int getCapacity() {
+                return capacity;
+            }
+
+            public void setCapacity(int capacity) {
+                this.capacity = capacity;
+            }
+
+            public Duration getRefillPeriod() {
+                return refillPeriod;
+            }
+
+            public void setRefillPeriod(Duration refillPeriod) {
+                this.refillPeriod = refillPeriod;
+            }
+        }
+    }
+
+    /**
+     * Cache of the users with their authorities, see {@code UserCache}.
+     */
+    public static class UserCache {
+
+        /**
+         * Maximum number of cached users, by login and by email, {@code 0} to load the users on every request.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Time after which the users are evicted, in case they were changed without going through {@code UserService}.
+         */
+        private Duration timeToLive = Duration.ofHours(1);
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
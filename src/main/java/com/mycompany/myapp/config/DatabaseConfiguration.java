@@ -1,12 +1,176 @@
 package com.mycompany.myapp.config;
 
+import com.mycompany.myapp.management.QueryCountSessionEventListener;
+import com.mycompany.myapp.management.QueryCountStatementInspector;
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.env.Environment;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.util.StringUtils;
 
 @Configuration
 @EnableJpaRepositories({ "com.mycompany.myapp.repository" })
 @EnableJpaAuditing(auditorAwareRef = "springSecurityAuditorAware")
 @EnableTransactionManagement
-public class DatabaseConfiguration {}
+public class DatabaseConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DatabaseConfiguration.class);
+
+    private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountHibernatePropertiesCustomizer() {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountStatementInspector());
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryCountSessionEventListener.class.getName());
+        };
+    }
+
+    /**
+     * Limits the number of connections used at once in front of the pool, see {@link ConnectionLimitingDataSource}, when
+     * {@code application.datasource.connection-limit.enabled} is set or, by default, when virtual threads are enabled.
+     * <p>
+     * The properties are bound here, as post-processors are created before the other beans.
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        ApplicationProperties.Datasource.ConnectionLimit connectionLimit = Binder.get(environment)
+            .bind("application.datasource.connection-limit", ApplicationProperties.Datasource.ConnectionLimit.class)
+            .orElseGet(ApplicationProperties.Datasource.ConnectionLimit::new);
+        boolean enabled = connectionLimit.getEnabled() != null ? connectionLimit.getEnabled() : Threading.VIRTUAL.isActive(environment);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!enabled || !DATA_SOURCE_BEAN_NAME.equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                int maxConnections = connectionLimit.getMaxConnections() != null
+                    ? connectionLimit.getMaxConnections()
+                    : DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class).getMaximumPoolSize();
+                LOG.info("Limiting the connections used at once to {}", maxConnections);
+                return new ConnectionLimitingDataSource(dataSource, maxConnections, connectionLimit.getAcquireTimeout());
+            }
+        };
+    }
+
+    /**
+     * Times the JDBC statements for the slow query log, see {@link SlowQueryLogDataSource}.
+     * <p>
+     * Runs before the other post-processors, so that only the statements are timed, and not the wait for a connection.
+     */
+    @Bean
+    public static SlowQueryLogDataSourcePostProcessor slowQueryLogDataSourcePostProcessor() {
+        return new SlowQueryLogDataSourcePostProcessor();
+    }
+
+    static final class SlowQueryLogDataSourcePostProcessor implements BeanPostProcessor, PriorityOrdered {
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!DATA_SOURCE_BEAN_NAME.equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new SlowQueryLogDataSource(dataSource);
+        }
+    }
+
+    /**
+     * Routes read-only transactions to a read replica, enabled with {@code application.datasource.replica.enabled}.
+     * <p>
+     * The primary and the replica have their own Hikari pool, both configured with {@code spring.datasource.hikari}.
+     * The application uses a {@link LazyConnectionDataSourceProxy} in front of them: as the transaction manager marks the
+     * connection of a {@code @Transactional(readOnly = true)} method as read-only before the proxy fetches the physical
+     * connection, those transactions get a replica connection, and all the others a primary one. Read-only transactions
+     * go back to the primary while the replica is unhealthy or lagging, see {@link ReplicaFallbackDataSource}.
+     * <p>
+     * When {@code application.datasource.replica.url} is not set, the replica pool connects to the primary database,
+     * which allows to try the routing locally with a single database.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "application.datasource.replica", name = "enabled", havingValue = "true")
+    static class ReplicaConfiguration {
+
+        private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+        @Bean
+        @ConfigurationProperties(HIKARI_PREFIX)
+        public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+            HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            if (StringUtils.hasText(properties.getName())) {
+                dataSource.setPoolName(properties.getName());
+            }
+            return dataSource;
+        }
+
+        @Bean
+        public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            ApplicationProperties applicationProperties,
+            Environment environment
+        ) {
+            ApplicationProperties.Datasource.Replica replica = applicationProperties.getDatasource().getReplica();
+            HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            Binder.get(environment).bind(HIKARI_PREFIX, Bindable.ofInstance(dataSource));
+            if (replica.getUrl() != null) {
+                dataSource.setJdbcUrl(replica.getUrl());
+            }
+            if (replica.getUsername() != null) {
+                dataSource.setUsername(replica.getUsername());
+                dataSource.setPassword(replica.getPassword());
+            }
+            if (replica.getMaximumPoolSize() != null) {
+                dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            }
+            dataSource.setPoolName((dataSource.getPoolName() != null ? dataSource.getPoolName() : "Hikari") + "-replica");
+            dataSource.setReadOnly(true);
+            return dataSource;
+        }
+
+        @Bean
+        public ReplicaFallbackDataSource replicaFallbackDataSource(
+            @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            ApplicationProperties applicationProperties
+        ) {
+            ApplicationProperties.Datasource.Replica replica = applicationProperties.getDatasource().getReplica();
+            return new ReplicaFallbackDataSource(replicaDataSource, primaryDataSource, replica.getMaxLag(), replica.getHealthCheckInterval());
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            ReplicaFallbackDataSource replicaFallbackDataSource
+        ) {
+            LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+            dataSource.setReadOnlyDataSource(replicaFallbackDataSource);
+            return dataSource;
+        }
+    }
+}
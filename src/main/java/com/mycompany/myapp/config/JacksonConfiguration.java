@@ -26,9 +26,15 @@ public class JacksonConfiguration {
 
     /*
      * Support for Hibernate types in Jackson.
+     *
+     * Serialization never initializes a lazy association: an uninitialized proxy is written as its identifier, an
+     * uninitialized collection as null, and a proxy to a missing row as null.
      */
     @Bean
     public Hibernate6Module hibernate6Module() {
-        return new Hibernate6Module().configure(Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS, true);
+        return new Hibernate6Module()
+            .configure(Feature.FORCE_LAZY_LOADING, false)
+            .configure(Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS, true)
+            .configure(Feature.WRITE_MISSING_ENTITIES_AS_NULL, true);
     }
 }
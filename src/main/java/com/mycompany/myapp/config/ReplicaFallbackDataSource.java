@@ -0,0 +1,126 @@
+package com.mycompany.myapp.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Read-only {@link DataSource} that hands out replica connections while the replica is healthy, and primary connections
+ * otherwise.
+ * <p>
+ * The replica is checked periodically: it is considered unhealthy when the check fails or when its replication lag is
+ * above the configured maximum. A replica connection that can't be obtained also marks the replica unhealthy until the
+ * next successful check.
+ */
+public class ReplicaFallbackDataSource extends DelegatingDataSource implements InitializingBean, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaFallbackDataSource.class);
+
+    /**
+     * Replication lag in seconds, {@code 0} when the database is not a standby or has replayed everything it received.
+     */
+    static final String LAG_QUERY =
+        "select case when not pg_is_in_recovery() or pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 " +
+        "else extract(epoch from now() - pg_last_xact_replay_timestamp()) end";
+
+    private final DataSource primary;
+
+    private final Duration maxLag;
+
+    private final Duration healthCheckInterval;
+
+    private ScheduledExecutorService healthCheckExecutor;
+
+    private volatile boolean replicaHealthy = true;
+
+    public ReplicaFallbackDataSource(DataSource replica, DataSource primary, Duration maxLag, Duration healthCheckInterval) {
+        super(replica);
+        this.primary = primary;
+        this.maxLag = maxLag;
+        this.healthCheckInterval = healthCheckInterval;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        healthCheckExecutor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("replica-health-"));
+        healthCheckExecutor.scheduleWithFixedDelay(
+            this::checkReplicaHealth,
+            0,
+            healthCheckInterval.toMillis(),
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    @Override
+    public void destroy() {
+        if (healthCheckExecutor != null) {
+            healthCheckExecutor.shutdownNow();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (replicaHealthy) {
+            try {
+                return super.getConnection();
+            } catch (SQLException e) {
+                markUnhealthy("could not get a connection", e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (replicaHealthy) {
+            try {
+                return super.getConnection(username, password);
+            } catch (SQLException e) {
+                markUnhealthy("could not get a connection", e);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    public boolean isReplicaHealthy() {
+        return replicaHealthy;
+    }
+
+    void checkReplicaHealth() {
+        try (Connection connection = super.getConnection(); Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(Math.max(1, (int) healthCheckInterval.toSeconds()));
+            try (ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                double lagSeconds = resultSet.getDouble(1);
+                if (lagSeconds * 1000 > maxLag.toMillis()) {
+                    markUnhealthy("replication lag is " + lagSeconds + "s", null);
+                } else if (!replicaHealthy) {
+                    LOG.info("Replica is healthy again, read-only transactions use the replica");
+                    replicaHealthy = true;
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            markUnhealthy("health check failed", e);
+        }
+    }
+
+    private void markUnhealthy(String reason, Exception e) {
+        if (replicaHealthy) {
+            LOG.warn("Replica is unhealthy ({}), read-only transactions use the primary", reason, e);
+        }
+        replicaHealthy = false;
+    }
+}
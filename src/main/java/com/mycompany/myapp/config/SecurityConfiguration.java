@@ -4,6 +4,10 @@ import static org.springframework.security.config.Customizer.withDefaults;
 
 import com.mycompany.myapp.security.*;
 import com.mycompany.myapp.web.filter.SpaWebFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -12,6 +16,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer.FrameOptionsConfig;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
 import org.springframework.security.oauth2.server.resource.web.access.BearerTokenAccessDeniedHandler;
@@ -26,6 +31,8 @@ import tech.jhipster.config.JHipsterProperties;
 @EnableMethodSecurity(securedEnabled = true)
 public class SecurityConfiguration {
 
+    private static final String BCRYPT_ID = "bcrypt";
+
     private final JHipsterProperties jHipsterProperties;
 
     public SecurityConfiguration(JHipsterProperties jHipsterProperties) {
@@ -33,12 +40,61 @@ public class SecurityConfiguration {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptCostCalibration bcryptCostCalibration(ApplicationProperties applicationProperties) {
+        ApplicationProperties.PasswordHashing passwordHashing = applicationProperties.getPasswordHashing();
+        return BCryptCostCalibration.calibrate(
+            passwordHashing.getTargetHashTime(),
+            passwordHashing.getMinimumCost(),
+            passwordHashing.getMaximumCost()
+        );
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
+        BCryptCostCalibration bcryptCostCalibration,
+        ObjectProvider<ServerProperties> serverProperties
+    ) {
+        ApplicationProperties.PasswordHashing passwordHashing = applicationProperties.getPasswordHashing();
+        int poolSize = passwordHashing.getPoolSize() != null ? passwordHashing.getPoolSize() : Runtime.getRuntime().availableProcessors();
+        int workerThreads = undertowWorkerThreads(serverProperties.getIfAvailable(ServerProperties::new));
+        int queueCapacity = passwordHashing.getQueueCapacity() != null
+            ? passwordHashing.getQueueCapacity()
+            : BoundedPasswordEncoder.defaultQueueCapacity(workerThreads, poolSize);
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptCostCalibration.getCost());
+        DelegatingPasswordEncoder delegatingPasswordEncoder = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        // hashes stored before the introduction of the {bcrypt} prefix, upgraded on the next login
+        delegatingPasswordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new BoundedPasswordEncoder(
+            delegatingPasswordEncoder,
+            poolSize,
+            queueCapacity,
+            passwordHashing.getMaxWait(),
+            passwordHashing.getRetryAfter(),
+            meterRegistry
+        );
+    }
+
+    /**
+     * @param serverProperties the server properties.
+     * @return the number of worker threads of Undertow, which computes it from the number of I/O threads when not set.
+     */
+    private static int undertowWorkerThreads(ServerProperties serverProperties) {
+        ServerProperties.Undertow.Threads threads = serverProperties.getUndertow().getThreads();
+        if (threads.getWorker() != null) {
+            return threads.getWorker();
+        }
+        int ioThreads = threads.getIo() != null ? threads.getIo() : Math.max(Runtime.getRuntime().availableProcessors(), 2);
+        return ioThreads * 8;
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http, MvcRequestMatcher.Builder mvc) throws Exception {
+    public SecurityFilterChain filterChain(
+        HttpSecurity http,
+        MvcRequestMatcher.Builder mvc,
+        ActiveUserJwtAuthenticationConverter activeUserJwtAuthenticationConverter
+    ) throws Exception {
         http
             .cors(withDefaults())
             .csrf(csrf -> csrf.disable())
@@ -90,7 +146,7 @@ public class SecurityConfiguration {
                         .authenticationEntryPoint(new BearerTokenAuthenticationEntryPoint())
                         .accessDeniedHandler(new BearerTokenAccessDeniedHandler())
             )
-            .oauth2ResourceServer(oauth2 -> oauth2.jwt(withDefaults()));
+            .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(activeUserJwtAuthenticationConverter)));
         return http.build();
     }
 
@@ -3,12 +3,17 @@ package com.mycompany.myapp.config;
 import static com.mycompany.myapp.security.SecurityUtils.JWT_ALGORITHM;
 
 import com.mycompany.myapp.management.SecurityMetersService;
+import com.mycompany.myapp.security.ActiveUserJwtAuthenticationConverter;
+import com.mycompany.myapp.security.CachingJwtDecoder;
+import com.mycompany.myapp.security.UserCache;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
+import io.micrometer.core.instrument.MeterRegistry;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,6 +21,7 @@ import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 
 @Configuration
 public class SecurityJwtConfiguration {
@@ -26,9 +32,13 @@ public class SecurityJwtConfiguration {
     private String jwtKey;
 
     @Bean
-    public JwtDecoder jwtDecoder(SecurityMetersService metersService) {
+    public JwtDecoder jwtDecoder(
+        SecurityMetersService metersService,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
         NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(getSecretKey()).macAlgorithm(JWT_ALGORITHM).build();
-        return token -> {
+        JwtDecoder classifyingJwtDecoder = token -> {
             try {
                 return jwtDecoder.decode(token);
             } catch (Exception e) {
@@ -48,6 +58,20 @@ public class SecurityJwtConfiguration {
                 throw e;
             }
         };
+        long maximumSize = applicationProperties.getJwtCache().getMaximumSize();
+        return maximumSize > 0 ? new CachingJwtDecoder(classifyingJwtDecoder, maximumSize, meterRegistry) : classifyingJwtDecoder;
+    }
+
+    @Bean
+    public ActiveUserJwtAuthenticationConverter activeUserJwtAuthenticationConverter(
+        UserCache userCache,
+        ObjectProvider<JwtAuthenticationConverter> jwtAuthenticationConverter
+    ) {
+        // the converter configured by the spring.security.oauth2.resourceserver.jwt properties
+        return new ActiveUserJwtAuthenticationConverter(
+            userCache,
+            jwtAuthenticationConverter.getIfAvailable(JwtAuthenticationConverter::new)
+        );
     }
 
     @Bean
@@ -0,0 +1,119 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.management.SlowQueryLog;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * {@link DataSource} timing the execution of the JDBC statements for the {@link SlowQueryLog}.
+ * <p>
+ * The statements are wrapped with the SQL they were created with, so that the time and the SQL of an execution are always
+ * captured together: with batching, Hibernate executes a batch after it has prepared the statement of the next one. The
+ * statements of the application which bypass Hibernate, such as those of a {@code JdbcTemplate}, are timed as well.
+ * Nothing is timed while the log is disabled.
+ */
+public class SlowQueryLogDataSource extends DelegatingDataSource {
+
+    private static final String EXECUTE_PREFIX = "execute";
+
+    public SlowQueryLogDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return loggedConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return loggedConnection(super.getConnection(username, password));
+    }
+
+    private static Connection loggedConnection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(
+            ConnectionProxy.class.getClassLoader(),
+            new Class<?>[] { ConnectionProxy.class },
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> "Slow query logging connection [" + target + "]";
+                    case "getTargetConnection" -> target;
+                    case "prepareStatement", "prepareCall" -> loggedStatement(
+                        method.getReturnType(),
+                        invoke(target, method, args),
+                        (String) args[0]
+                    );
+                    case "createStatement" -> loggedStatement(Statement.class, invoke(target, method, args), null);
+                    default -> invoke(target, method, args);
+                }
+        );
+    }
+
+    /**
+     * @param type the interface of the statement.
+     * @param target the statement.
+     * @param preparedSql the SQL of a prepared statement, {@code null} for a statement which is given its SQL on execution.
+     * @return the statement, timing its executions.
+     */
+    private static Object loggedStatement(Class<?> type, Object target, String preparedSql) {
+        List<String> batch = new ArrayList<>();
+        return Proxy.newProxyInstance(
+            SlowQueryLogDataSource.class.getClassLoader(),
+            new Class<?>[] { type },
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "addBatch" -> {
+                        if (preparedSql == null) {
+                            batch.add((String) args[0]);
+                        }
+                        yield invoke(target, method, args);
+                    }
+                    case "clearBatch" -> {
+                        batch.clear();
+                        yield invoke(target, method, args);
+                    }
+                    case "executeBatch", "executeLargeBatch" -> {
+                        String sql = preparedSql != null ? preparedSql : String.join("; ", batch);
+                        batch.clear();
+                        yield execute(target, method, args, sql);
+                    }
+                    default -> method.getName().startsWith(EXECUTE_PREFIX)
+                        ? execute(target, method, args, preparedSql != null ? preparedSql : (String) args[0])
+                        : invoke(target, method, args);
+                }
+        );
+    }
+
+    private static Object execute(Object target, Method method, Object[] args, String sql) throws Throwable {
+        if (!SlowQueryLog.isEnabled()) {
+            return invoke(target, method, args);
+        }
+        long start = System.nanoTime();
+        try {
+            return invoke(target, method, args);
+        } finally {
+            SlowQueryLog.statementExecuted(sql, System.nanoTime() - start);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
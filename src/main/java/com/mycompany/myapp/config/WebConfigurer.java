@@ -2,18 +2,31 @@ package com.mycompany.myapp.config;
 
 import static java.net.URLDecoder.decode;
 
+import com.mycompany.myapp.management.QueryMetersService;
+import com.mycompany.myapp.web.filter.QueryCountFilter;
+import com.mycompany.myapp.web.filter.ResponseCacheFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.*;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
 import org.springframework.boot.web.server.*;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
 import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -53,6 +66,18 @@ public class WebConfigurer implements ServletContextInitializer, WebServerFactor
     public void customize(WebServerFactory server) {
         // When running in an IDE or with ./mvnw spring-boot:run, set location of the static web assets.
         setLocationForStaticAssets(server);
+        setExecutorForVirtualThreads(server);
+    }
+
+    /**
+     * Handle the requests in virtual threads instead of the Undertow worker threads, when virtual threads are enabled with
+     * {@code spring.threads.virtual.enabled}, on Java 21 or later.
+     */
+    private void setExecutorForVirtualThreads(WebServerFactory server) {
+        if (server instanceof UndertowServletWebServerFactory undertow && Threading.VIRTUAL.isActive(env)) {
+            log.info("Handling the requests in virtual threads");
+            undertow.addDeploymentInfoCustomizers(deploymentInfo -> deploymentInfo.setExecutor(new VirtualThreadTaskExecutor("undertow-")));
+        }
     }
 
     private void setLocationForStaticAssets(WebServerFactory server) {
@@ -93,4 +118,36 @@ public class WebConfigurer implements ServletContextInitializer, WebServerFactor
         }
         return new CorsFilter(source);
     }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(
+        QueryMetersService queryMetersService,
+        ApplicationProperties applicationProperties
+    ) {
+        ApplicationProperties.QueryCount properties = applicationProperties.getQueryCount();
+        FilterRegistrationBean<QueryCountFilter> registration = new FilterRegistrationBean<>(
+            new QueryCountFilter(queryMetersService, properties.getWarnThreshold(), properties.isHeader())
+        );
+        registration.addUrlPatterns("/api/*");
+        // before the security filters, which may also run statements
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(
+        MeterRegistry meterRegistry,
+        ApplicationProperties applicationProperties
+    ) {
+        ApplicationProperties.ResponseCache properties = applicationProperties.getResponseCache();
+        Map<String, List<String>> endpoints = new LinkedHashMap<>();
+        properties.getEndpoints().forEach((path, endpoint) -> endpoints.put(path, endpoint.getInvalidatedBy()));
+        FilterRegistrationBean<ResponseCacheFilter> registration = new FilterRegistrationBean<>(
+            new ResponseCacheFilter(endpoints, properties.getMaxSize().toBytes(), properties.getTimeToLive(), meterRegistry)
+        );
+        registration.addUrlPatterns("/api/*");
+        // after the security filters, as responses are cached per authorities
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
 }
@@ -1,5 +1,6 @@
 package com.mycompany.myapp.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
@@ -7,12 +8,15 @@ import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * A Conference.
  */
 @Entity
 @Table(name = "conference")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class Conference implements Serializable {
 
@@ -24,6 +28,10 @@ public class Conference implements Serializable {
     @Column(name = "id")
     private Long id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @NotNull
     @Column(name = "title", nullable = false)
     private String title;
@@ -37,6 +45,14 @@ public class Conference implements Serializable {
     @Column(name = "palce")
     private String palce;
 
+    @JsonIgnore
+    @Column(name = "attendee_count", nullable = false, insertable = false, updatable = false)
+    private Integer attendeeCount;
+
+    @JsonIgnore
+    @Column(name = "registration_version", nullable = false, insertable = false, updatable = false)
+    private Long registrationVersion;
+
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "conference")
     @JsonIgnoreProperties(value = { "speaker", "conference", "attendees" }, allowSetters = true)
     private Set<Session> sessions = new HashSet<>();
@@ -60,6 +76,19 @@ public class Conference implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Conference version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getTitle() {
         return this.title;
     }
@@ -112,6 +141,24 @@ public class Conference implements Serializable {
         this.palce = palce;
     }
 
+    /**
+     * @return the number of registrations to the sessions of the conference, maintained by the database when attendees
+     * register or unregister, and read when the conference is loaded: it may be stale in the second level cache, use
+     * {@link com.mycompany.myapp.repository.projection.ConferenceSummary} to read it.
+     */
+    public Integer getAttendeeCount() {
+        return this.attendeeCount;
+    }
+
+    /**
+     * @return the version of the registrations to the sessions of the conference, incremented by the database whenever
+     * the number of attendees of one of its sessions changes: unlike a sum of the numbers, it never comes back to a
+     * previous value.
+     */
+    public Long getRegistrationVersion() {
+        return this.registrationVersion;
+    }
+
     public Set<Session> getSessions() {
         return this.sessions;
     }
@@ -198,6 +245,7 @@ public class Conference implements Serializable {
     public String toString() {
         return "Conference{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", title='" + getTitle() + "'" +
             ", description='" + getDescription() + "'" +
             ", date='" + getDate() + "'" +
@@ -1,5 +1,6 @@
 package com.mycompany.myapp.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
@@ -23,6 +24,10 @@ public class Session implements Serializable {
     @Column(name = "id")
     private Long id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @NotNull
     @Column(name = "title", nullable = false)
     private String title;
@@ -33,6 +38,10 @@ public class Session implements Serializable {
     @Column(name = "room")
     private String room;
 
+    @JsonIgnore
+    @Column(name = "attendee_count", nullable = false, insertable = false, updatable = false)
+    private Integer attendeeCount;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "sessions", "conferences" }, allowSetters = true)
     private Speaker speaker;
@@ -60,6 +69,19 @@ public class Session implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Session version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getTitle() {
         return this.title;
     }
@@ -99,6 +121,14 @@ public class Session implements Serializable {
         this.room = room;
     }
 
+    /**
+     * @return the number of attendees registered to the session, maintained by the database when attendees register or
+     * unregister, and read when the session is loaded.
+     */
+    public Integer getAttendeeCount() {
+        return this.attendeeCount;
+    }
+
     public Speaker getSpeaker() {
         return this.speaker;
     }
@@ -180,6 +210,7 @@ public class Session implements Serializable {
     public String toString() {
         return "Session{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", title='" + getTitle() + "'" +
             ", description='" + getDescription() + "'" +
             ", room='" + getRoom() + "'" +
@@ -5,12 +5,15 @@ import jakarta.persistence.*;
 import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * A Speaker.
  */
 @Entity
 @Table(name = "speaker")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class Speaker implements Serializable {
 
@@ -22,6 +25,10 @@ public class Speaker implements Serializable {
     @Column(name = "id")
     private Long id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "full_name")
     private String fullName;
 
@@ -42,6 +49,7 @@ public class Speaker implements Serializable {
         inverseJoinColumns = @JoinColumn(name = "conference_id")
     )
     @JsonIgnoreProperties(value = { "sessions", "speakers" }, allowSetters = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<Conference> conferences = new HashSet<>();
 
     // jhipster-needle-entity-add-field - JHipster will add fields here
@@ -59,6 +67,19 @@ public class Speaker implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Speaker version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getFullName() {
         return this.fullName;
     }
@@ -176,6 +197,7 @@ public class Speaker implements Serializable {
     public String toString() {
         return "Speaker{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", fullName='" + getFullName() + "'" +
             ", email='" + getEmail() + "'" +
             ", company='" + getCompany() + "'" +
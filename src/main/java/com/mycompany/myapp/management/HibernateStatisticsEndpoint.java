@@ -0,0 +1,214 @@
+package com.mycompany.myapp.management;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
+import org.hibernate.stat.HibernateQueryMetrics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Management endpoint switching Hibernate statistics and the slow query log at runtime.
+ * <p>
+ * Statistics are off by default, as collecting them has a cost on every session. Once switched on, they are published
+ * as Micrometer meters, named {@code hibernate.*}, with a timer per HQL query, and they stay published with their last
+ * values when switched off again. The slow query log is configured with {@code application.slow-query-log.threshold}.
+ */
+@Component
+@Endpoint(id = "hibernatestatistics")
+public class HibernateStatisticsEndpoint {
+
+    static final String ENTITY_MANAGER_FACTORY_NAME = "entityManagerFactory";
+
+    private static final int REPORTED_QUERIES = 10;
+
+    private final Logger log = LoggerFactory.getLogger(HibernateStatisticsEndpoint.class);
+
+    private final SessionFactory sessionFactory;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ObjectProvider<DataSource> dataSources;
+
+    private boolean metersBound;
+
+    public HibernateStatisticsEndpoint(
+        EntityManagerFactory entityManagerFactory,
+        MeterRegistry meterRegistry,
+        ObjectProvider<DataSource> dataSources,
+        ApplicationProperties applicationProperties
+    ) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.meterRegistry = meterRegistry;
+        this.dataSources = dataSources;
+        SlowQueryLog.setThreshold(applicationProperties.getSlowQueryLog().getThreshold());
+        if (sessionFactory.getStatistics().isStatisticsEnabled()) {
+            bindMeters();
+        }
+    }
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        Duration slowQueryThreshold = SlowQueryLog.getThreshold();
+        result.put("slowQueryThresholdMs", slowQueryThreshold != null ? slowQueryThreshold.toMillis() : null);
+        result.put("startTime", statistics.getStart());
+        result.put("sessionsOpened", statistics.getSessionOpenCount());
+        result.put("transactions", statistics.getTransactionCount());
+        result.put("statementsPrepared", statistics.getPrepareStatementCount());
+        result.put(
+            "entities",
+            Map.of(
+                "loads",
+                statistics.getEntityLoadCount(),
+                "fetches",
+                statistics.getEntityFetchCount(),
+                "inserts",
+                statistics.getEntityInsertCount(),
+                "updates",
+                statistics.getEntityUpdateCount(),
+                "deletes",
+                statistics.getEntityDeleteCount()
+            )
+        );
+        result.put("collections", Map.of("loads", statistics.getCollectionLoadCount(), "fetches", statistics.getCollectionFetchCount()));
+        long cacheHits = statistics.getSecondLevelCacheHitCount();
+        long cacheMisses = statistics.getSecondLevelCacheMissCount();
+        result.put(
+            "secondLevelCache",
+            Map.of(
+                "hits",
+                cacheHits,
+                "misses",
+                cacheMisses,
+                "puts",
+                statistics.getSecondLevelCachePutCount(),
+                "hitRatio",
+                cacheHits + cacheMisses == 0 ? 0 : (double) cacheHits / (cacheHits + cacheMisses)
+            )
+        );
+        Map<String, Object> queries = new LinkedHashMap<>();
+        queries.put("executions", statistics.getQueryExecutionCount());
+        queries.put("maxTimeMs", statistics.getQueryExecutionMaxTime());
+        queries.put("maxTimeQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        queries.put("slowest", slowestQueries(statistics));
+        result.put("queries", queries);
+        Map<String, Object> pools = new LinkedHashMap<>();
+        // a pool can be behind several data sources, such as the connection limit or the replica routing
+        Set<HikariDataSource> hikariDataSources = dataSources
+            .orderedStream()
+            .map(dataSource -> DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        hikariDataSources.forEach(dataSource -> {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            if (pool != null) {
+                pools.put(
+                    dataSource.getPoolName(),
+                    Map.of(
+                        "active",
+                        pool.getActiveConnections(),
+                        "idle",
+                        pool.getIdleConnections(),
+                        "pending",
+                        pool.getThreadsAwaitingConnection(),
+                        "total",
+                        pool.getTotalConnections()
+                    )
+                );
+            }
+        });
+        result.put("connectionPools", pools);
+        return result;
+    }
+
+    /**
+     * Switch the statistics and the slow query log.
+     *
+     * @param enabled whether to collect statistics, unchanged if not set.
+     * @param slowQueryThreshold the execution time above which statements are logged, negative to disable the log,
+     * unchanged if not set.
+     * @return the statistics.
+     */
+    @WriteOperation
+    public Map<String, Object> configure(@Nullable Boolean enabled, @Nullable Duration slowQueryThreshold) {
+        if (enabled != null) {
+            log.info("Hibernate statistics {}", enabled ? "enabled" : "disabled");
+            sessionFactory.getStatistics().setStatisticsEnabled(enabled);
+            if (enabled) {
+                bindMeters();
+            }
+        }
+        if (slowQueryThreshold != null) {
+            log.info("Slow query log threshold set to {}", slowQueryThreshold);
+            SlowQueryLog.setThreshold(slowQueryThreshold.isNegative() ? null : slowQueryThreshold);
+        }
+        return statistics();
+    }
+
+    /**
+     * Reset the statistics.
+     */
+    @DeleteOperation
+    public void clear() {
+        sessionFactory.getStatistics().clear();
+    }
+
+    private synchronized void bindMeters() {
+        if (metersBound) {
+            return;
+        }
+        // Spring Boot only binds the Hibernate meters when statistics are enabled at startup
+        if (meterRegistry.find("hibernate.sessions.open").tag(ENTITY_MANAGER_FACTORY_NAME, ENTITY_MANAGER_FACTORY_NAME).meter() == null) {
+            new HibernateMetrics(sessionFactory, ENTITY_MANAGER_FACTORY_NAME, Tags.empty()).bindTo(meterRegistry);
+        }
+        new HibernateQueryMetrics(sessionFactory, ENTITY_MANAGER_FACTORY_NAME, Tags.empty()).bindTo(meterRegistry);
+        metersBound = true;
+    }
+
+    private List<Map<String, Object>> slowestQueries(Statistics statistics) {
+        return Arrays.stream(statistics.getQueries())
+            .map(query -> Map.entry(query, statistics.getQueryStatistics(query)))
+            .sorted(Comparator.comparingLong((Map.Entry<String, QueryStatistics> entry) -> entry.getValue().getExecutionMaxTime()).reversed())
+            .limit(REPORTED_QUERIES)
+            .map(entry -> {
+                QueryStatistics queryStatistics = entry.getValue();
+                Map<String, Object> query = new LinkedHashMap<>();
+                query.put("query", entry.getKey());
+                query.put("executions", queryStatistics.getExecutionCount());
+                query.put("rows", queryStatistics.getExecutionRowCount());
+                query.put("averageTimeMs", queryStatistics.getExecutionAvgTime());
+                query.put("maxTimeMs", queryStatistics.getExecutionMaxTime());
+                return query;
+            })
+            .toList();
+    }
+}
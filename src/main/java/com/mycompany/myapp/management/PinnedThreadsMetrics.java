@@ -0,0 +1,69 @@
+package com.mycompany.myapp.management;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the virtual threads pinned to their carrier thread, from the {@value #PINNED_EVENT_NAME} JFR event.
+ * <p>
+ * A virtual thread blocking inside a {@code synchronized} block or a native call keeps its carrier thread, which can
+ * starve the other virtual threads. The pinned threads are counted and timed by the {@value #PINNED_METER_NAME} timer,
+ * and their top frame is logged in debug.
+ */
+public class PinnedThreadsMetrics implements MeterBinder, AutoCloseable {
+
+    public static final String PINNED_METER_NAME = "jvm.threads.virtual.pinned";
+
+    static final String PINNED_EVENT_NAME = "jdk.VirtualThreadPinned";
+
+    private final Logger log = LoggerFactory.getLogger(PinnedThreadsMetrics.class);
+
+    private final Duration threshold;
+
+    private RecordingStream recordingStream;
+
+    /**
+     * @param threshold the time virtual threads are pinned for above which they are recorded.
+     */
+    public PinnedThreadsMetrics(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Timer pinned = Timer.builder(PINNED_METER_NAME)
+            .description("The time virtual threads were pinned to their carrier thread")
+            .register(registry);
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT_NAME).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT_NAME, event -> {
+            pinned.record(event.getDuration());
+            if (log.isDebugEnabled()) {
+                log.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), topFrame(event));
+            }
+        });
+        recordingStream.startAsync();
+    }
+
+    @Override
+    public void close() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private static String topFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null || event.getStackTrace().getFrames().isEmpty()) {
+            return "an unknown frame";
+        }
+        RecordedFrame frame = event.getStackTrace().getFrames().get(0);
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
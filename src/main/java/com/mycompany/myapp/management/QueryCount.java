@@ -0,0 +1,59 @@
+package com.mycompany.myapp.management;
+
+import java.time.Duration;
+
+/**
+ * The SQL statements executed by the current thread since counting started, and the time spent executing them.
+ * <p>
+ * Statements are counted by {@link QueryCountStatementInspector}, and timed by {@link QueryCountSessionEventListener},
+ * only while a count is started on the thread: work done on other threads, like streaming response bodies, is not
+ * counted.
+ */
+public final class QueryCount {
+
+    private static final ThreadLocal<QueryCount> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+
+    private long jdbcNanos;
+
+    private QueryCount() {}
+
+    /**
+     * Start counting the statements executed by the current thread.
+     *
+     * @return the count, updated until {@link #stop()} is called.
+     */
+    public static QueryCount start() {
+        QueryCount queryCount = new QueryCount();
+        CURRENT.set(queryCount);
+        return queryCount;
+    }
+
+    /**
+     * Stop counting the statements executed by the current thread.
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    static QueryCount current() {
+        return CURRENT.get();
+    }
+
+    void statementPrepared() {
+        statements++;
+    }
+
+    void statementExecuted(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public Duration getJdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+}
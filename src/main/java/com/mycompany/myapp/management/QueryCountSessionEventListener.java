@@ -0,0 +1,41 @@
+package com.mycompany.myapp.management;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the time spent executing JDBC statements and batches to the {@link QueryCount} of the current thread.
+ * <p>
+ * Hibernate creates one listener per session.
+ */
+public class QueryCountSessionEventListener implements SessionEventListener {
+
+    private long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executionEnd();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executionEnd();
+    }
+
+    private void executionEnd() {
+        long nanos = System.nanoTime() - executionStart;
+        QueryCount queryCount = QueryCount.current();
+        if (queryCount != null) {
+            queryCount.statementExecuted(nanos);
+        }
+    }
+}
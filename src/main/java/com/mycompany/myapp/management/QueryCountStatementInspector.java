@@ -0,0 +1,18 @@
+package com.mycompany.myapp.management;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements prepared by Hibernate in the {@link QueryCount} of the current thread.
+ */
+public class QueryCountStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCount queryCount = QueryCount.current();
+        if (queryCount != null) {
+            queryCount.statementPrepared();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,66 @@
+package com.mycompany.myapp.management;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import org.springframework.stereotype.Service;
+
+@Service
+public class QueryMetersService {
+
+    public static final String STATEMENTS_METER_NAME = "http.server.requests.statements";
+    public static final String STATEMENTS_METER_DESCRIPTION = "Number of SQL statements executed by a request.";
+    public static final String STATEMENTS_METER_BASE_UNIT = "statements";
+    public static final String JDBC_TIME_METER_NAME = "http.server.requests.jdbc";
+    public static final String JDBC_TIME_METER_DESCRIPTION = "Time spent by a request executing SQL statements.";
+    public static final String METHOD_DIMENSION = "method";
+    public static final String URI_DIMENSION = "uri";
+
+    /**
+     * The buckets of the histograms, rather than percentile histograms: there is one histogram per endpoint, and a
+     * distribution summary has hundreds of buckets by default.
+     */
+    public static final double[] STATEMENTS_SLOS = { 1, 2, 5, 10, 20, 50, 100 };
+    public static final Duration[] JDBC_TIME_SLOS = {
+        Duration.ofMillis(5),
+        Duration.ofMillis(10),
+        Duration.ofMillis(25),
+        Duration.ofMillis(50),
+        Duration.ofMillis(100),
+        Duration.ofMillis(250),
+        Duration.ofMillis(500),
+        Duration.ofSeconds(1),
+    };
+
+    private final MeterRegistry registry;
+
+    public QueryMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Record the statements executed by a request.
+     *
+     * @param method the HTTP method of the request.
+     * @param uri the URI template of the endpoint, so that the number of tags is bounded.
+     * @param queryCount the statements executed by the request.
+     */
+    public void trackRequest(String method, String uri, QueryCount queryCount) {
+        DistributionSummary.builder(STATEMENTS_METER_NAME)
+            .description(STATEMENTS_METER_DESCRIPTION)
+            .baseUnit(STATEMENTS_METER_BASE_UNIT)
+            .tag(METHOD_DIMENSION, method)
+            .tag(URI_DIMENSION, uri)
+            .serviceLevelObjectives(STATEMENTS_SLOS)
+            .register(registry)
+            .record(queryCount.getStatements());
+        Timer.builder(JDBC_TIME_METER_NAME)
+            .description(JDBC_TIME_METER_DESCRIPTION)
+            .tag(METHOD_DIMENSION, method)
+            .tag(URI_DIMENSION, uri)
+            .serviceLevelObjectives(JDBC_TIME_SLOS)
+            .register(registry)
+            .record(queryCount.getJdbcTime());
+    }
+}
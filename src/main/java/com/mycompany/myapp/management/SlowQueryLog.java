@@ -0,0 +1,67 @@
+package com.mycompany.myapp.management;
+
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs the SQL statements whose execution takes longer than a threshold, with their number of parameters.
+ * <p>
+ * The statements and their execution time are given by the {@code SlowQueryLogDataSource}, which wraps the statements of
+ * all the connections: the threshold is therefore global.
+ */
+public final class SlowQueryLog {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private static volatile long thresholdNanos = -1;
+
+    private SlowQueryLog() {}
+
+    /**
+     * @return the execution time above which statements are logged, {@code null} when disabled.
+     */
+    public static Duration getThreshold() {
+        long threshold = thresholdNanos;
+        return threshold < 0 ? null : Duration.ofNanos(threshold);
+    }
+
+    /**
+     * @param threshold the execution time above which statements are logged, {@code null} to disable the log.
+     */
+    public static void setThreshold(Duration threshold) {
+        thresholdNanos = threshold == null ? -1 : threshold.toNanos();
+    }
+
+    /**
+     * @return whether statements are logged, so that executions aren't timed otherwise.
+     */
+    public static boolean isEnabled() {
+        return thresholdNanos >= 0;
+    }
+
+    /**
+     * @param sql the SQL of the executed statement.
+     * @param nanos the execution time of the statement.
+     */
+    public static void statementExecuted(String sql, long nanos) {
+        long threshold = thresholdNanos;
+        if (threshold >= 0 && nanos > threshold) {
+            LOG.warn("Slow SQL statement took {} ms, with {} parameters: {}", nanos / 1_000_000, parameterCount(sql), sql);
+        }
+    }
+
+    static int parameterCount(String sql) {
+        int count = 0;
+        boolean quoted = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == '?' && !quoted) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
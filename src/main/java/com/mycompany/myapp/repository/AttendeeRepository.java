@@ -1,11 +1,17 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Attendee;
+import com.mycompany.myapp.repository.projection.AttendeeExport;
+import jakarta.persistence.QueryHint;
 import java.util.List;
-import java.util.Optional;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -15,16 +21,49 @@ import org.springframework.stereotype.Repository;
  * For more information refer to https://github.com/jhipster/generator-jhipster/issues/17990.
  */
 @Repository
-public interface AttendeeRepository extends AttendeeRepositoryWithBagRelationships, JpaRepository<Attendee, Long> {
-    default Optional<Attendee> findOneWithEagerRelationships(Long id) {
-        return this.fetchBagRelationships(this.findById(id));
-    }
+public interface AttendeeRepository
+    extends AttendeeRepositoryWithBagRelationships, JpaRepository<Attendee, Long>, VersionedRepository<Attendee> {
+    String STREAM_FETCH_SIZE = "1000";
 
-    default List<Attendee> findAllWithEagerRelationships() {
-        return this.fetchBagRelationships(this.findAll());
+    default Window<Attendee> findAllWithEagerRelationships(ScrollPosition position, Limit limit) {
+        Window<Attendee> window = this.findAllByOrderByIdAsc(position, limit);
+        List<Long> ids = window.getContent().stream().map(Attendee::getId).toList();
+        List<Attendee> attendees = this.findAllWithEagerRelationships(ids, Sort.by("id"));
+        return Window.from(attendees, window::positionAt, window.hasNext());
     }
 
-    default Page<Attendee> findAllWithEagerRelationships(Pageable pageable) {
-        return this.fetchBagRelationships(this.findAll(pageable));
-    }
+    Window<Attendee> findAllByOrderByIdAsc(ScrollPosition position, Limit limit);
+
+    /**
+     * Stream the attendees, ordered by id, through a database cursor fetching {@value #STREAM_FETCH_SIZE} rows at a time.
+     * Must be called in a transaction, and the stream closed after use.
+     *
+     * @param conferenceId the id of the conference whose attendees are exported, or {@code null} for all of them.
+     * @return the attendees.
+     */
+    @Query(
+        "select new com.mycompany.myapp.repository.projection.AttendeeExport(a.id, a.firstName, a.lastName, a.email, a.telephone, " +
+        "listagg(cast(s.id as String), '|') within group (order by s.id)) " +
+        "from Attendee a left join a.sessions s " +
+        "where :conferenceId is null or exists (select 1 from a.sessions cs where cs.conference.id = :conferenceId) " +
+        "group by a.id order by a.id"
+    )
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        }
+    )
+    Stream<AttendeeExport> streamAllForExport(@Param("conferenceId") Long conferenceId);
+
+    /**
+     * Stream the ids of the attendees through a database cursor fetching {@value #STREAM_FETCH_SIZE} rows at a time.
+     * Must be called in a transaction, and the stream closed after use.
+     *
+     * @param sort the order of the ids of the attendees.
+     * @return the ids of the attendees.
+     */
+    @Query("select a.id from Attendee a")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<Long> streamAllIds(Sort sort);
 }
@@ -4,11 +4,15 @@ import com.mycompany.myapp.domain.Attendee;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 public interface AttendeeRepositoryWithBagRelationships {
-    Optional<Attendee> fetchBagRelationships(Optional<Attendee> attendee);
+    Optional<Attendee> findOneWithEagerRelationships(Long id);
 
-    List<Attendee> fetchBagRelationships(List<Attendee> attendees);
+    List<Attendee> findAllWithEagerRelationships();
 
-    Page<Attendee> fetchBagRelationships(Page<Attendee> attendees);
+    Page<Attendee> findAllWithEagerRelationships(Pageable pageable);
+
+    List<Attendee> findAllWithEagerRelationships(List<Long> ids, Sort sort);
 }
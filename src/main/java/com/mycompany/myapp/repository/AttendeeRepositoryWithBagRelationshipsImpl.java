@@ -1,60 +1,42 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Attendee;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.IntStream;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 /**
  * Utility repository to load bag relationships based on https://vladmihalcea.com/hibernate-multiplebagfetchexception/
  */
 public class AttendeeRepositoryWithBagRelationshipsImpl implements AttendeeRepositoryWithBagRelationships {
 
-    private static final String ID_PARAMETER = "id";
-    private static final String ATTENDEES_PARAMETER = "attendees";
+    private final EagerRelationshipsLoader<Attendee> sessionsLoader;
 
-    @PersistenceContext
-    private EntityManager entityManager;
-
-    @Override
-    public Optional<Attendee> fetchBagRelationships(Optional<Attendee> attendee) {
-        return attendee.map(this::fetchSessions);
+    public AttendeeRepositoryWithBagRelationshipsImpl(EntityManager entityManager, MeterRegistry meterRegistry) {
+        this.sessionsLoader = new EagerRelationshipsLoader<>(entityManager, meterRegistry, Attendee.class, "attendee", "sessions");
     }
 
     @Override
-    public Page<Attendee> fetchBagRelationships(Page<Attendee> attendees) {
-        return new PageImpl<>(fetchBagRelationships(attendees.getContent()), attendees.getPageable(), attendees.getTotalElements());
+    public Optional<Attendee> findOneWithEagerRelationships(Long id) {
+        return sessionsLoader.loadOne(id);
     }
 
     @Override
-    public List<Attendee> fetchBagRelationships(List<Attendee> attendees) {
-        return Optional.of(attendees).map(this::fetchSessions).orElse(Collections.emptyList());
+    public List<Attendee> findAllWithEagerRelationships() {
+        return sessionsLoader.loadAll();
     }
 
-    Attendee fetchSessions(Attendee result) {
-        return entityManager
-            .createQuery("select attendee from Attendee attendee left join fetch attendee.sessions where attendee.id = :id", Attendee.class)
-            .setParameter(ID_PARAMETER, result.getId())
-            .getSingleResult();
+    @Override
+    public Page<Attendee> findAllWithEagerRelationships(Pageable pageable) {
+        return sessionsLoader.loadPage(pageable);
     }
 
-    List<Attendee> fetchSessions(List<Attendee> attendees) {
-        HashMap<Object, Integer> order = new HashMap<>();
-        IntStream.range(0, attendees.size()).forEach(index -> order.put(attendees.get(index).getId(), index));
-        List<Attendee> result = entityManager
-            .createQuery(
-                "select attendee from Attendee attendee left join fetch attendee.sessions where attendee in :attendees",
-                Attendee.class
-            )
-            .setParameter(ATTENDEES_PARAMETER, attendees)
-            .getResultList();
-        Collections.sort(result, (o1, o2) -> Integer.compare(order.get(o1.getId()), order.get(o2.getId())));
-        return result;
+    @Override
+    public List<Attendee> findAllWithEagerRelationships(List<Long> ids, Sort sort) {
+        return sessionsLoader.loadAll(ids, sort);
     }
 }
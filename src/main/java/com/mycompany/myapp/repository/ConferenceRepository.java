@@ -1,7 +1,17 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Conference;
+import com.mycompany.myapp.repository.projection.ConferenceSummary;
+import com.mycompany.myapp.repository.projection.ScheduleVersion;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +19,94 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ConferenceRepository extends JpaRepository<Conference, Long> {}
+public interface ConferenceRepository extends JpaRepository<Conference, Long>, VersionedRepository<Conference> {
+    String SUMMARY_SELECT =
+        "select new com.mycompany.myapp.repository.projection.ConferenceSummary(" +
+        "c.id, c.version, c.title, c.description, c.date, c.palce, c.attendeeCount) from Conference c";
+
+    String STREAM_FETCH_SIZE = "1000";
+
+    @Query(SUMMARY_SELECT)
+    List<ConferenceSummary> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + " where c.id = :id")
+    Optional<ConferenceSummary> findSummaryById(@Param("id") Long id);
+
+    /**
+     * Get the version of the schedule of a conference with a single query, without loading the schedule.
+     *
+     * @param id the id of the conference.
+     * @return the version of the schedule, with one row per session ordered by id, or a single row without session if the
+     * conference has none, or no row if there is no conference with this id.
+     */
+    @Query(
+        "select new com.mycompany.myapp.repository.projection.ScheduleVersion(" +
+        "c.version, c.attendeeCount, c.registrationVersion, s.id, s.version, sp.id, sp.version) " +
+        "from Conference c left join c.sessions s left join s.speaker sp where c.id = :id order by s.id"
+    )
+    List<ScheduleVersion> findScheduleVersionById(@Param("id") Long id);
+
+    @Query("select c.id from Conference c where c.id > :after order by c.id")
+    List<Long> findIdsAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * Lock the conferences of a range of ids, in the order of their ids, so that attendees can't register to their
+     * sessions until the transaction ends.
+     *
+     * @param fromId the first id of the range.
+     * @param toId the last id of the range.
+     * @return the ids of the locked conferences.
+     */
+    @Query(value = "select id from conference where id between :fromId and :toId order by id for update", nativeQuery = true)
+    List<Long> lockAllByIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * Lock the conferences of the sessions of a range of ids, in the order of their ids. Registrations lock the
+     * conferences before the sessions, so the sessions must only be locked once their conferences are.
+     *
+     * @param fromId the first id of the range of sessions.
+     * @param toId the last id of the range of sessions.
+     * @return the ids of the locked conferences.
+     */
+    @Query(
+        value = "select id from conference where id in (" +
+        "select s.conference_id from session s where s.id between :fromId and :toId" +
+        ") order by id for update",
+        nativeQuery = true
+    )
+    List<Long> lockAllBySessionIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * Repair the numbers of attendees of a range of conferences.
+     *
+     * @param fromId the first id of the range.
+     * @param toId the last id of the range.
+     * @return the number of repaired conferences.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "conference"))
+    @Query(
+        value = "update conference c set attendee_count = r.attendee_count from (" +
+        "select rc.id, count(a.attendee_id) as attendee_count from conference rc left join session s on s.conference_id = rc.id " +
+        "left join rel_attendee__session a on a.session_id = s.id where rc.id between :fromId and :toId group by rc.id" +
+        ") r where c.id = r.id and c.attendee_count <> r.attendee_count",
+        nativeQuery = true
+    )
+    int reconcileAttendeeCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * Stream the conference summaries through a database cursor fetching {@value #STREAM_FETCH_SIZE} rows at a time.
+     * Must be called in a transaction, and the stream closed after use.
+     *
+     * @param sort the order of the conference summaries.
+     * @return the summaries of the conferences.
+     */
+    @Query(SUMMARY_SELECT)
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        }
+    )
+    Stream<ConferenceSummary> streamAllSummaries(Sort sort);
+}
@@ -0,0 +1,130 @@
+package com.mycompany.myapp.repository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+/**
+ * Loads an entity together with one of its bag relationships in a bounded number of queries.
+ * <p>
+ * Collections can't be fetched together with an SQL {@code LIMIT}, so pages are resolved in two steps: the ids of the
+ * page are selected first, then the entities and their collection are fetched with a single join fetch
+ * {@code where id in :ids} query that is ordered like the page, so the database order is kept without any re-sort in
+ * memory. A {@code COUNT} query is only run when the page size doesn't already tell the total.
+ * <p>
+ * The number of queries run by each load is recorded in the {@value #QUERIES_METER_NAME} distribution summary.
+ *
+ * @param <T> the type of the entity.
+ */
+final class EagerRelationshipsLoader<T> {
+
+    static final String QUERIES_METER_NAME = "repository.eager-load.queries";
+
+    private static final String ID_PROPERTY = "id";
+    private static final String ID_PARAMETER = "id";
+    private static final String IDS_PARAMETER = "ids";
+
+    private final EntityManager entityManager;
+
+    private final Class<T> entityClass;
+
+    private final String alias;
+
+    private final String fetchQuery;
+
+    private final DistributionSummary queriesSummary;
+
+    /**
+     * @param entityManager the entity manager.
+     * @param meterRegistry the registry used to report the number of queries of each load.
+     * @param entityClass the type of the entity.
+     * @param alias the alias of the entity in the generated JPQL queries.
+     * @param relationship the name of the bag relationship to fetch.
+     */
+    EagerRelationshipsLoader(
+        EntityManager entityManager,
+        MeterRegistry meterRegistry,
+        Class<T> entityClass,
+        String alias,
+        String relationship
+    ) {
+        this.entityManager = entityManager;
+        this.entityClass = entityClass;
+        this.alias = alias;
+        String entityName = entityClass.getSimpleName();
+        this.fetchQuery = "select " + alias + " from " + entityName + " " + alias + " left join fetch " + alias + "." + relationship;
+        this.queriesSummary = DistributionSummary.builder(QUERIES_METER_NAME)
+            .description("Number of queries run to load entities with their bag relationships")
+            .baseUnit("queries")
+            .tag("entity", entityName)
+            .register(meterRegistry);
+    }
+
+    Optional<T> loadOne(Long id) {
+        List<T> result = entityManager
+            .createQuery(fetchQuery + " where " + alias + ".id = :" + ID_PARAMETER, entityClass)
+            .setParameter(ID_PARAMETER, id)
+            .getResultList();
+        queriesSummary.record(1);
+        return result.stream().findFirst();
+    }
+
+    List<T> loadAll() {
+        List<T> result = entityManager.createQuery(fetchQuery, entityClass).getResultList();
+        queriesSummary.record(1);
+        return result;
+    }
+
+    List<T> loadAll(List<Long> ids, Sort sort) {
+        List<T> result = fetchByIds(ids, sort);
+        queriesSummary.record(ids.isEmpty() ? 0 : 1);
+        return result;
+    }
+
+    Page<T> loadPage(Pageable pageable) {
+        Sort sort = withIdTieBreaker(pageable.getSort());
+        var idQuery = entityManager.createQuery(
+            QueryUtils.applySorting("select " + alias + ".id from " + entityClass.getSimpleName() + " " + alias, sort, alias),
+            Long.class
+        );
+        if (pageable.isPaged()) {
+            idQuery.setFirstResult(Math.toIntExact(pageable.getOffset())).setMaxResults(pageable.getPageSize());
+        }
+        List<Long> ids = idQuery.getResultList();
+        AtomicInteger queries = new AtomicInteger(ids.isEmpty() ? 1 : 2);
+        Page<T> page = PageableExecutionUtils.getPage(fetchByIds(ids, sort), pageable, () -> {
+            queries.incrementAndGet();
+            return entityManager
+                .createQuery("select count(" + alias + ") from " + entityClass.getSimpleName() + " " + alias, Long.class)
+                .getSingleResult();
+        });
+        queriesSummary.record(queries.get());
+        return page;
+    }
+
+    private List<T> fetchByIds(List<Long> ids, Sort sort) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return entityManager
+            .createQuery(QueryUtils.applySorting(fetchQuery + " where " + alias + ".id in :" + IDS_PARAMETER, sort, alias), entityClass)
+            .setParameter(IDS_PARAMETER, ids)
+            .getResultList();
+    }
+
+    private static Sort withIdTieBreaker(Sort sort) {
+        if (sort.getOrderFor(ID_PROPERTY) != null) {
+            return sort;
+        }
+        return sort.and(Sort.by(ID_PROPERTY));
+    }
+}
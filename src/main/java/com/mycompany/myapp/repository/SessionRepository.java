@@ -1,7 +1,22 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Session;
+import com.mycompany.myapp.repository.projection.ScheduledSession;
+import com.mycompany.myapp.repository.projection.SessionSummary;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +24,84 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface SessionRepository extends JpaRepository<Session, Long> {}
+public interface SessionRepository extends JpaRepository<Session, Long>, VersionedRepository<Session> {
+    String SUMMARY_SELECT =
+        "select new com.mycompany.myapp.repository.projection.SessionSummary(" +
+        "s.id, s.version, s.title, s.description, s.room, s.attendeeCount, s.speaker.id, s.conference.id) from Session s";
+
+    String STREAM_FETCH_SIZE = "1000";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Window<Session> findAllByOrderByIdAsc(ScrollPosition position, Limit limit);
+
+    @Query(value = SUMMARY_SELECT, countQuery = "select count(s) from Session s")
+    Page<SessionSummary> findAllSummaries(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " where s.id = :id")
+    Optional<SessionSummary> findSummaryById(@Param("id") Long id);
+
+    @Query(SUMMARY_SELECT + " where s.id in :ids")
+    List<SessionSummary> findAllSummariesById(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Get the sessions of a conference with their speaker and number of attendees, in a single query.
+     *
+     * @param conferenceId the id of the conference.
+     * @return the sessions of the conference, ordered by room and title.
+     */
+    @Query(
+        "select new com.mycompany.myapp.repository.projection.ScheduledSession(" +
+        "s.id, s.version, s.title, s.description, s.room, sp.id, sp.fullName, sp.company, s.attendeeCount) " +
+        "from Session s left join s.speaker sp where s.conference.id = :conferenceId order by s.room, s.title, s.id"
+    )
+    List<ScheduledSession> findAllScheduledByConferenceId(@Param("conferenceId") Long conferenceId);
+
+    @Query("select s.id from Session s where s.id > :after order by s.id")
+    List<Long> findIdsAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * Lock the sessions of a range of ids, in the order of their ids, so that attendees can't register to them until the
+     * transaction ends. Their conferences must be locked first, as registrations do.
+     *
+     * @param fromId the first id of the range.
+     * @param toId the last id of the range.
+     * @return the ids of the locked sessions.
+     * @see ConferenceRepository#lockAllBySessionIdBetween(Long, Long)
+     */
+    @Query(value = "select id from session where id between :fromId and :toId order by id for update", nativeQuery = true)
+    List<Long> lockAllByIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * Repair the numbers of attendees of a range of sessions.
+     *
+     * @param fromId the first id of the range.
+     * @param toId the last id of the range.
+     * @return the number of repaired sessions.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "session"))
+    @Query(
+        value = "update session s set attendee_count = r.attendee_count from (" +
+        "select rs.id, count(a.attendee_id) as attendee_count from session rs " +
+        "left join rel_attendee__session a on a.session_id = rs.id where rs.id between :fromId and :toId group by rs.id" +
+        ") r where s.id = r.id and s.attendee_count <> r.attendee_count",
+        nativeQuery = true
+    )
+    int reconcileAttendeeCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * Stream the session summaries through a database cursor fetching {@value #STREAM_FETCH_SIZE} rows at a time.
+     * Must be called in a transaction, and the stream closed after use.
+     *
+     * @param sort the order of the session summaries.
+     * @return the summaries of the sessions.
+     */
+    @Query(SUMMARY_SELECT)
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        }
+    )
+    Stream<SessionSummary> streamAllSummaries(Sort sort);
+}
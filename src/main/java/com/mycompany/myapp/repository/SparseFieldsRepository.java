@@ -0,0 +1,157 @@
+package com.mycompany.myapp.repository;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.mycompany.myapp.repository.projection.EntityRef;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import java.lang.reflect.Field;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository reading a subset of the fields of entities, for sparse fieldsets.
+ * <p>
+ * Only the columns of the requested fields are selected, with a criteria tuple query, and each row is returned as a
+ * map from field name to value, in the requested order. To-one associations are selected by their foreign key,
+ * without join, and returned as {@link EntityRef}s. Collections can't be selected, and neither can the fields which aren't
+ * serialized with the entity, annotated with {@link JsonIgnore}.
+ */
+@Repository
+public class SparseFieldsRepository {
+
+    public static final String ID_FIELD = "id";
+
+    private final EntityManager entityManager;
+
+    private final Map<Class<?>, Set<String>> selectableFields = new ConcurrentHashMap<>();
+
+    public SparseFieldsRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * @param entityClass the type of the entity.
+     * @return the names of the fields that can be selected: the basic attributes and the to-one associations which are
+     * serialized with the entity.
+     */
+    public Set<String> getSelectableFields(Class<?> entityClass) {
+        return selectableFields.computeIfAbsent(entityClass, type ->
+            entityManager
+                .getMetamodel()
+                .entity(type)
+                .getSingularAttributes()
+                .stream()
+                .filter(attribute -> !isJsonIgnored(attribute))
+                .map(Attribute::getName)
+                .collect(Collectors.toUnmodifiableSet())
+        );
+    }
+
+    /**
+     * @param entityClass the type of the entity.
+     * @param fields the fields to read, among the {@link #getSelectableFields(Class) selectable} ones.
+     * @param id the id of the entity.
+     * @return the fields of the entity.
+     */
+    public Optional<Map<String, Object>> findById(Class<?> entityClass, List<String> fields, Long id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = query.from(entityClass);
+        query.multiselect(selections(root, fields)).where(cb.equal(root.get(ID_FIELD), id));
+        return entityManager.createQuery(query).getResultStream().findFirst().map(tuple -> toMap(root, fields, tuple));
+    }
+
+    /**
+     * @param entityClass the type of the entity.
+     * @param fields the fields to read, among the {@link #getSelectableFields(Class) selectable} ones.
+     * @param pageable the pagination information.
+     * @return a page of the fields of the entities.
+     */
+    public Page<Map<String, Object>> findAll(Class<?> entityClass, List<String> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = query.from(entityClass);
+        query.multiselect(selections(root, fields)).orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult(Math.toIntExact(pageable.getOffset())).setMaxResults(pageable.getPageSize());
+        }
+        List<Map<String, Object>> content = typedQuery.getResultStream().map(tuple -> toMap(root, fields, tuple)).toList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+            return entityManager.createQuery(countQuery.select(cb.count(countQuery.from(entityClass)))).getSingleResult();
+        });
+    }
+
+    /**
+     * @param entityClass the type of the entity.
+     * @param fields the fields to read, among the {@link #getSelectableFields(Class) selectable} ones, including the id.
+     * @param position the position to resume after, ordered by id.
+     * @param limit the maximum number of entities.
+     * @return a window of the fields of the entities.
+     */
+    public Window<Map<String, Object>> findAll(Class<?> entityClass, List<String> fields, KeysetScrollPosition position, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = query.from(entityClass);
+        query.multiselect(selections(root, fields)).orderBy(cb.asc(root.get(ID_FIELD)));
+        Object lastId = position.getKeys().get(ID_FIELD);
+        if (lastId != null) {
+            query.where(cb.greaterThan(root.<Long>get(ID_FIELD), (Long) lastId));
+        }
+        List<Map<String, Object>> rows = entityManager
+            .createQuery(query)
+            .setMaxResults(limit.max() + 1)
+            .getResultStream()
+            .map(tuple -> toMap(root, fields, tuple))
+            .toList();
+        boolean hasNext = rows.size() > limit.max();
+        List<Map<String, Object>> content = hasNext ? rows.subList(0, limit.max()) : rows;
+        return Window.from(content, index -> ScrollPosition.forward(Map.of(ID_FIELD, content.get(index).get(ID_FIELD))), hasNext);
+    }
+
+    private static List<Selection<?>> selections(Root<?> root, List<String> fields) {
+        return fields
+            .stream()
+            .<Selection<?>>map(field -> (isAssociation(root, field) ? root.get(field).get(ID_FIELD) : root.get(field)).alias(field))
+            .toList();
+    }
+
+    private static Map<String, Object> toMap(Root<?> root, List<String> fields, Tuple tuple) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String field : fields) {
+            Object value = tuple.get(field);
+            row.put(field, isAssociation(root, field) ? EntityRef.of((Long) value) : value);
+        }
+        return row;
+    }
+
+    private static boolean isJsonIgnored(Attribute<?, ?> attribute) {
+        JsonIgnore jsonIgnore = attribute.getJavaMember() instanceof Field field ? field.getAnnotation(JsonIgnore.class) : null;
+        return jsonIgnore != null && jsonIgnore.value();
+    }
+
+    private static boolean isAssociation(Root<?> root, String field) {
+        return root.getModel().getAttribute(field).isAssociation();
+    }
+}
@@ -1,10 +1,10 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Speaker;
-import java.util.List;
-import java.util.Optional;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -15,16 +15,18 @@ import org.springframework.stereotype.Repository;
  * For more information refer to https://github.com/jhipster/generator-jhipster/issues/17990.
  */
 @Repository
-public interface SpeakerRepository extends SpeakerRepositoryWithBagRelationships, JpaRepository<Speaker, Long> {
-    default Optional<Speaker> findOneWithEagerRelationships(Long id) {
-        return this.fetchBagRelationships(this.findById(id));
-    }
+public interface SpeakerRepository
+    extends SpeakerRepositoryWithBagRelationships, JpaRepository<Speaker, Long>, VersionedRepository<Speaker> {
+    String STREAM_FETCH_SIZE = "1000";
 
-    default List<Speaker> findAllWithEagerRelationships() {
-        return this.fetchBagRelationships(this.findAll());
-    }
-
-    default Page<Speaker> findAllWithEagerRelationships(Pageable pageable) {
-        return this.fetchBagRelationships(this.findAll(pageable));
-    }
+    /**
+     * Stream the ids of the speakers through a database cursor fetching {@value #STREAM_FETCH_SIZE} rows at a time.
+     * Must be called in a transaction, and the stream closed after use.
+     *
+     * @param sort the order of the ids of the speakers.
+     * @return the ids of the speakers.
+     */
+    @Query("select s.id from Speaker s")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<Long> streamAllIds(Sort sort);
 }
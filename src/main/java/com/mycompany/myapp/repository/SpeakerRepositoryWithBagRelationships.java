@@ -4,11 +4,15 @@ import com.mycompany.myapp.domain.Speaker;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 public interface SpeakerRepositoryWithBagRelationships {
-    Optional<Speaker> fetchBagRelationships(Optional<Speaker> speaker);
+    Optional<Speaker> findOneWithEagerRelationships(Long id);
 
-    List<Speaker> fetchBagRelationships(List<Speaker> speakers);
+    List<Speaker> findAllWithEagerRelationships();
 
-    Page<Speaker> fetchBagRelationships(Page<Speaker> speakers);
+    Page<Speaker> findAllWithEagerRelationships(Pageable pageable);
+
+    List<Speaker> findAllWithEagerRelationships(List<Long> ids, Sort sort);
 }
@@ -0,0 +1,19 @@
+package com.mycompany.myapp.repository;
+
+import java.util.Optional;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Queries on the optimistic lock versions of an entity, which are cheap enough to run before deciding whether to load
+ * the entities themselves.
+ *
+ * @param <T> the type of the entity, which must have a {@code version} attribute.
+ */
+@NoRepositoryBean
+public interface VersionedRepository<T> extends Repository<T, Long> {
+    @Query("select e.version from #{#entityName} e where e.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+}
@@ -0,0 +1,7 @@
+package com.mycompany.myapp.repository.projection;
+
+/**
+ * A flat, read-only view of an {@link com.mycompany.myapp.domain.Attendee} for exports, with the ids of its sessions
+ * separated by {@code |}, as expected by the CSV import.
+ */
+public record AttendeeExport(Long id, String firstName, String lastName, String email, String telephone, String sessionIds) {}
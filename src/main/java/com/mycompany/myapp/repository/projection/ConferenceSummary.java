@@ -0,0 +1,17 @@
+package com.mycompany.myapp.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * A read-only view of a {@link com.mycompany.myapp.domain.Conference}, with its number of attendees, without its sessions and
+ * speakers.
+ */
+public record ConferenceSummary(
+    Long id,
+    Long version,
+    String title,
+    String description,
+    LocalDate date,
+    String palce,
+    Integer attendeeCount
+) {}
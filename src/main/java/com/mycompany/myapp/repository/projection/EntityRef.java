@@ -0,0 +1,16 @@
+package com.mycompany.myapp.repository.projection;
+
+/**
+ * A reference to a related entity, serialized like a lazy association that is not loaded: {@code {"id": 1}}.
+ *
+ * @param id the id of the related entity.
+ */
+public record EntityRef(Long id) {
+    /**
+     * @param id the id of the related entity, may be {@code null}.
+     * @return the reference, or {@code null} if there is no related entity.
+     */
+    public static EntityRef of(Long id) {
+        return id == null ? null : new EntityRef(id);
+    }
+}
@@ -0,0 +1,25 @@
+package com.mycompany.myapp.repository.projection;
+
+/**
+ * A row of the version of the schedule of a {@link com.mycompany.myapp.domain.Conference}: the versions of the conference
+ * and of one of its sessions, with its speaker. The schedule changes whenever the conference, one of its sessions, the
+ * speaker of a session or the number of attendees of a session change.
+ *
+ * @param conferenceVersion the version of the conference.
+ * @param conferenceAttendeeCount the number of attendees of the conference.
+ * @param registrationVersion the registration version of the conference, as the numbers of attendees of the sessions are
+ * updated without incrementing the version of the sessions.
+ * @param sessionId the id of the session, or {@code null} if the conference has no session.
+ * @param sessionVersion the version of the session.
+ * @param speakerId the id of the speaker of the session, if any.
+ * @param speakerVersion the version of the speaker of the session, if any.
+ */
+public record ScheduleVersion(
+    Long conferenceVersion,
+    Integer conferenceAttendeeCount,
+    Long registrationVersion,
+    Long sessionId,
+    Long sessionVersion,
+    Long speakerId,
+    Long speakerVersion
+) {}
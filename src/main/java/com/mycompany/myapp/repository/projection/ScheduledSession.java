@@ -0,0 +1,32 @@
+package com.mycompany.myapp.repository.projection;
+
+/**
+ * A read-only view of a {@link com.mycompany.myapp.domain.Session} in the schedule of its conference, with the summary of
+ * its speaker and its number of attendees.
+ */
+public record ScheduledSession(
+    Long id,
+    Long version,
+    String title,
+    String description,
+    String room,
+    SpeakerSummary speaker,
+    Integer attendeeCount
+) {
+    /**
+     * Constructor used by the JPQL constructor expressions, which select the columns of the speaker.
+     */
+    public ScheduledSession(
+        Long id,
+        Long version,
+        String title,
+        String description,
+        String room,
+        Long speakerId,
+        String speakerFullName,
+        String speakerCompany,
+        Integer attendeeCount
+    ) {
+        this(id, version, title, description, room, SpeakerSummary.of(speakerId, speakerFullName, speakerCompany), attendeeCount);
+    }
+}
@@ -0,0 +1,50 @@
+package com.mycompany.myapp.repository.projection;
+
+import com.mycompany.myapp.domain.Session;
+
+/**
+ * A read-only view of a {@link Session}, with its number of attendees, and its speaker and conference as {@link EntityRef}s.
+ */
+public record SessionSummary(
+    Long id,
+    Long version,
+    String title,
+    String description,
+    String room,
+    Integer attendeeCount,
+    EntityRef speaker,
+    EntityRef conference
+) {
+    /**
+     * Constructor used by the JPQL constructor expressions, which select the foreign keys without joining.
+     */
+    public SessionSummary(
+        Long id,
+        Long version,
+        String title,
+        String description,
+        String room,
+        Integer attendeeCount,
+        Long speakerId,
+        Long conferenceId
+    ) {
+        this(id, version, title, description, room, attendeeCount, EntityRef.of(speakerId), EntityRef.of(conferenceId));
+    }
+
+    /**
+     * @param session the session, whose lazy associations are not initialized.
+     * @return the summary of the session.
+     */
+    public static SessionSummary of(Session session) {
+        return new SessionSummary(
+            session.getId(),
+            session.getVersion(),
+            session.getTitle(),
+            session.getDescription(),
+            session.getRoom(),
+            session.getAttendeeCount(),
+            session.getSpeaker() == null ? null : session.getSpeaker().getId(),
+            session.getConference() == null ? null : session.getConference().getId()
+        );
+    }
+}
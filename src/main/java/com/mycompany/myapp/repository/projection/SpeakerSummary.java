@@ -0,0 +1,20 @@
+package com.mycompany.myapp.repository.projection;
+
+/**
+ * A read-only view of a {@link com.mycompany.myapp.domain.Speaker}, without its contact details and relationships.
+ *
+ * @param id the id of the speaker.
+ * @param fullName the full name of the speaker.
+ * @param company the company of the speaker.
+ */
+public record SpeakerSummary(Long id, String fullName, String company) {
+    /**
+     * @param id the id of the speaker, may be {@code null}.
+     * @param fullName the full name of the speaker.
+     * @param company the company of the speaker.
+     * @return the summary, or {@code null} if there is no speaker.
+     */
+    public static SpeakerSummary of(Long id, String fullName, String company) {
+        return id == null ? null : new SpeakerSummary(id, fullName, company);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Read-only projections returned by the repositories.
+ */
+package com.mycompany.myapp.repository.projection;
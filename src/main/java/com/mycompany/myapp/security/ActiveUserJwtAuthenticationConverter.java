@@ -0,0 +1,37 @@
+package com.mycompany.myapp.security;
+
+import com.mycompany.myapp.domain.User;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+
+/**
+ * Converter of the decoded tokens into authentications, rejecting the tokens of the users which were deactivated or deleted
+ * since they were issued.
+ * <p>
+ * The users are looked up through the {@link UserCache}, which evicts them when they change: a deactivated user is rejected
+ * from their next request on, rather than when their token expires. The authorities are still those of the token, converted
+ * by the delegate.
+ */
+public class ActiveUserJwtAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+    private final UserCache userCache;
+
+    private final JwtAuthenticationConverter delegate;
+
+    public ActiveUserJwtAuthenticationConverter(UserCache userCache, JwtAuthenticationConverter delegate) {
+        this.userCache = userCache;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public AbstractAuthenticationToken convert(Jwt jwt) {
+        String login = jwt.getSubject();
+        if (login == null || !userCache.findOneWithAuthoritiesByLogin(login).map(User::isActivated).orElse(false)) {
+            throw new InvalidBearerTokenException("The user of the token isn't active");
+        }
+        return delegate.convert(jwt);
+    }
+}
@@ -0,0 +1,92 @@
+package com.mycompany.myapp.security;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+/**
+ * The BCrypt cost hashing a password in a target time on this host, measured at startup.
+ * <p>
+ * Each increment of the cost doubles the hashing time: the cost is increased from the minimum cost as long as a password
+ * is hashed in less than the target time, up to the maximum cost. The cost and the measured hashing time are reported
+ * on {@code /management/info}.
+ */
+public class BCryptCostCalibration implements InfoContributor {
+
+    private static final Logger log = LoggerFactory.getLogger(BCryptCostCalibration.class);
+
+    private static final String PASSWORD = "calibration";
+
+    private static final int WARM_UP_ITERATIONS = 3;
+
+    private final int cost;
+
+    private final Duration hashTime;
+
+    private final Duration targetHashTime;
+
+    BCryptCostCalibration(int cost, Duration hashTime, Duration targetHashTime) {
+        this.cost = cost;
+        this.hashTime = hashTime;
+        this.targetHashTime = targetHashTime;
+    }
+
+    /**
+     * Measure the cost hashing a password in the target time.
+     *
+     * @param targetHashTime the maximum time to hash a password.
+     * @param minimumCost the cost used even when it takes longer than the target time.
+     * @param maximumCost the maximum cost.
+     * @return the calibration.
+     */
+    public static BCryptCostCalibration calibrate(Duration targetHashTime, int minimumCost, int maximumCost) {
+        if (minimumCost < 4 || maximumCost > 31 || minimumCost > maximumCost) {
+            throw new IllegalArgumentException("Invalid BCrypt cost range " + minimumCost + " to " + maximumCost);
+        }
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            measure(minimumCost);
+        }
+        int cost = minimumCost;
+        Duration hashTime = measure(cost);
+        while (cost < maximumCost && hashTime.multipliedBy(2).compareTo(targetHashTime) <= 0) {
+            Duration nextHashTime = measure(cost + 1);
+            if (nextHashTime.compareTo(targetHashTime) > 0) {
+                break;
+            }
+            cost++;
+            hashTime = nextHashTime;
+        }
+        log.info("BCrypt cost {} hashes a password in {} ms, for a target of {} ms", cost, hashTime.toMillis(), targetHashTime.toMillis());
+        return new BCryptCostCalibration(cost, hashTime, targetHashTime);
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    public Duration getHashTime() {
+        return hashTime;
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("algorithm", "bcrypt");
+        details.put("cost", cost);
+        details.put("hashTimeMs", hashTime.toMillis());
+        details.put("targetHashTimeMs", targetHashTime.toMillis());
+        builder.withDetail("passwordHashing", details);
+    }
+
+    private static Duration measure(int cost) {
+        String salt = BCrypt.gensalt(cost);
+        long start = System.nanoTime();
+        BCrypt.hashpw(PASSWORD, salt);
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+}
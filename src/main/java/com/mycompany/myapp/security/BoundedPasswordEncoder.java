@@ -0,0 +1,163 @@
+package com.mycompany.myapp.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * {@link PasswordEncoder} hashing the passwords with another encoder on a dedicated, bounded pool of threads.
+ * <p>
+ * Hashing a password with BCrypt takes tens of milliseconds of CPU, so a burst of logins would otherwise keep every request
+ * thread busy and stall the other requests. The passwords are hashed by at most {@code poolSize} threads, at most
+ * {@code queueCapacity} passwords wait for a thread, and the following ones are rejected right away with a
+ * {@link PasswordHashingRejectedException}, which is translated to a {@code 429 Too Many Requests} response. The
+ * requests waiting longer than {@code maxWait} for their hash are rejected the same way.
+ * <p>
+ * The request threads are blocked while their password is hashed or waits for a thread, so {@code poolSize + queueCapacity}
+ * must stay well below the number of request threads, see {@link #defaultQueueCapacity(int, int)}.
+ * <p>
+ * The executor is monitored as {@code executor.*} meters tagged {@code name=}{@value #EXECUTOR_NAME}: the hashing time is
+ * recorded by the {@code executor} timer, the time spent in the queue by the {@code executor.idle} timer and the queue depth
+ * by the {@code executor.queued} gauge. The rejected passwords are counted by the {@value #REJECTED_METER_NAME} counter,
+ * tagged {@code reason=queue-full} or {@code reason=timeout}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    public static final String EXECUTOR_NAME = "password-hashing";
+
+    public static final String REJECTED_METER_NAME = "password.hashing.rejected";
+
+    private final PasswordEncoder delegate;
+
+    private final Duration maxWait;
+
+    private final Duration retryAfter;
+
+    private final ThreadPoolExecutor threadPoolExecutor;
+
+    private final ExecutorService executor;
+
+    private final Counter rejectedQueueFull;
+
+    private final Counter rejectedTimeout;
+
+    /**
+     * @param delegate the encoder hashing the passwords.
+     * @param poolSize the number of threads hashing passwords.
+     * @param queueCapacity the number of passwords waiting for a thread above which they are rejected.
+     * @param maxWait the maximum time a request waits for its password to be hashed, after which it is rejected.
+     * @param retryAfter the time after which the clients of the rejected requests should retry.
+     * @param meterRegistry the registry of the executor metrics.
+     */
+    public BoundedPasswordEncoder(
+        PasswordEncoder delegate,
+        int poolSize,
+        int queueCapacity,
+        Duration maxWait,
+        Duration retryAfter,
+        MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.maxWait = maxWait;
+        this.retryAfter = retryAfter;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(EXECUTOR_NAME + "-");
+        threadFactory.setDaemon(true);
+        this.threadPoolExecutor = new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            threadFactory,
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, threadPoolExecutor, EXECUTOR_NAME);
+        this.rejectedQueueFull = Counter.builder(REJECTED_METER_NAME)
+            .description("The number of passwords which weren't hashed because the hashing queue was full or they waited too long")
+            .tag("reason", "queue-full")
+            .register(meterRegistry);
+        this.rejectedTimeout = Counter.builder(REJECTED_METER_NAME)
+            .description("The number of passwords which weren't hashed because the hashing queue was full or they waited too long")
+            .tag("reason", "timeout")
+            .register(meterRegistry);
+    }
+
+    /**
+     * The requests hashing a password or waiting for a hash block their worker thread, so they are limited to half of the
+     * worker threads, leaving the other half to the other requests.
+     *
+     * @param workerThreads the number of threads serving the requests.
+     * @param poolSize the number of threads hashing passwords.
+     * @return the default number of passwords waiting for a hashing thread.
+     */
+    public static int defaultQueueCapacity(int workerThreads, int poolSize) {
+        return Math.max(1, workerThreads / 2 - poolSize);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        threadPoolExecutor.shutdown();
+    }
+
+    int getQueueSize() {
+        return threadPoolExecutor.getQueue().size();
+    }
+
+    private <T> T hash(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedQueueFull.increment();
+            throw new PasswordHashingRejectedException(retryAfter, e);
+        }
+        try {
+            return future.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // frees its place in the queue right away if it is still waiting for a thread
+            future.cancel(true);
+            threadPoolExecutor.purge();
+            rejectedTimeout.increment();
+            throw new PasswordHashingRejectedException(retryAfter, e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
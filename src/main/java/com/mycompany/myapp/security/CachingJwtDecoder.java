@@ -0,0 +1,114 @@
+package com.mycompany.myapp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * {@link JwtDecoder} caching the tokens successfully decoded by another decoder.
+ * <p>
+ * A client sends the same token with each of its requests, so most of them are decoded without verifying the signature
+ * and parsing the claims again. The cache is keyed by the SHA-256 digest of the token, so that tokens aren't kept in
+ * memory, and bounded by a number of tokens. A token is evicted at the latest when it expires, so that an expired token
+ * is always rejected by the delegate. Tokens which can't be decoded are never cached: every failure goes through the
+ * delegate.
+ * <p>
+ * Hits, misses and evictions are recorded as {@code cache.*} meters tagged {@code cache=}{@value #CACHE_NAME}, along with
+ * the hit ratio.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    public static final String CACHE_NAME = "jwt";
+
+    public static final String HIT_RATIO_METER_NAME = "cache.hit.ratio";
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    /**
+     * Bounds the time to live of tokens expiring in a far future, which can't be expressed in nanoseconds.
+     */
+    private static final Duration MAXIMUM_TIME_TO_LIVE = Duration.ofDays(365);
+
+    private final JwtDecoder delegate;
+
+    private final Clock clock;
+
+    private final Cache<ByteBuffer, Jwt> cache;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maximumSize, MeterRegistry meterRegistry) {
+        this(delegate, maximumSize, meterRegistry, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, long maximumSize, MeterRegistry meterRegistry, Clock clock) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new UntilExpiration())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder(HIT_RATIO_METER_NAME, cache, c -> c.stats().hitRate())
+            .tag("cache", CACHE_NAME)
+            .description("The ratio of cache requests which were hits")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        if (token == null) {
+            return delegate.decode(token);
+        }
+        return cache.get(digest(token), digest -> delegate.decode(token));
+    }
+
+    /**
+     * Expires the tokens when they expire, or right away when they don't have an expiration time.
+     */
+    private class UntilExpiration implements Expiry<ByteBuffer, Jwt> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer digest, Jwt jwt, long currentTime) {
+            Instant expiresAt = jwt.getExpiresAt();
+            if (expiresAt == null) {
+                return 0;
+            }
+            Duration timeToLive = Duration.between(clock.instant(), expiresAt);
+            if (timeToLive.isNegative()) {
+                return 0;
+            }
+            return timeToLive.compareTo(MAXIMUM_TIME_TO_LIVE) < 0 ? timeToLive.toNanos() : MAXIMUM_TIME_TO_LIVE.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer digest, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer digest, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance(DIGEST_ALGORITHM).digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(DIGEST_ALGORITHM + " is not available", e);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.mycompany.myapp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Throttles the login attempts by login and by client IP address, with token buckets.
+ * <p>
+ * Each attempt takes a token from the bucket of its login and from the bucket of its IP address, and is rejected with a
+ * {@link LoginThrottledException} when one of them is empty, before the user is loaded and its password hashed. The
+ * buckets are refilled continuously, they are updated with a compare-and-set, without locking, and they are kept in
+ * bounded caches: a bucket not used for its refill period is full again, so it is evicted and recreated when needed, and
+ * the least frequently used buckets are evicted when a cache is full.
+ * <p>
+ * The IP address of the client is the remote address of the connection, unless {@code trustedProxies} reverse proxies
+ * append the addresses they receive the requests from to the {@code X-Forwarded-For} header: the address appended by the
+ * outermost proxy is used then, as the addresses on its left are sent by the client, which could forge them to get a new
+ * bucket for each attempt.
+ * <p>
+ * Rejections are counted by the {@value #THROTTLED_METER_NAME} counter, tagged with the {@code bucket} type, and the number
+ * of buckets is published by the {@value #BUCKETS_METER_NAME} gauge.
+ */
+@Component
+public class LoginThrottle {
+
+    public static final String THROTTLED_METER_NAME = "security.login.throttled";
+
+    public static final String BUCKETS_METER_NAME = "security.login.throttle.buckets";
+
+    private static final long NANOS_PER_SECOND = Duration.ofSeconds(1).toNanos();
+
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    private final Logger log = LoggerFactory.getLogger(LoginThrottle.class);
+
+    private final boolean enabled;
+
+    private final int trustedProxies;
+
+    private final Ticker ticker;
+
+    private final Map<BucketType, Buckets> buckets = new EnumMap<>(BucketType.class);
+
+    /**
+     * The keys of the buckets.
+     */
+    public enum BucketType {
+        LOGIN,
+        IP,
+    }
+
+    /**
+     * A bucket, with its tokens when it was last used.
+     */
+    public record Bucket(BucketType type, String key, double tokens) {}
+
+    /**
+     * The capacity of a type of bucket, refilled in {@code refillPeriod}.
+     */
+    record Limit(int capacity, Duration refillPeriod) {
+        double tokensPerNano() {
+            return (double) capacity / refillPeriod.toNanos();
+        }
+    }
+
+    @Autowired
+    public LoginThrottle(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this(
+            applicationProperties.getLoginThrottle().isEnabled(),
+            applicationProperties.getLoginThrottle().getTrustedProxies(),
+            toLimit(applicationProperties.getLoginThrottle().getLogin()),
+            toLimit(applicationProperties.getLoginThrottle().getIp()),
+            applicationProperties.getLoginThrottle().getMaximumSize(),
+            meterRegistry,
+            Ticker.systemTicker()
+        );
+    }
+
+    LoginThrottle(
+        boolean enabled,
+        int trustedProxies,
+        Limit loginLimit,
+        Limit ipLimit,
+        long maximumSize,
+        MeterRegistry meterRegistry,
+        Ticker ticker
+    ) {
+        this.enabled = enabled;
+        this.trustedProxies = trustedProxies;
+        this.ticker = ticker;
+        buckets.put(BucketType.LOGIN, new Buckets(BucketType.LOGIN, loginLimit, maximumSize, meterRegistry));
+        buckets.put(BucketType.IP, new Buckets(BucketType.IP, ipLimit, maximumSize, meterRegistry));
+    }
+
+    /**
+     * Take a token from the buckets of a login attempt.
+     *
+     * @param login the login, or email, of the attempt.
+     * @param request the request of the attempt, whose client IP address is resolved.
+     * @throws LoginThrottledException if one of the buckets is empty.
+     */
+    public void acquire(String login, HttpServletRequest request) {
+        acquire(login, getClientAddress(request));
+    }
+
+    /**
+     * Take a token from the buckets of a login attempt.
+     *
+     * @param login the login, or email, of the attempt.
+     * @param ipAddress the IP address of the client.
+     * @throws LoginThrottledException if one of the buckets is empty.
+     */
+    public void acquire(String login, String ipAddress) {
+        if (!enabled) {
+            return;
+        }
+        buckets.get(BucketType.IP).acquire(ipAddress);
+        if (login != null) {
+            buckets.get(BucketType.LOGIN).acquire(normalize(login));
+        }
+    }
+
+    /**
+     * Resolve the IP address of the client of a request.
+     *
+     * @param request the request.
+     * @return the address appended to the {@code X-Forwarded-For} header by the outermost trusted proxy, or the remote
+     * address of the connection if there are no trusted proxies or no forwarded addresses.
+     */
+    String getClientAddress(HttpServletRequest request) {
+        if (trustedProxies == 0) {
+            return request.getRemoteAddr();
+        }
+        List<String> forwardedFor = Collections.list(request.getHeaders(X_FORWARDED_FOR))
+            .stream()
+            .flatMap(header -> Arrays.stream(header.split(",")))
+            .map(String::trim)
+            .filter(address -> !address.isEmpty())
+            .toList();
+        if (forwardedFor.isEmpty()) {
+            return request.getRemoteAddr();
+        }
+        // each proxy appends the address it received the request from, so the rightmost ones were added by the proxies
+        return forwardedFor.get(Math.max(0, forwardedFor.size() - trustedProxies));
+    }
+
+    /**
+     * Get the buckets having the fewest tokens.
+     *
+     * @param limit the maximum number of buckets.
+     * @return the buckets, the emptiest first.
+     */
+    public List<Bucket> getBuckets(int limit) {
+        long now = ticker.read();
+        return buckets
+            .values()
+            .stream()
+            .flatMap(typeBuckets -> typeBuckets.snapshot(now))
+            .sorted(Comparator.comparingDouble(Bucket::tokens))
+            .limit(limit)
+            .toList();
+    }
+
+    /**
+     * Get a bucket.
+     *
+     * @param type the type of the bucket.
+     * @param key the login or the IP address.
+     * @return the bucket, or empty if it is full.
+     */
+    public Optional<Bucket> getBucket(BucketType type, String key) {
+        Buckets typeBuckets = buckets.get(type);
+        String normalizedKey = type == BucketType.LOGIN ? normalize(key) : key;
+        return Optional.ofNullable(typeBuckets.cache.getIfPresent(normalizedKey)).map(
+            tokenBucket -> new Bucket(type, normalizedKey, tokenBucket.tokens(typeBuckets.limit, ticker.read()))
+        );
+    }
+
+    /**
+     * Refill a bucket.
+     *
+     * @param type the type of the bucket.
+     * @param key the login or the IP address.
+     */
+    public void clear(BucketType type, String key) {
+        log.debug("Clearing the login throttle bucket {} {}", type, key);
+        buckets.get(type).cache.invalidate(type == BucketType.LOGIN ? normalize(key) : key);
+    }
+
+    /**
+     * Refill all the buckets.
+     */
+    public void clearAll() {
+        log.debug("Clearing all the login throttle buckets");
+        buckets.values().forEach(typeBuckets -> typeBuckets.cache.invalidateAll());
+    }
+
+    private static String normalize(String login) {
+        return login.toLowerCase(Locale.ENGLISH);
+    }
+
+    private static Limit toLimit(ApplicationProperties.LoginThrottle.Bucket bucket) {
+        return new Limit(bucket.getCapacity(), bucket.getRefillPeriod());
+    }
+
+    /**
+     * The buckets of a type.
+     */
+    private class Buckets {
+
+        private final BucketType type;
+
+        private final Limit limit;
+
+        private final Cache<String, TokenBucket> cache;
+
+        private final Counter throttled;
+
+        Buckets(BucketType type, Limit limit, long maximumSize, MeterRegistry meterRegistry) {
+            this.type = type;
+            this.limit = limit;
+            this.cache = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterAccess(limit.refillPeriod()).ticker(ticker).build();
+            String tag = type.name().toLowerCase(Locale.ROOT);
+            this.throttled = Counter.builder(THROTTLED_METER_NAME)
+                .tag("bucket", tag)
+                .description("The number of login attempts rejected because their bucket was empty")
+                .register(meterRegistry);
+            Gauge.builder(BUCKETS_METER_NAME, cache, Cache::estimatedSize)
+                .tag("bucket", tag)
+                .description("The approximate number of login throttle buckets")
+                .register(meterRegistry);
+        }
+
+        void acquire(String key) {
+            long now = ticker.read();
+            TokenBucket tokenBucket = cache.get(key, k -> new TokenBucket(limit.capacity(), now));
+            double missingTokens = tokenBucket.tryConsume(limit, now);
+            if (missingTokens > 0) {
+                throttled.increment();
+                long retryAfterNanos = (long) Math.ceil(missingTokens / limit.tokensPerNano());
+                throw new LoginThrottledException(Duration.ofSeconds((retryAfterNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND));
+            }
+        }
+
+        Stream<Bucket> snapshot(long now) {
+            return cache
+                .asMap()
+                .entrySet()
+                .stream()
+                .map(entry -> new Bucket(type, entry.getKey(), entry.getValue().tokens(limit, now)));
+        }
+    }
+
+    /**
+     * A bucket of tokens, refilled when it is used.
+     */
+    private static class TokenBucket {
+
+        private record State(double tokens, long refilledAt) {}
+
+        private final AtomicReference<State> state;
+
+        TokenBucket(double tokens, long now) {
+            this.state = new AtomicReference<>(new State(tokens, now));
+        }
+
+        /**
+         * @return {@code 0} if a token was taken, else the number of tokens missing to take one.
+         */
+        double tryConsume(Limit limit, long now) {
+            while (true) {
+                State current = state.get();
+                double tokens = refill(current, limit, now);
+                if (tokens < 1) {
+                    return 1 - tokens;
+                }
+                if (state.compareAndSet(current, new State(tokens - 1, Math.max(now, current.refilledAt())))) {
+                    return 0;
+                }
+            }
+        }
+
+        double tokens(Limit limit, long now) {
+            return refill(state.get(), limit, now);
+        }
+
+        private static double refill(State state, Limit limit, long now) {
+            long elapsed = Math.max(0, now - state.refilledAt());
+            return Math.min(limit.capacity(), state.tokens() + elapsed * limit.tokensPerNano());
+        }
+    }
+}
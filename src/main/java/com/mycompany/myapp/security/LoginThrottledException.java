@@ -0,0 +1,23 @@
+package com.mycompany.myapp.security;
+
+import java.time.Duration;
+
+/**
+ * This exception is thrown when a login attempt is rejected because there were too many attempts for its login or its IP
+ * address.
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    public LoginThrottledException(Duration retryAfter) {
+        super("Too many login attempts, retry later");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,145 @@
+package com.mycompany.myapp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Cache of the users with their authorities, by login and by email, for the authentication and the account of the current
+ * user.
+ * <p>
+ * The users are keyed by their lower case login or email, and evicted when a {@link UserChangedEvent} is published: right
+ * away, and again once the transaction publishing it completes, so that a user loaded by a concurrent request before the
+ * change is committed isn't cached. Users changed without publishing the event, such as with SQL, are evicted after
+ * {@code application.user-cache.time-to-live}. Users which don't exist aren't cached.
+ * <p>
+ * The cached users are detached entities shared by all the requests, they must not be modified. Hits, misses and evictions
+ * are recorded as {@code cache.*} meters tagged {@code cache=}{@value #CACHE_NAME}, along with the hit ratio.
+ */
+@Component
+public class UserCache {
+
+    public static final String CACHE_NAME = "users";
+
+    public static final String HIT_RATIO_METER_NAME = "cache.hit.ratio";
+
+    private final Logger log = LoggerFactory.getLogger(UserCache.class);
+
+    private final UserRepository userRepository;
+
+    private final boolean enabled;
+
+    private final Cache<Key, User> cache;
+
+    /**
+     * Incremented on each change, so that users loaded during a change aren't cached.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private enum KeyType {
+        LOGIN,
+        EMAIL,
+    }
+
+    private record Key(KeyType type, String value) {}
+
+    public UserCache(UserRepository userRepository, ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        ApplicationProperties.UserCache userCache = applicationProperties.getUserCache();
+        this.enabled = userCache.getMaximumSize() > 0;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(userCache.getMaximumSize())
+            .expireAfterWrite(userCache.getTimeToLive())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder(HIT_RATIO_METER_NAME, cache, c -> c.stats().hitRate())
+            .tag("cache", CACHE_NAME)
+            .description("The ratio of cache requests which were hits")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Get a user with its authorities by login.
+     *
+     * @param login the login, in any case.
+     * @return the user.
+     */
+    public Optional<User> findOneWithAuthoritiesByLogin(String login) {
+        return get(new Key(KeyType.LOGIN, normalize(login)), userRepository::findOneWithAuthoritiesByLogin);
+    }
+
+    /**
+     * Get a user with its authorities by email.
+     *
+     * @param email the email, in any case.
+     * @return the user.
+     */
+    public Optional<User> findOneWithAuthoritiesByEmail(String email) {
+        return get(new Key(KeyType.EMAIL, normalize(email)), userRepository::findOneWithAuthoritiesByEmailIgnoreCase);
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.userId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void afterUserChanged(UserChangedEvent event) {
+        evict(event.userId());
+    }
+
+    /**
+     * Evict all the users.
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private Optional<User> get(Key key, Function<String, Optional<User>> loader) {
+        if (!enabled) {
+            return loader.apply(key.value());
+        }
+        User user = cache.getIfPresent(key);
+        if (user != null) {
+            return Optional.of(user);
+        }
+        long loadedGeneration = generation.get();
+        Optional<User> loaded = loader.apply(key.value());
+        loaded.ifPresent(value -> {
+            cache.put(key, value);
+            if (generation.get() != loadedGeneration) {
+                cache.asMap().remove(key, value);
+            }
+        });
+        return loaded;
+    }
+
+    private void evict(Long userId) {
+        generation.incrementAndGet();
+        if (cache.asMap().values().removeIf(user -> Objects.equals(user.getId(), userId))) {
+            log.debug("Evicted user {} from the cache", userId);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ENGLISH);
+    }
+}
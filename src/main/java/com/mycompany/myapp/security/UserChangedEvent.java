@@ -0,0 +1,9 @@
+package com.mycompany.myapp.security;
+
+/**
+ * Event published when a user is updated, activated, deactivated, deleted or changes its password, so that the users
+ * cached by {@link UserCache} are evicted.
+ *
+ * @param userId the id of the user.
+ */
+public record UserChangedEvent(Long userId) {}
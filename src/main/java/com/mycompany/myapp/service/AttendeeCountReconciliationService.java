@@ -0,0 +1,112 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.repository.ConferenceRepository;
+import com.mycompany.myapp.repository.SessionRepository;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service class repairing the numbers of attendees of sessions and conferences.
+ * <p>
+ * The numbers are maintained by database triggers when attendees register or unregister, so they only drift when the
+ * triggers are bypassed, e.g. when they are disabled for a bulk load. Rows are repaired in batches of ids, each batch in
+ * its own transaction which first locks its rows: registrations to a batch wait for it to commit, and are then counted
+ * on top of the repaired numbers. Like registrations, batches of sessions lock their conferences before the sessions,
+ * each in the order of their ids, so that they don't deadlock with them.
+ */
+@Service
+public class AttendeeCountReconciliationService {
+
+    private final Logger log = LoggerFactory.getLogger(AttendeeCountReconciliationService.class);
+
+    private final SessionRepository sessionRepository;
+
+    private final ConferenceRepository conferenceRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    public AttendeeCountReconciliationService(
+        SessionRepository sessionRepository,
+        ConferenceRepository conferenceRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.sessionRepository = sessionRepository;
+        this.conferenceRepository = conferenceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = applicationProperties.getAttendeeCounts().getBatchSize();
+    }
+
+    /**
+     * Repair the numbers of attendees of all the sessions and conferences.
+     * <p>
+     * This is scheduled to get fired everyday, at 01:30 (am) by default.
+     */
+    @Scheduled(cron = "${application.attendee-counts.reconciliation-cron:0 30 1 * * ?}")
+    public void reconcileAttendeeCounts() {
+        int sessions = reconcileSessions();
+        int conferences = reconcileConferences();
+        if (sessions > 0 || conferences > 0) {
+            log.warn("Repaired the numbers of attendees of {} sessions and {} conferences", sessions, conferences);
+        } else {
+            log.debug("The numbers of attendees of the sessions and conferences are up to date");
+        }
+    }
+
+    /**
+     * @return the number of repaired sessions.
+     */
+    public int reconcileSessions() {
+        return reconcile(
+            after -> sessionRepository.findIdsAfter(after, Limit.of(batchSize)),
+            (fromId, toId) -> {
+                conferenceRepository.lockAllBySessionIdBetween(fromId, toId);
+                return sessionRepository.lockAllByIdBetween(fromId, toId);
+            },
+            sessionRepository::reconcileAttendeeCounts
+        );
+    }
+
+    /**
+     * @return the number of repaired conferences.
+     */
+    public int reconcileConferences() {
+        return reconcile(
+            after -> conferenceRepository.findIdsAfter(after, Limit.of(batchSize)),
+            conferenceRepository::lockAllByIdBetween,
+            conferenceRepository::reconcileAttendeeCounts
+        );
+    }
+
+    private int reconcile(
+        Function<Long, List<Long>> idsAfter,
+        BiFunction<Long, Long, List<Long>> lock,
+        BiFunction<Long, Long, Integer> repair
+    ) {
+        int repaired = 0;
+        long after = Long.MIN_VALUE;
+        List<Long> ids;
+        while (!(ids = idsAfter.apply(after)).isEmpty()) {
+            Long fromId = ids.get(0);
+            Long toId = ids.get(ids.size() - 1);
+            Integer batchRepaired = transactionTemplate.execute(status -> {
+                lock.apply(fromId, toId);
+                return repair.apply(fromId, toId);
+            });
+            repaired += batchRepaired != null ? batchRepaired : 0;
+            after = toId;
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,49 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.repository.AttendeeRepository;
+import com.mycompany.myapp.repository.projection.AttendeeExport;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service class for exporting attendees.
+ * <p>
+ * Attendees are read as flat projections through a database cursor, in a read-only transaction, and handed over one at
+ * a time: memory use does not depend on the number of exported attendees. The transaction is opened by the service, as
+ * exports are written by streaming response bodies, outside of the request thread.
+ */
+@Service
+public class AttendeeExportService {
+
+    private final Logger log = LoggerFactory.getLogger(AttendeeExportService.class);
+
+    private final AttendeeRepository attendeeRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public AttendeeExportService(AttendeeRepository attendeeRepository, PlatformTransactionManager transactionManager) {
+        this.attendeeRepository = attendeeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Export the attendees, ordered by id.
+     *
+     * @param conferenceId the id of the conference whose attendees are exported, or {@code null} for all of them.
+     * @param consumer the consumer of the exported attendees.
+     */
+    public void exportAttendees(Long conferenceId, Consumer<AttendeeExport> consumer) {
+        log.debug("Request to export Attendees of conference : {}", conferenceId);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<AttendeeExport> attendees = attendeeRepository.streamAllForExport(conferenceId)) {
+                attendees.forEach(consumer);
+            }
+        });
+    }
+}
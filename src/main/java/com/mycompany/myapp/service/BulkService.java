@@ -0,0 +1,234 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Attendee;
+import com.mycompany.myapp.domain.Session;
+import com.mycompany.myapp.service.dto.BulkItemResultDTO;
+import com.mycompany.myapp.service.dto.BulkItemResultDTO.Status;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service class for creating and updating entities in bulk.
+ * <p>
+ * Items are validated one by one, then written in chunks of {@code hibernate.jdbc.batch_size} items, each chunk in its
+ * own transaction and flushed once, so that Hibernate sends its inserts and updates as JDBC batches. As the chunk size
+ * divides the {@code sequence_generator} increment of 50, ids are allocated with one sequence call every two chunks.
+ * <p>
+ * When a chunk fails, its items are written again one transaction at a time, so only the faulty items are reported as
+ * failed. Results are reported as soon as they are known: invalid items right away, the others when their chunk is
+ * written. Each result carries the index of its item in the request.
+ */
+@Service
+public class BulkService {
+
+    private static final String WRITE_ERROR = "item could not be written to the database";
+
+    private final Logger log = LoggerFactory.getLogger(BulkService.class);
+
+    private final EntityManager entityManager;
+
+    private final EntityReferenceService entityReferenceService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Validator validator;
+
+    private final int chunkSize;
+
+    public BulkService(
+        EntityManager entityManager,
+        EntityReferenceService entityReferenceService,
+        PlatformTransactionManager transactionManager,
+        Validator validator,
+        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:25}") int chunkSize
+    ) {
+        this.entityManager = entityManager;
+        this.entityReferenceService = entityReferenceService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Create the attendees without id, and update the ones with an id.
+     *
+     * @param attendees the attendees to save.
+     * @param results the consumer of the result of each attendee.
+     */
+    public void saveAttendees(List<Attendee> attendees, Consumer<BulkItemResultDTO> results) {
+        save(
+            Attendee.class,
+            Attendee::getId,
+            Attendee::setId,
+            Attendee::getVersion,
+            Attendee::setVersion,
+            entityReferenceService::resolve,
+            attendees,
+            results
+        );
+    }
+
+    /**
+     * Create the sessions without id, and update the ones with an id.
+     *
+     * @param sessions the sessions to save.
+     * @param results the consumer of the result of each session.
+     */
+    public void saveSessions(List<Session> sessions, Consumer<BulkItemResultDTO> results) {
+        save(
+            Session.class,
+            Session::getId,
+            Session::setId,
+            Session::getVersion,
+            Session::setVersion,
+            entityReferenceService::resolve,
+            sessions,
+            results
+        );
+    }
+
+    private <T> void save(
+        Class<T> entityClass,
+        Function<T, Long> idGetter,
+        BiConsumer<T, Long> idSetter,
+        Function<T, Long> versionGetter,
+        BiConsumer<T, Long> versionSetter,
+        Consumer<T> referenceResolver,
+        List<T> items,
+        Consumer<BulkItemResultDTO> results
+    ) {
+        log.debug("Request to save {} {} in bulk", items.size(), entityClass.getSimpleName());
+        List<Item<T>> chunk = new ArrayList<>(chunkSize);
+        for (int index = 0; index < items.size(); index++) {
+            T entity = items.get(index);
+            if (entity == null) {
+                results.accept(new BulkItemResultDTO(index, null, Status.INVALID, List.of("item must not be null")));
+                continue;
+            }
+            Set<ConstraintViolation<T>> violations = validator.validate(entity);
+            if (!violations.isEmpty()) {
+                List<String> errors = violations.stream().map(v -> v.getPropertyPath() + ": " + v.getMessage()).sorted().toList();
+                results.accept(new BulkItemResultDTO(index, idGetter.apply(entity), Status.INVALID, errors));
+                continue;
+            }
+            chunk.add(new Item<>(index, entity, idGetter.apply(entity) == null));
+            if (chunk.size() == chunkSize) {
+                writeChunk(entityClass, idGetter, idSetter, versionGetter, versionSetter, referenceResolver, chunk, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(entityClass, idGetter, idSetter, versionGetter, versionSetter, referenceResolver, chunk, results);
+        }
+    }
+
+    private <T> void writeChunk(
+        Class<T> entityClass,
+        Function<T, Long> idGetter,
+        BiConsumer<T, Long> idSetter,
+        Function<T, Long> versionGetter,
+        BiConsumer<T, Long> versionSetter,
+        Consumer<T> referenceResolver,
+        List<Item<T>> chunk,
+        Consumer<BulkItemResultDTO> results
+    ) {
+        List<BulkItemResultDTO> chunkResults;
+        try {
+            chunkResults = transactionTemplate.execute(status ->
+                write(entityClass, idGetter, versionGetter, versionSetter, referenceResolver, chunk)
+            );
+        } catch (DataAccessException | PersistenceException e) {
+            log.debug("Bulk chunk of {} {} failed, retrying item by item: {}", chunk.size(), entityClass.getSimpleName(), e.getMessage());
+            chunkResults = new ArrayList<>(chunk.size());
+            for (Item<T> item : chunk) {
+                if (item.created()) {
+                    // the id allocated by the rolled back persist is discarded
+                    idSetter.accept(item.entity(), null);
+                }
+                try {
+                    chunkResults.addAll(
+                        transactionTemplate.execute(status ->
+                            write(entityClass, idGetter, versionGetter, versionSetter, referenceResolver, List.of(item))
+                        )
+                    );
+                } catch (DataAccessException | PersistenceException itemException) {
+                    log.debug("Bulk item {} of {} failed: {}", item.index(), entityClass.getSimpleName(), itemException.getMessage());
+                    if (item.created()) {
+                        idSetter.accept(item.entity(), null);
+                    }
+                    chunkResults.add(
+                        new BulkItemResultDTO(item.index(), idGetter.apply(item.entity()), Status.FAILED, List.of(WRITE_ERROR))
+                    );
+                }
+            }
+        }
+        chunkResults.forEach(results);
+    }
+
+    private <T> List<BulkItemResultDTO> write(
+        Class<T> entityClass,
+        Function<T, Long> idGetter,
+        Function<T, Long> versionGetter,
+        BiConsumer<T, Long> versionSetter,
+        Consumer<T> referenceResolver,
+        List<Item<T>> chunk
+    ) {
+        List<Long> updatedIds = chunk.stream().filter(item -> !item.created()).map(item -> idGetter.apply(item.entity())).toList();
+        Map<Long, Long> existingVersions = existingVersions(entityClass, updatedIds);
+        List<BulkItemResultDTO> chunkResults = new ArrayList<>(chunk.size());
+        List<Item<T>> created = new ArrayList<>();
+        for (Item<T> item : chunk) {
+            // references are resolved in the transaction which writes the item, retries included
+            referenceResolver.accept(item.entity());
+            if (item.created()) {
+                entityManager.persist(item.entity());
+                created.add(item);
+            } else if (existingVersions.containsKey(idGetter.apply(item.entity()))) {
+                if (versionGetter.apply(item.entity()) == null) {
+                    // the last write wins for items without version, which merge would otherwise take for new entities
+                    versionSetter.accept(item.entity(), existingVersions.get(idGetter.apply(item.entity())));
+                }
+                entityManager.merge(item.entity());
+                chunkResults.add(new BulkItemResultDTO(item.index(), idGetter.apply(item.entity()), Status.UPDATED, List.of()));
+            } else {
+                chunkResults.add(new BulkItemResultDTO(item.index(), idGetter.apply(item.entity()), Status.NOT_FOUND, List.of()));
+            }
+        }
+        entityManager.flush();
+        for (Item<T> item : created) {
+            chunkResults.add(new BulkItemResultDTO(item.index(), idGetter.apply(item.entity()), Status.CREATED, List.of()));
+        }
+        chunkResults.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        return chunkResults;
+    }
+
+    private Map<Long, Long> existingVersions(Class<?> entityClass, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return entityManager
+            .createQuery("select e.id, e.version from " + entityClass.getSimpleName() + " e where e.id in :ids", Object[].class)
+            .setParameter("ids", ids)
+            .getResultStream()
+            .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+    }
+
+    private record Item<T>(int index, T entity, boolean created) {}
+}
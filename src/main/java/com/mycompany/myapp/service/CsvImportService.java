@@ -0,0 +1,317 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.service.dto.CsvImportDTO;
+import com.mycompany.myapp.service.dto.CsvImportDTO.RejectedRow;
+import com.mycompany.myapp.service.dto.CsvImportDTO.Status;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service class for importing entities from CSV files.
+ * <p>
+ * The file is streamed with PostgreSQL {@code COPY} into a temporary staging table, then validated and merged into the
+ * entity tables with set-based statements, all in one transaction: neither the file nor the entities are held in heap,
+ * and an import is either fully applied or not at all. Rows are matched to existing ones by email for attendees and
+ * speakers, which are then updated; the other rows are created.
+ * <p>
+ * New ids are taken from {@code sequence_generator} one block of {@value #SEQUENCE_INCREMENT} at a time, the way the
+ * Hibernate pooled optimizer does, so they never collide with the ids Hibernate hands out.
+ * <p>
+ * The progress of the running imports, and the outcome of the last ones, are kept in memory.
+ */
+@Service
+public class CsvImportService {
+
+    public static final int MAX_REPORTED_REJECTED_ROWS = 100;
+
+    static final int SEQUENCE_INCREMENT = 50;
+
+    private static final int MAX_REPORTED_IMPORTS = 20;
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final String REJECTED_TABLE =
+        "create temporary table import_rejected (line_no bigint primary key, reason text not null) on commit drop";
+
+    private static final String ALLOCATE_IDS =
+        """
+        with accepted as (
+            select s.line_no, row_number() over (order by s.line_no) - 1 as position from import_staging s where s.id is null
+        ),
+        blocks as (
+            select block, nextval('sequence_generator') as hi
+            from generate_series(0, (select (count(*) + %1$d - 1) / %1$d - 1 from accepted)) as block
+        )
+        update import_staging s set id = b.hi - %1$d + 1 + a.position %% %1$d
+        from accepted a join blocks b on b.block = a.position / %1$d
+        where s.line_no = a.line_no
+        """.formatted(SEQUENCE_INCREMENT);
+
+    private final Logger log = LoggerFactory.getLogger(CsvImportService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final Map<String, CsvImport> imports = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CsvImport> eldest) {
+            return size() > MAX_REPORTED_IMPORTS;
+        }
+    };
+
+    public CsvImportService(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        EntityManagerFactory entityManagerFactory
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Import a CSV file, with a header line and the {@link CsvImportType#getColumns() columns} of the type.
+     *
+     * @param type the type of the imported entities.
+     * @param csv the content of the file, read until its end.
+     * @param delimiter the column delimiter.
+     * @return the outcome of the import.
+     */
+    public CsvImportDTO importCsv(CsvImportType type, InputStream csv, char delimiter) {
+        log.debug("Request to import {} from CSV", type);
+        CsvImport csvImport = new CsvImport(UUID.randomUUID().toString(), type);
+        synchronized (imports) {
+            imports.put(csvImport.id, csvImport);
+        }
+        try {
+            InputStream countingCsv = new CountingInputStream(csv, csvImport);
+            transactionTemplate.executeWithoutResult(status -> importRows(type, countingCsv, delimiter, csvImport));
+            csvImport.status = Status.COMPLETED;
+        } catch (DataAccessException e) {
+            log.debug("Import {} of {} failed: {}", csvImport.id, type, e.getMessage());
+            csvImport.error = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            csvImport.status = Status.FAILED;
+        } catch (RuntimeException e) {
+            csvImport.error = "import failed";
+            csvImport.status = Status.FAILED;
+            throw e;
+        } finally {
+            csvImport.finishedAt = Instant.now();
+        }
+        evictCache(type);
+        return csvImport.toDTO();
+    }
+
+    /**
+     * Get the running imports, and the last finished ones.
+     *
+     * @return the imports, oldest first.
+     */
+    public List<CsvImportDTO> findAll() {
+        synchronized (imports) {
+            return imports.values().stream().map(CsvImport::toDTO).toList();
+        }
+    }
+
+    /**
+     * Get a running, or recently finished, import.
+     *
+     * @param id the id of the import.
+     * @return the import.
+     */
+    public Optional<CsvImportDTO> findOne(String id) {
+        synchronized (imports) {
+            return Optional.ofNullable(imports.get(id)).map(CsvImport::toDTO);
+        }
+    }
+
+    private void importRows(CsvImportType type, InputStream csv, char delimiter, CsvImport csvImport) {
+        jdbcTemplate.execute(
+            "create temporary table import_staging (line_no bigint generated always as identity primary key, " +
+            type.getColumns().replace(",", " text,") +
+            " text, id bigint, existing boolean not null default false) on commit drop"
+        );
+        jdbcTemplate.execute(REJECTED_TABLE);
+        String copy =
+            "copy import_staging (" + type.getColumns() + ") from stdin with (format csv, header true, delimiter '" + delimiter + "')";
+        Long rowsRead = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copy, csv, COPY_BUFFER_SIZE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        csvImport.rowsRead.set(rowsRead);
+        // temporary tables are not analyzed by autovacuum
+        jdbcTemplate.execute("analyze import_staging");
+        type.getIndexStatements().forEach(jdbcTemplate::execute);
+
+        for (CsvImportType.Rule rule : type.getRules()) {
+            jdbcTemplate.update(
+                "with rejected as (delete from import_staging s where " +
+                rule.condition() +
+                " returning s.line_no) insert into import_rejected (line_no, reason) select line_no, ? from rejected",
+                rule.reason()
+            );
+        }
+        if (type.getMatchStatement() != null) {
+            jdbcTemplate.update(type.getMatchStatement());
+        }
+        jdbcTemplate.update(ALLOCATE_IDS);
+        if (type.getUpdateStatement() != null) {
+            csvImport.rowsUpdated = jdbcTemplate.update(type.getUpdateStatement());
+        }
+        csvImport.rowsCreated = jdbcTemplate.update(type.getInsertStatement());
+        if (type.getLinkStatement() != null) {
+            jdbcTemplate.update(type.getLinkStatement());
+        }
+
+        csvImport.rowsRejected = jdbcTemplate.queryForObject("select count(*) from import_rejected", Long.class);
+        csvImport.rejectedRows = jdbcTemplate.query(
+            "select line_no, reason from import_rejected order by line_no limit " + MAX_REPORTED_REJECTED_ROWS,
+            (resultSet, rowNum) -> new RejectedRow(resultSet.getLong(1), resultSet.getString(2))
+        );
+        log.info(
+            "Imported {} {}: {} created, {} updated, {} rejected",
+            rowsRead,
+            type,
+            csvImport.rowsCreated,
+            csvImport.rowsUpdated,
+            csvImport.rowsRejected
+        );
+    }
+
+    private void evictCache(CsvImportType type) {
+        // the import bypasses Hibernate, so its second-level cache must forget the imported entities
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(type.getEntityClass());
+        if (type.getCachedCollection() != null) {
+            cache.evictCollectionData(type.getEntityClass().getName() + "." + type.getCachedCollection());
+        }
+    }
+
+    private static class CsvImport {
+
+        private final String id;
+
+        private final CsvImportType type;
+
+        private final Instant startedAt = Instant.now();
+
+        private final AtomicLong bytesRead = new AtomicLong();
+
+        private final AtomicLong rowsRead = new AtomicLong();
+
+        private volatile Status status = Status.RUNNING;
+
+        private volatile Instant finishedAt;
+
+        private volatile long rowsCreated;
+
+        private volatile long rowsUpdated;
+
+        private volatile long rowsRejected;
+
+        private volatile List<RejectedRow> rejectedRows;
+
+        private volatile String error;
+
+        CsvImport(String id, CsvImportType type) {
+            this.id = id;
+            this.type = type;
+        }
+
+        CsvImportDTO toDTO() {
+            CsvImportDTO dto = new CsvImportDTO();
+            dto.setId(id);
+            dto.setType(type.name().toLowerCase(Locale.ROOT));
+            dto.setStatus(status);
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setBytesRead(bytesRead.get());
+            dto.setRowsRead(rowsRead.get());
+            dto.setRowsCreated(rowsCreated);
+            dto.setRowsUpdated(rowsUpdated);
+            dto.setRowsRejected(rowsRejected);
+            dto.setRejectedRows(rejectedRows != null ? new ArrayList<>(rejectedRows) : null);
+            dto.setError(error);
+            return dto;
+        }
+    }
+
+    /**
+     * Counts the bytes and the lines read from the file while {@code COPY} consumes it, to report the progress of the
+     * import. Lines are only an estimate of the rows, as quoted values may contain line breaks.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+
+        private final CsvImport csvImport;
+
+        private boolean headerSkipped;
+
+        CountingInputStream(InputStream in, CsvImport csvImport) {
+            super(in);
+            this.csvImport = csvImport;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(b);
+                csvImport.bytesRead.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            for (int i = off; i < off + read; i++) {
+                count(b[i]);
+            }
+            if (read > 0) {
+                csvImport.bytesRead.addAndGet(read);
+            }
+            return read;
+        }
+
+        private void count(int b) {
+            if (b == '\n') {
+                if (headerSkipped) {
+                    csvImport.rowsRead.incrementAndGet();
+                } else {
+                    headerSkipped = true;
+                }
+            }
+        }
+    }
+}
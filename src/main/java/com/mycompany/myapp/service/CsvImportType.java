@@ -0,0 +1,216 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Attendee;
+import com.mycompany.myapp.domain.Session;
+import com.mycompany.myapp.domain.Speaker;
+import java.util.List;
+
+/**
+ * The entities that can be imported from a CSV file, with the SQL used to validate and merge their staging table.
+ * <p>
+ * Every column is staged as {@code text}, so that {@code COPY} only fails on malformed CSV: values are validated by the
+ * {@link Rule rules}, which move the rows they reject out of the staging table. The merge statements can then rely on
+ * the remaining rows, which have their {@code id} set, and {@code existing} when they match a row of the entity table.
+ */
+public enum CsvImportType {
+    ATTENDEES(
+        Attendee.class,
+        "sessions",
+        "first_name, last_name, email, telephone, session_ids",
+        List.of("create index on import_staging (lower(email))"),
+        List.of(
+            new Rule(
+                "values must be at most 255 characters",
+                "greatest(length(s.first_name), length(s.last_name), length(s.email), length(s.telephone)) > 255"
+            ),
+            new Rule("session_ids must be session ids separated by |", "nullif(trim(s.session_ids), '') !~ '" + Rule.ID_LIST + "'"),
+            new Rule(
+                "session_ids contains an unknown session",
+                "exists (select 1 from unnest(string_to_array(nullif(trim(s.session_ids), ''), '|')) as sid " +
+                "where not exists (select 1 from session se where se.id = trim(sid)::bigint))"
+            ),
+            new Rule(
+                "email is already used by a previous row",
+                "s.email is not null and exists (select 1 from import_staging o " +
+                "where lower(o.email) = lower(s.email) and o.line_no < s.line_no)"
+            )
+        ),
+        "update import_staging s set id = a.id, existing = true " +
+        "from (select lower(email) as email, min(id) as id from attendee where email is not null group by lower(email)) a " +
+        "where a.email = lower(s.email)",
+        "update attendee a set first_name = coalesce(s.first_name, a.first_name), last_name = coalesce(s.last_name, a.last_name), " +
+        "telephone = coalesce(s.telephone, a.telephone), version = a.version + 1 from import_staging s where s.existing and a.id = s.id",
+        "insert into attendee (id, first_name, last_name, email, telephone) " +
+        "select id, first_name, last_name, email, telephone from import_staging where not existing order by line_no",
+        "insert into rel_attendee__session (attendee_id, session_id) " +
+        "select distinct s.id, trim(sid)::bigint from import_staging s " +
+        "cross join unnest(string_to_array(nullif(trim(s.session_ids), ''), '|')) as sid on conflict do nothing"
+    ),
+    SPEAKERS(
+        Speaker.class,
+        "conferences",
+        "full_name, email, company, conference_ids",
+        List.of("create index on import_staging (lower(email))"),
+        List.of(
+            new Rule(
+                "values must be at most 255 characters",
+                "greatest(length(s.full_name), length(s.email), length(s.company)) > 255"
+            ),
+            new Rule(
+                "conference_ids must be conference ids separated by |",
+                "nullif(trim(s.conference_ids), '') !~ '" + Rule.ID_LIST + "'"
+            ),
+            new Rule(
+                "conference_ids contains an unknown conference",
+                "exists (select 1 from unnest(string_to_array(nullif(trim(s.conference_ids), ''), '|')) as cid " +
+                "where not exists (select 1 from conference c where c.id = trim(cid)::bigint))"
+            ),
+            new Rule(
+                "email is already used by a previous row",
+                "s.email is not null and exists (select 1 from import_staging o " +
+                "where lower(o.email) = lower(s.email) and o.line_no < s.line_no)"
+            )
+        ),
+        "update import_staging s set id = sp.id, existing = true " +
+        "from (select lower(email) as email, min(id) as id from speaker where email is not null group by lower(email)) sp " +
+        "where sp.email = lower(s.email)",
+        "update speaker sp set full_name = coalesce(s.full_name, sp.full_name), company = coalesce(s.company, sp.company), " +
+        "version = sp.version + 1 from import_staging s where s.existing and sp.id = s.id",
+        "insert into speaker (id, full_name, email, company) " +
+        "select id, full_name, email, company from import_staging where not existing order by line_no",
+        "insert into rel_speaker__conference (speaker_id, conference_id) " +
+        "select distinct s.id, trim(cid)::bigint from import_staging s " +
+        "cross join unnest(string_to_array(nullif(trim(s.conference_ids), ''), '|')) as cid on conflict do nothing"
+    ),
+    SESSIONS(
+        Session.class,
+        null,
+        "title, description, room, speaker_id, conference_id",
+        List.of(),
+        List.of(
+            new Rule("title is required", "s.title is null"),
+            new Rule(
+                "values must be at most 255 characters",
+                "greatest(length(s.title), length(s.description), length(s.room)) > 255"
+            ),
+            new Rule(
+                "speaker_id and conference_id must be ids",
+                "nullif(trim(s.speaker_id), '') !~ '" + Rule.ID + "' or nullif(trim(s.conference_id), '') !~ '" + Rule.ID + "'"
+            ),
+            new Rule(
+                "speaker_id is an unknown speaker",
+                "nullif(trim(s.speaker_id), '') is not null " +
+                "and not exists (select 1 from speaker sp where sp.id = nullif(trim(s.speaker_id), '')::bigint)"
+            ),
+            new Rule(
+                "conference_id is an unknown conference",
+                "nullif(trim(s.conference_id), '') is not null " +
+                "and not exists (select 1 from conference c where c.id = nullif(trim(s.conference_id), '')::bigint)"
+            )
+        ),
+        null,
+        null,
+        "insert into session (id, title, description, room, speaker_id, conference_id) " +
+        "select id, title, description, room, nullif(trim(speaker_id), '')::bigint, nullif(trim(conference_id), '')::bigint " +
+        "from import_staging order by line_no",
+        null
+    );
+
+    private final Class<?> entityClass;
+
+    private final String cachedCollection;
+
+    private final String columns;
+
+    private final List<String> indexStatements;
+
+    private final List<Rule> rules;
+
+    private final String matchStatement;
+
+    private final String updateStatement;
+
+    private final String insertStatement;
+
+    private final String linkStatement;
+
+    CsvImportType(
+        Class<?> entityClass,
+        String cachedCollection,
+        String columns,
+        List<String> indexStatements,
+        List<Rule> rules,
+        String matchStatement,
+        String updateStatement,
+        String insertStatement,
+        String linkStatement
+    ) {
+        this.entityClass = entityClass;
+        this.cachedCollection = cachedCollection;
+        this.columns = columns;
+        this.indexStatements = indexStatements;
+        this.rules = rules;
+        this.matchStatement = matchStatement;
+        this.updateStatement = updateStatement;
+        this.insertStatement = insertStatement;
+        this.linkStatement = linkStatement;
+    }
+
+    /**
+     * @return the imported entity, whose second-level cache regions are evicted after an import.
+     */
+    Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * @return the collection of the entity filled by the import, {@code null} if none.
+     */
+    String getCachedCollection() {
+        return cachedCollection;
+    }
+
+    /**
+     * @return the columns expected in the CSV file, in order.
+     */
+    public String getColumns() {
+        return columns;
+    }
+
+    List<String> getIndexStatements() {
+        return indexStatements;
+    }
+
+    List<Rule> getRules() {
+        return rules;
+    }
+
+    /**
+     * @return the statement marking the staged rows matching an existing row as {@code existing}, {@code null} when
+     * every row is imported as a new one.
+     */
+    String getMatchStatement() {
+        return matchStatement;
+    }
+
+    String getUpdateStatement() {
+        return updateStatement;
+    }
+
+    String getInsertStatement() {
+        return insertStatement;
+    }
+
+    String getLinkStatement() {
+        return linkStatement;
+    }
+
+    /**
+     * A validation rule: the staged rows matching the condition, on the alias {@code s}, are rejected for the reason.
+     */
+    record Rule(String reason, String condition) {
+        static final String ID = "^\\s*\\d{1,18}\\s*$";
+
+        static final String ID_LIST = "^\\s*\\d{1,18}\\s*(\\|\\s*\\d{1,18}\\s*)*$";
+    }
+}
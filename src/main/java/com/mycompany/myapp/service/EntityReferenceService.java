@@ -0,0 +1,82 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Attendee;
+import com.mycompany.myapp.domain.Conference;
+import com.mycompany.myapp.domain.Session;
+import com.mycompany.myapp.domain.Speaker;
+import jakarta.persistence.EntityManager;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service class replacing the associations of a deserialized entity by references of the current persistence context.
+ * <p>
+ * An association sent as {@code {"id": 1}} carries no version, and Hibernate takes an entity with a {@code null} version
+ * for a new one: saving it would fail with a transient entity error. The associations are then replaced by references
+ * to their id.
+ */
+@Service
+@Transactional
+public class EntityReferenceService {
+
+    private final EntityManager entityManager;
+
+    public EntityReferenceService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Replace the speaker and the conference of a session by references.
+     *
+     * @param session the session to resolve.
+     * @return the session.
+     */
+    public Session resolve(Session session) {
+        session.setSpeaker(reference(Speaker.class, session.getSpeaker(), Speaker::getId));
+        session.setConference(reference(Conference.class, session.getConference(), Conference::getId));
+        return session;
+    }
+
+    /**
+     * Replace the sessions of an attendee by references.
+     *
+     * @param attendee the attendee to resolve.
+     * @return the attendee.
+     */
+    public Attendee resolve(Attendee attendee) {
+        attendee.setSessions(references(Session.class, attendee.getSessions(), Session::getId));
+        return attendee;
+    }
+
+    /**
+     * Replace the conferences of a speaker by references.
+     *
+     * @param speaker the speaker to resolve.
+     * @return the speaker.
+     */
+    public Speaker resolve(Speaker speaker) {
+        speaker.setConferences(references(Conference.class, speaker.getConferences(), Conference::getId));
+        return speaker;
+    }
+
+    private <E> E reference(Class<E> entityClass, E entity, Function<E, Long> idGetter) {
+        if (entity == null || idGetter.apply(entity) == null) {
+            return entity;
+        }
+        return entityManager.getReference(entityClass, idGetter.apply(entity));
+    }
+
+    private <E> Set<E> references(Class<E> entityClass, Set<E> entities, Function<E, Long> idGetter) {
+        if (entities == null) {
+            return null;
+        }
+        Set<E> references = new HashSet<>();
+        for (E entity : entities) {
+            references.add(reference(entityClass, entity, idGetter));
+        }
+        return references;
+    }
+}
@@ -0,0 +1,17 @@
+package com.mycompany.myapp.service;
+
+public class InvalidMergePatchException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String entityName;
+
+    public InvalidMergePatchException(String entityName, String message) {
+        super(message);
+        this.entityName = entityName;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+}
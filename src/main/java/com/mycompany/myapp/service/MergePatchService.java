@@ -0,0 +1,276 @@
+package com.mycompany.myapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.Cache;
+import jakarta.persistence.Column;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.postgresql.util.PSQLState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+/**
+ * Service class applying JSON merge patches (RFC 7386) to entities.
+ * <p>
+ * A patch is turned into a single SQL {@code UPDATE ... WHERE id = ? [AND version = ?]} statement, which also increments
+ * the version: neither the entity nor the entities it references are loaded, and only the patched entity is evicted from
+ * the second-level cache, where a JPQL update would evict all the entities of its type. The fields of a patch are checked
+ * against the JPA metamodel:
+ * <ul>
+ *     <li>basic attributes and to-one associations can be patched, associations being referenced as {@code {"id": 1}},
+ *     and {@code null} clears them;</li>
+ *     <li>the id must be the one of the patched entity, and the version, when set, must be the current one and the
+ *     expected one;</li>
+ *     <li>other attributes of the entity, such as collections and columns that are not updatable, are ignored, and
+ *     unknown fields are rejected.</li>
+ * </ul>
+ * Values are validated against the Bean Validation constraints of their attribute.
+ */
+@Service
+@Transactional
+public class MergePatchService {
+
+    private static final String ID_FIELD = "id";
+
+    private final Logger log = LoggerFactory.getLogger(MergePatchService.class);
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final Map<Class<?>, PatchableEntity> patchableEntities = new ConcurrentHashMap<>();
+
+    public MergePatchService(EntityManager entityManager, ObjectMapper objectMapper, Validator validator) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    /**
+     * Apply a merge patch to an entity.
+     *
+     * @param entityClass the type of the entity.
+     * @param id the id of the entity.
+     * @param patch the merge patch document.
+     * @param expectedVersion the version the entity must have, which the version of the patch must match, not checked if not set.
+     * @param <T> the type of the entity.
+     * @return the patched entity, or empty if there is no entity with this id.
+     * @throws InvalidMergePatchException if a field of the patch is unknown or its value is invalid, or if its version isn't the
+     * expected one.
+     * @throws ObjectOptimisticLockingFailureException if the entity doesn't have the expected version.
+     */
+    public <T> Optional<T> patch(Class<T> entityClass, Long id, ObjectNode patch, Long expectedVersion) {
+        log.debug("Request to patch {} : {}, {}", entityClass.getSimpleName(), id, patch);
+        PatchableEntity entity = patchableEntities.computeIfAbsent(entityClass, this::toPatchableEntity);
+        String entityName = StringUtils.uncapitalize(entityClass.getSimpleName());
+
+        Long version = expectedVersion;
+        Map<SingularAttribute<?, ?>, Object> values = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonNode> field : patch.properties()) {
+            String name = field.getKey();
+            JsonNode node = field.getValue();
+            if (name.equals(entity.id().getName())) {
+                if (!node.isNull() && !(node.canConvertToLong() && node.asLong() == id)) {
+                    throw new InvalidMergePatchException(entityName, "id must be the id of the patched entity");
+                }
+            } else if (name.equals(entity.version().getName())) {
+                if (!node.isNull()) {
+                    version = convert(entityName, entity.version(), node, Long.class);
+                    if (expectedVersion != null && !expectedVersion.equals(version)) {
+                        throw new InvalidMergePatchException(entityName, "version must be the version of the If-Match header");
+                    }
+                }
+            } else if (entity.attributes().containsKey(name)) {
+                SingularAttribute<?, ?> attribute = entity.attributes().get(name);
+                values.put(attribute, toValue(entityClass, entityName, attribute, node));
+            } else if (!entity.ignored().contains(name)) {
+                throw new InvalidMergePatchException(entityName, "Unknown field: " + name);
+            }
+        }
+
+        List<Object> parameters = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("update ").append(entity.table()).append(" set ");
+        values.forEach((attribute, value) -> {
+            sql.append(entity.columns().get(attribute)).append(" = ?, ");
+            parameters.add(toParameter(attribute, value));
+        });
+        sql.append(entity.versionColumn()).append(" = ").append(entity.versionColumn()).append(" + 1");
+        sql.append(" where ").append(entity.idColumn()).append(" = ?");
+        parameters.add(id);
+        if (version != null) {
+            sql.append(" and ").append(entity.versionColumn()).append(" = ?");
+            parameters.add(version);
+        }
+
+        // like a @Modifying(flushAutomatically = true, clearAutomatically = true) query, so no stale entity is returned
+        entityManager.flush();
+        int updated = entityManager
+            .unwrap(Session.class)
+            .doReturningWork(connection -> executeUpdate(connection, entityName, sql, parameters));
+        entityManager.clear();
+        evictAfterCompletion(entityClass, id);
+
+        T result = entityManager.find(entityClass, id);
+        if (updated == 0 && result != null) {
+            throw new ObjectOptimisticLockingFailureException(entityClass, id);
+        }
+        return Optional.ofNullable(result);
+    }
+
+    private static int executeUpdate(Connection connection, String entityName, CharSequence sql, List<Object> parameters)
+        throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            if (PSQLState.FOREIGN_KEY_VIOLATION.getState().equals(e.getSQLState())) {
+                throw new InvalidMergePatchException(entityName, "an association references an unknown entity");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Evict the patched entity from the second-level cache, which the update bypasses: right away, and again once the
+     * transaction completes, so that the entity loaded by a concurrent request before the update is committed isn't cached.
+     */
+    private void evictAfterCompletion(Class<?> entityClass, Long id) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        cache.evict(entityClass, id);
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(entityClass, id);
+                }
+            }
+        );
+    }
+
+    private <T> Object toValue(Class<T> entityClass, String entityName, SingularAttribute<?, ?> attribute, JsonNode node) {
+        Object value;
+        if (node.isNull()) {
+            value = null;
+        } else if (attribute.isAssociation()) {
+            JsonNode id = node.get(ID_FIELD);
+            if (id == null || !id.isIntegralNumber()) {
+                throw new InvalidMergePatchException(entityName, attribute.getName() + " must reference an entity by id");
+            }
+            // checked by the foreign key of the update, rather than loaded
+            value = entityManager.getReference(attribute.getJavaType(), id.asLong());
+        } else {
+            value = convert(entityName, attribute, node, attribute.getJavaType());
+        }
+        Set<ConstraintViolation<T>> violations = validator.validateValue(entityClass, attribute.getName(), value);
+        if (!violations.isEmpty()) {
+            throw new InvalidMergePatchException(
+                entityName,
+                violations.stream().map(violation -> attribute.getName() + " " + violation.getMessage()).collect(Collectors.joining(", "))
+            );
+        }
+        return value;
+    }
+
+    private Object toParameter(SingularAttribute<?, ?> attribute, Object value) {
+        if (attribute.isAssociation() && value != null) {
+            return entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(value);
+        }
+        return value;
+    }
+
+    private <V> V convert(String entityName, Attribute<?, ?> attribute, JsonNode node, Class<V> type) {
+        try {
+            return objectMapper.treeToValue(node, type);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new InvalidMergePatchException(entityName, attribute.getName() + " has an invalid value");
+        }
+    }
+
+    private PatchableEntity toPatchableEntity(Class<?> entityClass) {
+        SingularAttribute<?, ?> id = null;
+        SingularAttribute<?, ?> version = null;
+        Map<String, SingularAttribute<?, ?>> attributes = new LinkedHashMap<>();
+        Set<String> ignored = new HashSet<>();
+        for (SingularAttribute<?, ?> attribute : entityManager.getMetamodel().entity(entityClass).getSingularAttributes()) {
+            if (attribute.isId()) {
+                id = attribute;
+            } else if (attribute.isVersion()) {
+                version = attribute;
+            } else if (isUpdatable(attribute)) {
+                attributes.put(attribute.getName(), attribute);
+            } else {
+                ignored.add(attribute.getName());
+            }
+        }
+        entityManager.getMetamodel().entity(entityClass).getPluralAttributes().forEach(attribute -> ignored.add(attribute.getName()));
+        AbstractEntityPersister persister = (AbstractEntityPersister) entityManager
+            .getEntityManagerFactory()
+            .unwrap(SessionFactoryImplementor.class)
+            .getMappingMetamodel()
+            .getEntityDescriptor(entityClass);
+        Map<SingularAttribute<?, ?>, String> columns = new HashMap<>();
+        attributes.values().forEach(attribute -> columns.put(attribute, persister.getPropertyColumnNames(attribute.getName())[0]));
+        return new PatchableEntity(
+            id,
+            version,
+            attributes,
+            Set.copyOf(ignored),
+            persister.getRootTableName(),
+            persister.getIdentifierColumnNames()[0],
+            persister.getVersionColumnName(),
+            Map.copyOf(columns)
+        );
+    }
+
+    private static boolean isUpdatable(Attribute<?, ?> attribute) {
+        Column column = attribute.getJavaMember() instanceof Field field ? field.getAnnotation(Column.class) : null;
+        return column == null || column.updatable();
+    }
+
+    /**
+     * The attributes of a versioned entity, by role in a merge patch, and the columns they are mapped to.
+     */
+    private record PatchableEntity(
+        SingularAttribute<?, ?> id,
+        SingularAttribute<?, ?> version,
+        Map<String, SingularAttribute<?, ?>> attributes,
+        Set<String> ignored,
+        String table,
+        String idColumn,
+        String versionColumn,
+        Map<SingularAttribute<?, ?>, String> columns
+    ) {}
+}
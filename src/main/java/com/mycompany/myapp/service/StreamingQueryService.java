@@ -0,0 +1,83 @@
+package com.mycompany.myapp.service;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service class for streaming query results to a consumer, typically a streaming response body.
+ * <p>
+ * Results are read through a database cursor, in a read-only transaction opened by the service, as streaming response
+ * bodies are written outside of the request thread. Memory use does not depend on the number of results: projections
+ * are handed over as they are read, and entities are loaded in chunks, the persistence context being cleared after
+ * each chunk.
+ */
+@Service
+public class StreamingQueryService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public StreamingQueryService(EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Stream the results of a query.
+     *
+     * @param query the query, returning a stream backed by a database cursor.
+     * @param consumer the consumer of the results.
+     * @param <T> the type of the results, which must not be managed entities.
+     */
+    public <T> void stream(Supplier<Stream<T>> query, Consumer<T> consumer) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<T> results = query.get()) {
+                results.forEach(consumer);
+            }
+        });
+    }
+
+    /**
+     * Stream entities in chunks of {@value #CHUNK_SIZE}, for entities whose relationships are fetched with them.
+     *
+     * @param ids the query of the ids of the entities, returning a stream backed by a database cursor.
+     * @param loader the loader of the entities of a chunk of ids, in the order of the ids.
+     * @param consumer the consumer of the entities.
+     * @param <T> the type of the entities.
+     */
+    public <T> void streamInChunks(Supplier<Stream<Long>> ids, Function<List<Long>, List<T>> loader, Consumer<T> consumer) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Long> results = ids.get()) {
+                List<Long> chunk = new ArrayList<>(CHUNK_SIZE);
+                results.forEach(id -> {
+                    chunk.add(id);
+                    if (chunk.size() == CHUNK_SIZE) {
+                        writeChunk(chunk, loader, consumer);
+                    }
+                });
+                writeChunk(chunk, loader, consumer);
+            }
+        });
+    }
+
+    private <T> void writeChunk(List<Long> chunk, Function<List<Long>, List<T>> loader, Consumer<T> consumer) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        loader.apply(chunk).forEach(consumer);
+        chunk.clear();
+        entityManager.clear();
+    }
+}
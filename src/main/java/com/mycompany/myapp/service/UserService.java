@@ -7,6 +7,8 @@ import com.mycompany.myapp.repository.AuthorityRepository;
 import com.mycompany.myapp.repository.UserRepository;
 import com.mycompany.myapp.security.AuthoritiesConstants;
 import com.mycompany.myapp.security.SecurityUtils;
+import com.mycompany.myapp.security.UserCache;
+import com.mycompany.myapp.security.UserChangedEvent;
 import com.mycompany.myapp.service.dto.AdminUserDTO;
 import com.mycompany.myapp.service.dto.UserDTO;
 import java.time.Instant;
@@ -15,6 +17,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -38,10 +41,22 @@ public class UserService {
 
     private final AuthorityRepository authorityRepository;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository) {
+    private final UserCache userCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserService(
+        UserRepository userRepository,
+        PasswordEncoder passwordEncoder,
+        AuthorityRepository authorityRepository,
+        UserCache userCache,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
+        this.userCache = userCache;
+        this.eventPublisher = eventPublisher;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -52,6 +67,7 @@ public class UserService {
                 // activate given user for the registration key.
                 user.setActivated(true);
                 user.setActivationKey(null);
+                publishUserChanged(user);
                 log.debug("Activated user: {}", user);
                 return user;
             });
@@ -66,6 +82,7 @@ public class UserService {
                 user.setPassword(passwordEncoder.encode(newPassword));
                 user.setResetKey(null);
                 user.setResetDate(null);
+                publishUserChanged(user);
                 return user;
             });
     }
@@ -77,6 +94,7 @@ public class UserService {
             .map(user -> {
                 user.setResetKey(RandomUtil.generateResetKey());
                 user.setResetDate(Instant.now());
+                publishUserChanged(user);
                 return user;
             });
     }
@@ -128,6 +146,7 @@ public class UserService {
         }
         userRepository.delete(existingUser);
         userRepository.flush();
+        publishUserChanged(existingUser);
         return true;
     }
 
@@ -195,6 +214,7 @@ public class UserService {
                     .map(Optional::get)
                     .forEach(managedAuthorities::add);
                 userRepository.save(user);
+                publishUserChanged(user);
                 log.debug("Changed Information for User: {}", user);
                 return user;
             })
@@ -206,6 +226,7 @@ public class UserService {
             .findOneByLogin(login)
             .ifPresent(user -> {
                 userRepository.delete(user);
+                publishUserChanged(user);
                 log.debug("Deleted User: {}", user);
             });
     }
@@ -231,6 +252,7 @@ public class UserService {
                 user.setLangKey(langKey);
                 user.setImageUrl(imageUrl);
                 userRepository.save(user);
+                publishUserChanged(user);
                 log.debug("Changed Information for User: {}", user);
             });
     }
@@ -246,6 +268,7 @@ public class UserService {
                 }
                 String encryptedPassword = passwordEncoder.encode(newPassword);
                 user.setPassword(encryptedPassword);
+                publishUserChanged(user);
                 log.debug("Changed password for User: {}", user);
             });
     }
@@ -265,9 +288,15 @@ public class UserService {
         return userRepository.findOneWithAuthoritiesByLogin(login);
     }
 
+    /**
+     * Get the current user with its authorities, from the {@link UserCache}: the cached user is shared by all the requests,
+     * it's returned as a copy.
+     *
+     * @return the current user.
+     */
     @Transactional(readOnly = true)
-    public Optional<User> getUserWithAuthorities() {
-        return SecurityUtils.getCurrentUserLogin().flatMap(userRepository::findOneWithAuthoritiesByLogin);
+    public Optional<AdminUserDTO> getUserWithAuthorities() {
+        return SecurityUtils.getCurrentUserLogin().flatMap(userCache::findOneWithAuthoritiesByLogin).map(AdminUserDTO::new);
     }
 
     /**
@@ -282,9 +311,14 @@ public class UserService {
             .forEach(user -> {
                 log.debug("Deleting not activated user {}", user.getLogin());
                 userRepository.delete(user);
+                publishUserChanged(user);
             });
     }
 
+    private void publishUserChanged(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
+    }
+
     /**
      * Gets a list of all the authorities.
      * @return a list of all the authorities.
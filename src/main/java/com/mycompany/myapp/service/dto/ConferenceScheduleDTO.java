@@ -0,0 +1,40 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.repository.projection.ConferenceSummary;
+import com.mycompany.myapp.repository.projection.ScheduledSession;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A DTO representing the schedule of a conference: the conference and its sessions, ordered by room and title.
+ */
+public class ConferenceScheduleDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ConferenceSummary conference;
+
+    private final List<ScheduledSession> sessions;
+
+    public ConferenceScheduleDTO(ConferenceSummary conference, List<ScheduledSession> sessions) {
+        this.conference = conference;
+        this.sessions = sessions;
+    }
+
+    public ConferenceSummary getConference() {
+        return conference;
+    }
+
+    public List<ScheduledSession> getSessions() {
+        return sessions;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ConferenceScheduleDTO{" +
+            "conference=" + conference +
+            ", sessions=" + sessions.size() +
+            "}";
+    }
+}
@@ -0,0 +1,173 @@
+package com.mycompany.myapp.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A DTO representing the progress, or the outcome, of a CSV import.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CsvImportDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED,
+    }
+
+    private String id;
+
+    private String type;
+
+    private Status status;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    private long bytesRead;
+
+    private long rowsRead;
+
+    private long rowsCreated;
+
+    private long rowsUpdated;
+
+    private long rowsRejected;
+
+    private List<RejectedRow> rejectedRows;
+
+    private String error;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public void setBytesRead(long bytesRead) {
+        this.bytesRead = bytesRead;
+    }
+
+    /**
+     * @return the number of data rows read so far, the header excluded.
+     */
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsCreated() {
+        return rowsCreated;
+    }
+
+    public void setRowsCreated(long rowsCreated) {
+        this.rowsCreated = rowsCreated;
+    }
+
+    public long getRowsUpdated() {
+        return rowsUpdated;
+    }
+
+    public void setRowsUpdated(long rowsUpdated) {
+        this.rowsUpdated = rowsUpdated;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public void setRowsRejected(long rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    /**
+     * @return the first rejected rows, at most {@code CsvImportService.MAX_REPORTED_REJECTED_ROWS} of them.
+     */
+    public List<RejectedRow> getRejectedRows() {
+        return rejectedRows;
+    }
+
+    public void setRejectedRows(List<RejectedRow> rejectedRows) {
+        this.rejectedRows = rejectedRows;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CsvImportDTO{" +
+            "id='" + id + "'" +
+            ", type='" + type + "'" +
+            ", status=" + status +
+            ", startedAt=" + startedAt +
+            ", finishedAt=" + finishedAt +
+            ", bytesRead=" + bytesRead +
+            ", rowsRead=" + rowsRead +
+            ", rowsCreated=" + rowsCreated +
+            ", rowsUpdated=" + rowsUpdated +
+            ", rowsRejected=" + rowsRejected +
+            ", error='" + error + "'" +
+            "}";
+    }
+
+    /**
+     * A row rejected by the import.
+     *
+     * @param row the number of the row in the file, the header excluded.
+     * @param reason why the row was rejected.
+     */
+    public record RejectedRow(long row, String reason) implements Serializable {}
+}
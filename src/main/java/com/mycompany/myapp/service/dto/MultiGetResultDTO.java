@@ -0,0 +1,41 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A DTO representing the outcome of a multi-get request: the entities that were found, in the order of the requested
+ * ids, and the requested ids that don't exist.
+ *
+ * @param <T> the type of the entities.
+ */
+public class MultiGetResultDTO<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<T> found;
+
+    private final List<Long> missing;
+
+    public MultiGetResultDTO(List<T> found, List<Long> missing) {
+        this.found = found;
+        this.missing = missing;
+    }
+
+    public List<T> getFound() {
+        return found;
+    }
+
+    public List<Long> getMissing() {
+        return missing;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "MultiGetResultDTO{" +
+            "found=" + found.size() +
+            ", missing=" + missing +
+            "}";
+    }
+}
@@ -0,0 +1,123 @@
+package com.mycompany.myapp.web.filter;
+
+import com.mycompany.myapp.management.QueryCount;
+import com.mycompany.myapp.management.QueryMetersService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the SQL statements executed by each request, to detect N+1 selects.
+ * <p>
+ * The number of statements and the time spent executing them are recorded by {@link QueryMetersService}, tagged by
+ * endpoint. Requests executing more statements than the threshold are logged as a warning. When enabled, the number of
+ * statements executed until the response body is written is sent in the {@value #QUERY_COUNT_HEADER} header.
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final Logger log = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private final QueryMetersService queryMetersService;
+
+    private final int warnThreshold;
+
+    private final boolean header;
+
+    public QueryCountFilter(QueryMetersService queryMetersService, int warnThreshold, boolean header) {
+        this.queryMetersService = queryMetersService;
+        this.warnThreshold = warnThreshold;
+        this.header = header;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        QueryCount queryCount = QueryCount.start();
+        try {
+            filterChain.doFilter(request, header ? new QueryCountHeaderResponse(response, queryCount) : response);
+        } finally {
+            QueryCount.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+            queryMetersService.trackRequest(request.getMethod(), uri, queryCount);
+            if (queryCount.getStatements() > warnThreshold) {
+                log.warn(
+                    "{} {} executed {} SQL statements in {} ms, above the threshold of {}: check for N+1 selects",
+                    request.getMethod(),
+                    uri,
+                    queryCount.getStatements(),
+                    queryCount.getJdbcTime().toMillis(),
+                    warnThreshold
+                );
+            }
+        }
+    }
+
+    /**
+     * Sets the header just before the response body is written, as the response can be committed from then on.
+     */
+    private static class QueryCountHeaderResponse extends HttpServletResponseWrapper {
+
+        private final QueryCount queryCount;
+
+        QueryCountHeaderResponse(HttpServletResponse response, QueryCount queryCount) {
+            super(response);
+            this.queryCount = queryCount;
+        }
+
+        private void setQueryCountHeader() {
+            if (!isCommitted()) {
+                setHeader(QUERY_COUNT_HEADER, Integer.toString(queryCount.getStatements()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            setQueryCountHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            setQueryCountHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            setQueryCountHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            setQueryCountHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            setQueryCountHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            setQueryCountHeader();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.mycompany.myapp.web.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Caches the serialized JSON responses of frequently read endpoints, which change rarely.
+ * <p>
+ * The responses of {@code GET} requests to the cached endpoints are stored as encoded bytes, with their content type and
+ * {@code ETag}, keyed by endpoint, query parameters, {@code Accept} header and authorities of the user. The cache is bounded
+ * by the total size of the bodies. A request to an endpoint whose response is cached is answered without calling the
+ * controller, with status {@code 304 (Not Modified)} if its {@code If-None-Match} header matches.
+ * <p>
+ * Every other request whose path matches one of the {@code invalidatedBy} patterns of an endpoint evicts all its responses
+ * once it has completed, if its status is successful: a request answered with an error status changed nothing. Each
+ * endpoint has a generation, incremented by each eviction, so that a response read before a concurrent write is not stored
+ * after its eviction. Writes bypassing the API aren't seen, so responses also expire after a time to live.
+ * <p>
+ * Hits, misses and evictions are recorded as {@code cache.*} meters tagged {@code cache=}{@value #CACHE_NAME}, along with
+ * the hit ratio and the size of the cached bodies in bytes.
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    public static final String CACHE_NAME = "responses";
+
+    public static final String HIT_RATIO_METER_NAME = "cache.hit.ratio";
+
+    public static final String WEIGHTED_SIZE_METER_NAME = "cache.weighted.size";
+
+    private static final String ANONYMOUS = "anonymous";
+
+    private final Logger log = LoggerFactory.getLogger(ResponseCacheFilter.class);
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    private final Map<String, List<String>> endpoints;
+
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final Cache<Key, CachedResponse> cache;
+
+    /**
+     * @param endpoints the paths of the cached endpoints, with the patterns of the paths whose requests evict their responses.
+     * @param maxBytes the maximum total size of the cached bodies.
+     * @param timeToLive the time after which a response is evicted, even without a matching request.
+     * @param meterRegistry the registry of the cache meters.
+     */
+    public ResponseCacheFilter(Map<String, List<String>> endpoints, long maxBytes, Duration timeToLive, MeterRegistry meterRegistry) {
+        this.endpoints = Map.copyOf(endpoints);
+        this.endpoints.keySet().forEach(endpoint -> generations.put(endpoint, new AtomicLong()));
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((Key key, CachedResponse response) -> key.weight() + response.body().length)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder(HIT_RATIO_METER_NAME, cache, c -> c.stats().hitRate())
+            .tag("cache", CACHE_NAME)
+            .description("The ratio of cache requests which were hits")
+            .register(meterRegistry);
+        Gauge.builder(WEIGHTED_SIZE_METER_NAME, cache, c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0)).orElse(0L))
+            .tag("cache", CACHE_NAME)
+            .baseUnit("bytes")
+            .description("The total size of the cached response bodies")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            if (HttpMethod.HEAD.matches(request.getMethod()) || HttpMethod.OPTIONS.matches(request.getMethod())) {
+                return;
+            }
+            if (request.isAsyncStarted()) {
+                // a streamed response writes until its async processing completes
+                request.getAsyncContext().addListener(new InvalidatingAsyncListener(path, response));
+            } else {
+                invalidateIfSuccessful(path, response);
+            }
+            return;
+        }
+        if (!endpoints.containsKey(path) || isStreamed(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Key key = new Key(path, variant(request));
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            write(cached, request, response);
+            return;
+        }
+
+        long generation = generations.get(path).get();
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            if (responseWrapper.getStatus() == HttpStatus.OK.value() && !request.isAsyncStarted()) {
+                store(key, generation, responseWrapper);
+            }
+        } finally {
+            if (!request.isAsyncStarted()) {
+                responseWrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    /**
+     * Evict all the cached responses.
+     */
+    public void invalidateAll() {
+        endpoints.keySet().forEach(this::invalidateEndpoint);
+    }
+
+    private void invalidateIfSuccessful(String path, HttpServletResponse response) {
+        // a failed request changed nothing
+        if (HttpStatusCode.valueOf(response.getStatus()).is2xxSuccessful()) {
+            invalidate(path);
+        }
+    }
+
+    private void invalidate(String path) {
+        endpoints.forEach((endpoint, invalidatedBy) -> {
+            if (invalidatedBy.stream().anyMatch(pattern -> pathMatcher.match(pattern, path))) {
+                invalidateEndpoint(endpoint);
+            }
+        });
+    }
+
+    private void invalidateEndpoint(String endpoint) {
+        generations.get(endpoint).incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.endpoint().equals(endpoint));
+        log.debug("Evicted the cached responses of {}", endpoint);
+    }
+
+    private void store(Key key, long generation, ContentCachingResponseWrapper responseWrapper) {
+        CachedResponse response = new CachedResponse(
+            responseWrapper.getContentType(),
+            responseWrapper.getHeader(HttpHeaders.ETAG),
+            responseWrapper.getContentAsByteArray()
+        );
+        cache.put(key, response);
+        // an eviction since the request started may have been missed
+        if (generations.get(key.endpoint()).get() != generation) {
+            cache.asMap().remove(key, response);
+        }
+    }
+
+    private void write(CachedResponse cached, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (cached.eTag() != null && new ServletWebRequest(request, response).checkNotModified(cached.eTag())) {
+            return;
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(cached.contentType());
+        if (cached.eTag() != null) {
+            response.setHeader(HttpHeaders.ETAG, cached.eTag());
+        }
+        response.setContentLength(cached.body().length);
+        response.getOutputStream().write(cached.body());
+    }
+
+    private static boolean isStreamed(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE);
+    }
+
+    private static String variant(HttpServletRequest request) {
+        String parameters = new TreeMap<>(request.getParameterMap()).entrySet()
+            .stream()
+            .map(parameter -> parameter.getKey() + "=" + String.join(",", parameter.getValue()))
+            .collect(Collectors.joining("&"));
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String authorities = authentication == null
+            ? ANONYMOUS
+            : authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).sorted().collect(Collectors.joining(","));
+        return parameters + "|" + request.getHeader(HttpHeaders.ACCEPT) + "|" + authorities;
+    }
+
+    private final class InvalidatingAsyncListener implements AsyncListener {
+
+        private final String path;
+
+        private final HttpServletResponse response;
+
+        private InvalidatingAsyncListener(String path, HttpServletResponse response) {
+            this.path = path;
+            this.response = response;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            invalidateIfSuccessful(path, response);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {}
+
+        @Override
+        public void onError(AsyncEvent event) {}
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {}
+    }
+
+    private record Key(String endpoint, String variant) {
+        int weight() {
+            return endpoint.length() + variant.length();
+        }
+    }
+
+    private record CachedResponse(String contentType, String eTag, byte[] body) {}
+}
@@ -1,22 +1,52 @@
 package com.mycompany.myapp.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.domain.Attendee;
+import com.mycompany.myapp.domain.Session;
 import com.mycompany.myapp.repository.AttendeeRepository;
+import com.mycompany.myapp.repository.SparseFieldsRepository;
+import com.mycompany.myapp.repository.projection.AttendeeExport;
+import com.mycompany.myapp.service.AttendeeExportService;
+import com.mycompany.myapp.service.BulkService;
+import com.mycompany.myapp.service.EntityReferenceService;
+import com.mycompany.myapp.service.MergePatchService;
+import com.mycompany.myapp.service.StreamingQueryService;
+import com.mycompany.myapp.service.dto.BulkItemResultDTO;
+import com.mycompany.myapp.service.dto.MultiGetResultDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.CsvUtil;
+import com.mycompany.myapp.web.rest.util.ETagUtil;
+import com.mycompany.myapp.web.rest.util.KeysetPaginationUtil;
+import com.mycompany.myapp.web.rest.util.MultiGetUtil;
+import com.mycompany.myapp.web.rest.util.NdjsonUtil;
+import com.mycompany.myapp.web.rest.util.SparseFieldsUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -34,13 +64,49 @@ public class AttendeeResource {
 
     private static final String ENTITY_NAME = "attendee";
 
+    private static final List<String> EXPORT_COLUMNS = List.of("first_name", "last_name", "email", "telephone", "session_ids");
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final AttendeeRepository attendeeRepository;
 
-    public AttendeeResource(AttendeeRepository attendeeRepository) {
+    private final SparseFieldsRepository sparseFieldsRepository;
+
+    private final MergePatchService mergePatchService;
+
+    private final EntityReferenceService entityReferenceService;
+
+    private final BulkService bulkService;
+
+    private final ObjectMapper objectMapper;
+
+    private final int maxIds;
+
+    private final AttendeeExportService attendeeExportService;
+
+    private final StreamingQueryService streamingQueryService;
+
+    public AttendeeResource(
+        AttendeeRepository attendeeRepository,
+        SparseFieldsRepository sparseFieldsRepository,
+        MergePatchService mergePatchService,
+        EntityReferenceService entityReferenceService,
+        BulkService bulkService,
+        AttendeeExportService attendeeExportService,
+        StreamingQueryService streamingQueryService,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
         this.attendeeRepository = attendeeRepository;
+        this.sparseFieldsRepository = sparseFieldsRepository;
+        this.mergePatchService = mergePatchService;
+        this.entityReferenceService = entityReferenceService;
+        this.bulkService = bulkService;
+        this.attendeeExportService = attendeeExportService;
+        this.streamingQueryService = streamingQueryService;
+        this.objectMapper = objectMapper;
+        this.maxIds = applicationProperties.getMultiGet().getMaxIds();
     }
 
     /**
@@ -56,25 +122,88 @@ public class AttendeeResource {
         if (attendee.getId() != null) {
             throw new BadRequestAlertException("A new attendee cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        attendee = attendeeRepository.save(attendee);
+        attendee = attendeeRepository.save(entityReferenceService.resolve(attendee));
         return ResponseEntity.created(new URI("/api/attendees/" + attendee.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, attendee.getId().toString()))
             .body(attendee);
     }
 
+    /**
+     * {@code POST  /attendees/bulk} : Create or update attendees in bulk.
+     * <p>
+     * Attendees without id are created, the others are updated. The result of each attendee is streamed back as one line of
+     * newline delimited JSON.
+     *
+     * @param attendees the attendees to create or update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the result of each attendee in body.
+     */
+    @PostMapping(value = "/bulk", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<StreamingResponseBody> bulkSaveAttendees(@RequestBody List<Attendee> attendees) {
+        log.debug("REST request to save {} Attendees in bulk", attendees.size());
+        StreamingResponseBody body = NdjsonUtil.stream(objectMapper, BulkItemResultDTO.class, results ->
+            bulkService.saveAttendees(attendees, results)
+        );
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * {@code GET  /attendees/export} : Export the attendees as CSV, with the columns expected by the CSV import.
+     *
+     * @param conferenceId the id of the conference whose attendees are exported, all the attendees if not set.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the attendees in body.
+     */
+    @GetMapping(value = "/export", produces = CsvUtil.TEXT_CSV_VALUE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<StreamingResponseBody> exportAttendeesAsCsv(
+        @RequestParam(name = "conferenceId", required = false) Long conferenceId
+    ) {
+        log.debug("REST request to export Attendees as CSV, conference : {}", conferenceId);
+        StreamingResponseBody body = CsvUtil.<AttendeeExport>stream(
+            EXPORT_COLUMNS,
+            a -> Arrays.asList(a.firstName(), a.lastName(), a.email(), a.telephone(), a.sessionIds()),
+            attendees -> attendeeExportService.exportAttendees(conferenceId, attendees)
+        );
+        return ResponseEntity.ok()
+            .contentType(CsvUtil.TEXT_CSV)
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("attendees.csv").build().toString())
+            .body(body);
+    }
+
+    /**
+     * {@code GET  /attendees/export} : Export the attendees as newline delimited JSON.
+     *
+     * @param conferenceId the id of the conference whose attendees are exported, all the attendees if not set.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the attendees in body.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<StreamingResponseBody> exportAttendeesAsNdjson(
+        @RequestParam(name = "conferenceId", required = false) Long conferenceId
+    ) {
+        log.debug("REST request to export Attendees as NDJSON, conference : {}", conferenceId);
+        StreamingResponseBody body = NdjsonUtil.stream(objectMapper, AttendeeExport.class, attendees ->
+            attendeeExportService.exportAttendees(conferenceId, attendees)
+        );
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     /**
      * {@code PUT  /attendees/:id} : Updates an existing attendee.
      *
      * @param id the id of the attendee to save.
+     * @param ifMatch the entity tags the attendee must match, if any.
      * @param attendee the attendee to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated attendee,
      * or with status {@code 400 (Bad Request)} if the attendee is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the attendee doesn't match the {@code If-Match} header,
      * or with status {@code 500 (Internal Server Error)} if the attendee couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<Attendee> updateAttendee(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody Attendee attendee
     ) throws URISyntaxException {
         log.debug("REST request to update Attendee : {}, {}", id, attendee);
@@ -85,68 +214,56 @@ public class AttendeeResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!attendeeRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long currentVersion = attendeeRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        ETagUtil.checkIfMatch(ifMatch, ETagUtil.entityTag(ENTITY_NAME, id, currentVersion), ENTITY_NAME);
+        if (attendee.getVersion() == null) {
+            // the last write wins for clients which don't send the version
+            attendee.setVersion(currentVersion);
         }
 
-        attendee = attendeeRepository.save(attendee);
+        attendee = attendeeRepository.saveAndFlush(entityReferenceService.resolve(attendee));
         return ResponseEntity.ok()
+            .eTag(ETagUtil.entityTag(ENTITY_NAME, id, attendee.getVersion()))
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, attendee.getId().toString()))
             .body(attendee);
     }
 
     /**
-     * {@code PATCH  /attendees/:id} : Partial updates given fields of an existing attendee, field will ignore if it is null
+     * {@code PATCH  /attendees/:id} : Partial updates given fields of an existing attendee, with a JSON merge patch: fields
+     * set to {@code null} are cleared, and missing fields are left unchanged.
      *
      * @param id the id of the attendee to save.
-     * @param attendee the attendee to update.
+     * @param ifMatch the entity tags the attendee must match, if any.
+     * @param patch the merge patch of the attendee.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated attendee,
-     * or with status {@code 400 (Bad Request)} if the attendee is not valid,
-     * or with status {@code 404 (Not Found)} if the attendee is not found,
-     * or with status {@code 500 (Internal Server Error)} if the attendee couldn't be updated.
-     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     * or with status {@code 400 (Bad Request)} if the patch is not valid or the attendee is not found,
+     * or with status {@code 409 (Conflict)} if the version of the patch is not the current one,
+     * or with status {@code 412 (Precondition Failed)} if the attendee doesn't match the {@code If-Match} header.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Attendee> partialUpdateAttendee(
         @PathVariable(value = "id", required = false) final Long id,
-        @RequestBody Attendee attendee
-    ) throws URISyntaxException {
-        log.debug("REST request to partial update Attendee partially : {}, {}", id, attendee);
-        if (attendee.getId() == null) {
-            throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
-        }
-        if (!Objects.equals(id, attendee.getId())) {
-            throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
-        }
-
-        if (!attendeeRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody ObjectNode patch
+    ) {
+        log.debug("REST request to partial update Attendee partially : {}, {}", id, patch);
+        Long expectedVersion = null;
+        if (ifMatch != null) {
+            expectedVersion = attendeeRepository
+                .findVersionById(id)
+                .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+            ETagUtil.checkIfMatch(ifMatch, ETagUtil.entityTag(ENTITY_NAME, id, expectedVersion), ENTITY_NAME);
         }
 
-        Optional<Attendee> result = attendeeRepository
-            .findById(attendee.getId())
-            .map(existingAttendee -> {
-                if (attendee.getFirstName() != null) {
-                    existingAttendee.setFirstName(attendee.getFirstName());
-                }
-                if (attendee.getLastName() != null) {
-                    existingAttendee.setLastName(attendee.getLastName());
-                }
-                if (attendee.getEmail() != null) {
-                    existingAttendee.setEmail(attendee.getEmail());
-                }
-                if (attendee.getTelephone() != null) {
-                    existingAttendee.setTelephone(attendee.getTelephone());
-                }
-
-                return existingAttendee;
-            })
-            .map(attendeeRepository::save);
-
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, attendee.getId().toString())
-        );
+        Attendee result = mergePatchService
+            .patch(Attendee.class, id, patch, expectedVersion)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity.ok()
+            .eTag(ETagUtil.entityTag(ENTITY_NAME, id, result.getVersion()))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id.toString()))
+            .body(result);
     }
 
     /**
@@ -154,13 +271,39 @@ public class AttendeeResource {
      *
      * @param pageable the pagination information.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param after the keyset pagination cursor, switches to keyset pagination (ordered by id, without total count) when present.
+     * @param webRequest the request, whose {@code If-None-Match} header is checked against the version of the attendees returned.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of attendees in body.
      */
     @GetMapping("")
+    @Transactional(readOnly = true)
     public ResponseEntity<List<Attendee>> getAllAttendees(
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        WebRequest webRequest
     ) {
+        if (after != null) {
+            log.debug("REST request to get a window of Attendees after : {}", after);
+            KeysetScrollPosition position = KeysetPaginationUtil.decodeCursor(after).orElseThrow(
+                () -> new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid")
+            );
+            Limit limit = Limit.of(pageable.getPageSize());
+            Window<Attendee> window;
+            if (eagerload) {
+                window = attendeeRepository.findAllWithEagerRelationships(position, limit);
+            } else {
+                window = attendeeRepository.findAllByOrderByIdAsc(position, limit);
+            }
+            if (webRequest.checkNotModified(ETagUtil.collectionTag(ENTITY_NAME, window, AttendeeResource::rowVersion))) {
+                return null;
+            }
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                window
+            );
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
         log.debug("REST request to get a page of Attendees");
         Page<Attendee> page;
         if (eagerload) {
@@ -168,23 +311,155 @@ public class AttendeeResource {
         } else {
             page = attendeeRepository.findAll(pageable);
         }
+        if (webRequest.checkNotModified(ETagUtil.collectionTag(ENTITY_NAME, page, AttendeeResource::rowVersion))) {
+            return null;
+        }
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /attendees} : get all the attendees, as newline delimited JSON.
+     * <p>
+     * The attendees are streamed from a database cursor while they are written, one per line, so memory use doesn't depend on their number.
+     * Unlike the JSON list, all the attendees are written: there are no pages. Their sessions are fetched for a chunk of
+     * attendees at a time.
+     *
+     * @param sort the order of the attendees, by id if not set.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the attendees in body.
+     */
+    @GetMapping(value = "", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<StreamingResponseBody> streamAllAttendees(Sort sort) {
+        log.debug("REST request to stream all Attendees");
+        Sort order = sort.and(Sort.by("id"));
+        StreamingResponseBody body = NdjsonUtil.stream(objectMapper, Attendee.class, attendees ->
+            streamingQueryService.streamInChunks(
+                () -> attendeeRepository.streamAllIds(order),
+                ids -> attendeeRepository.findAllWithEagerRelationships(ids, order),
+                attendees
+            )
+        );
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * {@code GET  /attendees?fields=} : get the requested fields of all the attendees.
+     *
+     * @param fields the fields to return, separated by commas.
+     * @param pageable the pagination information.
+     * @param after the keyset pagination cursor, switches to keyset pagination (ordered by id, without total count) when present.
+     * @param webRequest the request, whose {@code If-None-Match} header is checked against the version of the attendees returned.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the requested fields of the attendees in body,
+     * or with status {@code 400 (Bad Request)} if a field can't be requested.
+     */
+    @GetMapping(value = "", params = { SparseFieldsUtil.FIELDS_PARAMETER, "!" + MultiGetUtil.IDS_PARAMETER })
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<Map<String, Object>>> getAllAttendeesFields(
+        @RequestParam(SparseFieldsUtil.FIELDS_PARAMETER) String fields,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        WebRequest webRequest
+    ) {
+        List<String> selection = SparseFieldsUtil.parseFields(
+            fields,
+            sparseFieldsRepository.getSelectableFields(Attendee.class),
+            ENTITY_NAME
+        );
+        if (after != null) {
+            log.debug("REST request to get fields {} of a window of Attendees after : {}", selection, after);
+            KeysetScrollPosition position = KeysetPaginationUtil.decodeCursor(after).orElseThrow(
+                () -> new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid")
+            );
+            Window<Map<String, Object>> window = sparseFieldsRepository.findAll(
+                Attendee.class,
+                selection,
+                position,
+                Limit.of(pageable.getPageSize())
+            );
+            if (webRequest.checkNotModified(ETagUtil.collectionTag(ENTITY_NAME, window, ETagUtil::fieldsVersion))) {
+                return null;
+            }
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                window
+            );
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
+        log.debug("REST request to get fields {} of a page of Attendees", selection);
+        Page<Map<String, Object>> page = sparseFieldsRepository.findAll(Attendee.class, selection, pageable);
+        if (webRequest.checkNotModified(ETagUtil.collectionTag(ENTITY_NAME, page, ETagUtil::fieldsVersion))) {
+            return null;
+        }
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /attendees?ids=} : get the attendees with the given ids with their sessions.
+     *
+     * @param ids the ids of the attendees, separated by commas.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the attendees found and the missing ids,
+     * or with status {@code 400 (Bad Request)} if there are too many ids.
+     */
+    @GetMapping(value = "", params = MultiGetUtil.IDS_PARAMETER)
+    @Transactional(readOnly = true)
+    public ResponseEntity<MultiGetResultDTO<Attendee>> getAttendees(@RequestParam(MultiGetUtil.IDS_PARAMETER) List<Long> ids) {
+        log.debug("REST request to get Attendees : {}", ids);
+        return ResponseEntity.ok(
+            MultiGetUtil.resolve(
+                ids,
+                maxIds,
+                ENTITY_NAME,
+                batch -> attendeeRepository.findAllWithEagerRelationships(batch, Sort.by("id")),
+                Attendee::getId
+            )
+        );
+    }
+
     /**
      * {@code GET  /attendees/:id} : get the "id" attendee.
      *
      * @param id the id of the attendee to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the attendee, or with status {@code 404 (Not Found)}.
+     * @param webRequest the request, whose {@code If-None-Match} header is checked against the version of the attendee.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the attendee,
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} header,
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Attendee> getAttendee(@PathVariable("id") Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<Attendee> getAttendee(@PathVariable("id") Long id, WebRequest webRequest) {
         log.debug("REST request to get Attendee : {}", id);
         Optional<Attendee> attendee = attendeeRepository.findOneWithEagerRelationships(id);
+        if (attendee.isPresent() && webRequest.checkNotModified(ETagUtil.entityTag(ENTITY_NAME, id, attendee.get().getVersion()))) {
+            return null;
+        }
         return ResponseUtil.wrapOrNotFound(attendee);
     }
 
+    /**
+     * {@code GET  /attendees/:id?fields=} : get the requested fields of the "id" attendee.
+     *
+     * @param id the id of the attendee to retrieve.
+     * @param fields the fields to return, separated by commas.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the requested fields of the attendee,
+     * or with status {@code 400 (Bad Request)} if a field can't be requested, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping(value = "/{id}", params = SparseFieldsUtil.FIELDS_PARAMETER)
+    @Transactional(readOnly = true)
+    public ResponseEntity<Map<String, Object>> getAttendeeFields(
+        @PathVariable("id") Long id,
+        @RequestParam(SparseFieldsUtil.FIELDS_PARAMETER) String fields
+    ) {
+        log.debug("REST request to get fields {} of Attendee : {}", fields, id);
+        List<String> selection = SparseFieldsUtil.parseFields(
+            fields,
+            sparseFieldsRepository.getSelectableFields(Attendee.class),
+            ENTITY_NAME
+        );
+        return ResponseUtil.wrapOrNotFound(sparseFieldsRepository.findById(Attendee.class, selection, id));
+    }
+
     /**
      * {@code DELETE  /attendees/:id} : delete the "id" attendee.
      *
@@ -199,4 +474,16 @@ public class AttendeeResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * @param attendee an attendee returned in a list.
+     * @return the version of the attendee, including the versions of its sessions when they are embedded.
+     */
+    private static String rowVersion(Attendee attendee) {
+        return ETagUtil.rowVersion(
+            attendee.getId(),
+            attendee.getVersion(),
+            ETagUtil.relatedVersions(attendee.getSessions(), Session::getId, Session::getVersion)
+        );
+    }
 }
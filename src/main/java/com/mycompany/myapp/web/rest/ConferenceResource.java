@@ -1,21 +1,44 @@
 package com.mycompany.myapp.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.domain.Conference;
 import com.mycompany.myapp.repository.ConferenceRepository;
+import com.mycompany.myapp.repository.SessionRepository;
+import com.mycompany.myapp.repository.SparseFieldsRepository;
+import com.mycompany.myapp.repository.projection.ConferenceSummary;
+import com.mycompany.myapp.repository.projection.ScheduleVersion;
+import com.mycompany.myapp.service.MergePatchService;
+import com.mycompany.myapp.service.StreamingQueryService;
+import com.mycompany.myapp.service.dto.ConferenceScheduleDTO;
+import com.mycompany.myapp.service.dto.MultiGetResultDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.ETagUtil;
+import com.mycompany.myapp.web.rest.util.MultiGetUtil;
+import com.mycompany.myapp.web.rest.util.NdjsonUtil;
+import com.mycompany.myapp.web.rest.util.SparseFieldsUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -36,8 +59,34 @@ public class ConferenceResource {
 
     private final ConferenceRepository conferenceRepository;
 
-    public ConferenceResource(ConferenceRepository conferenceRepository) {
+    private final SessionRepository sessionRepository;
+
+    private final SparseFieldsRepository sparseFieldsRepository;
+
+    private final MergePatchService mergePatchService;
+
+    private final StreamingQueryService streamingQueryService;
+
+    private final ObjectMapper objectMapper;
+
+    private final int maxIds;
+
+    public ConferenceResource(
+        ConferenceRepository conferenceRepository,
+        SessionRepository sessionRepository,
+        SparseFieldsRepository sparseFieldsRepository,
+        MergePatchService mergePatchService,
+        StreamingQueryService streamingQueryService,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
         this.conferenceRepository = conferenceRepository;
+        this.sessionRepository = sessionRepository;
+        this.sparseFieldsRepository = sparseFieldsRepository;
+        this.mergePatchService = mergePatchService;
+        this.streamingQueryService = streamingQueryService;
+        this.objectMapper = objectMapper;
+        this.maxIds = applicationProperties.getMultiGet().getMaxIds();
     }
 
     /**
@@ -63,15 +112,18 @@ public class ConferenceResource {
      * {@code PUT  /conferences/:id} : Updates an existing conference.
      *
      * @param id the id of the conference to save.
+     * @param ifMatch the entity tags the conference must match, if any.
      * @param conference the conference to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated conference,
      * or with status {@code 400 (Bad Request)} if the conference is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the conference doesn't match the {@code If-Match} header,
      * or with status {@code 500 (Internal Server Error)} if the conference couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<Conference> updateConference(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody Conference conference
     ) throws URISyntaxException {
         log.debug("REST request to update Conference : {}, {}", id, conference);
@@ -82,94 +134,206 @@ public class ConferenceResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!conferenceRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long currentVersion = conferenceRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        ETagUtil.checkIfMatch(ifMatch, ETagUtil.entityTag(ENTITY_NAME, id, currentVersion), ENTITY_NAME);
+        if (conference.getVersion() == null) {
+            // the last write wins for clients which don't send the version
+            conference.setVersion(currentVersion);
         }
 
-        conference = conferenceRepository.save(conference);
+        conference = conferenceRepository.saveAndFlush(conference);
         return ResponseEntity.ok()
+            .eTag(ETagUtil.entityTag(ENTITY_NAME, id, conference.getVersion()))
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, conference.getId().toString()))
             .body(conference);
     }
 
     /**
-     * {@code PATCH  /conferences/:id} : Partial updates given fields of an existing conference, field will ignore if it is null
+     * {@code PATCH  /conferences/:id} : Partial updates given fields of an existing conference, with a JSON merge patch: fields
+     * set to {@code null} are cleared, and missing fields are left unchanged.
      *
      * @param id the id of the conference to save.
-     * @param conference the conference to update.
+     * @param ifMatch the entity tags the conference must match, if any.
+     * @param patch the merge patch of the conference.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated conference,
-     * or with status {@code 400 (Bad Request)} if the conference is not valid,
-     * or with status {@code 404 (Not Found)} if the conference is not found,
-     * or with status {@code 500 (Internal Server Error)} if the conference couldn't be updated.
-     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     * or with status {@code 400 (Bad Request)} if the patch is not valid or the conference is not found,
+     * or with status {@code 409 (Conflict)} if the version of the patch is not the current one,
+     * or with status {@code 412 (Precondition Failed)} if the conference doesn't match the {@code If-Match} header.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Conference> partialUpdateConference(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody Conference conference
-    ) throws URISyntaxException {
-        log.debug("REST request to partial update Conference partially : {}, {}", id, conference);
-        if (conference.getId() == null) {
-            throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
-        }
-        if (!Objects.equals(id, conference.getId())) {
-            throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @NotNull @RequestBody ObjectNode patch
+    ) {
+        log.debug("REST request to partial update Conference partially : {}, {}", id, patch);
+        Long expectedVersion = null;
+        if (ifMatch != null) {
+            expectedVersion = conferenceRepository
+                .findVersionById(id)
+                .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+            ETagUtil.checkIfMatch(ifMatch, ETagUtil.entityTag(ENTITY_NAME, id, expectedVersion), ENTITY_NAME);
         }
 
-        if (!conferenceRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<Conference> result = conferenceRepository
-            .findById(conference.getId())
-            .map(existingConference -> {
-                if (conference.getTitle() != null) {
-                    existingConference.setTitle(conference.getTitle());
-                }
-                if (conference.getDescription() != null) {
-                    existingConference.setDescription(conference.getDescription());
-                }
-                if (conference.getDate() != null) {
-                    existingConference.setDate(conference.getDate());
-                }
-                if (conference.getPalce() != null) {
-                    existingConference.setPalce(conference.getPalce());
-                }
-
-                return existingConference;
-            })
-            .map(conferenceRepository::save);
-
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, conference.getId().toString())
-        );
+        Conference result = mergePatchService
+            .patch(Conference.class, id, patch, expectedVersion)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity.ok()
+            .eTag(ETagUtil.entityTag(ENTITY_NAME, id, result.getVersion()))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id.toString()))
+            .body(result);
     }
 
     /**
      * {@code GET  /conferences} : get all the conferences.
      *
+     * @param webRequest the request, whose {@code If-None-Match} header is checked against the version of the conferences returned.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of conferences in body.
      */
     @GetMapping("")
-    public List<Conference> getAllConferences() {
+    @Transactional(readOnly = true)
+    public List<ConferenceSummary> getAllConferences(WebRequest webRequest) {
         log.debug("REST request to get all Conferences");
-        return conferenceRepository.findAll();
+        List<ConferenceSummary> conferences = conferenceRepository.findAllSummaries();
+        if (webRequest.checkNotModified(ETagUtil.collectionTag(ENTITY_NAME, conferences, ConferenceResource::rowVersion))) {
+            return null;
+        }
+        return conferences;
+    }
+
+    /**
+     * {@code GET  /conferences} : get all the conferences, as newline delimited JSON.
+     * <p>
+     * The conferences are streamed from a database cursor while they are written, one per line, so memory use doesn't depend on their
+     * number.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the conferences in body.
+     */
+    @GetMapping(value = "", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<StreamingResponseBody> streamAllConferences() {
+        log.debug("REST request to stream all Conferences");
+        StreamingResponseBody body = NdjsonUtil.stream(objectMapper, ConferenceSummary.class, conferences ->
+            streamingQueryService.stream(() -> conferenceRepository.streamAllSummaries(Sort.by("id")), conferences)
+        );
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * {@code GET  /conferences?fields=} : get the requested fields of all the conferences.
+     *
+     * @param fields the fields to return, separated by commas.
+     * @param webRequest the request, whose {@code If-None-Match} header is checked against the version of the conferences returned.
+     * @return the requested fields of the conferences.
+     */
+    @GetMapping(value = "", params = { SparseFieldsUtil.FIELDS_PARAMETER, "!" + MultiGetUtil.IDS_PARAMETER })
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllConferencesFields(
+        @RequestParam(SparseFieldsUtil.FIELDS_PARAMETER) String fields,
+        WebRequest webRequest
+    ) {
+        log.debug("REST request to get fields {} of all Conferences", fields);
+        List<String> selection = SparseFieldsUtil.parseFields(
+            fields,
+            sparseFieldsRepository.getSelectableFields(Conference.class),
+            ENTITY_NAME
+        );
+        List<Map<String, Object>> conferences = sparseFieldsRepository
+            .findAll(Conference.class, selection, Pageable.unpaged())
+            .getContent();
+        if (webRequest.checkNotModified(ETagUtil.collectionTag(ENTITY_NAME, conferences, ETagUtil::fieldsVersion))) {
+            return null;
+        }
+        return conferences;
+    }
+
+    /**
+     * {@code GET  /conferences?ids=} : get the conferences with the given ids.
+     *
+     * @param ids the ids of the conferences, separated by commas.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the conferences found and the missing ids,
+     * or with status {@code 400 (Bad Request)} if there are too many ids.
+     */
+    @GetMapping(value = "", params = MultiGetUtil.IDS_PARAMETER)
+    @Transactional(readOnly = true)
+    public ResponseEntity<MultiGetResultDTO<Conference>> getConferences(@RequestParam(MultiGetUtil.IDS_PARAMETER) List<Long> ids) {
+        log.debug("REST request to get Conferences : {}", ids);
+        return ResponseEntity.ok(MultiGetUtil.resolve(ids, maxIds, ENTITY_NAME, conferenceRepository::findAllById, Conference::getId));
     }
 
     /**
      * {@code GET  /conferences/:id} : get the "id" conference.
      *
      * @param id the id of the conference to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the conference, or with status {@code 404 (Not Found)}.
+     * @param webRequest the request, whose {@code If-None-Match} header is checked against the version of the conference.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the conference,
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} header,
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Conference> getConference(@PathVariable("id") Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<Conference> getConference(@PathVariable("id") Long id, WebRequest webRequest) {
         log.debug("REST request to get Conference : {}", id);
         Optional<Conference> conference = conferenceRepository.findById(id);
+        if (conference.isPresent() && webRequest.checkNotModified(ETagUtil.entityTag(ENTITY_NAME, id, conference.get().getVersion()))) {
+            return null;
+        }
         return ResponseUtil.wrapOrNotFound(conference);
     }
 
+    /**
+     * {@code GET  /conferences/:id/schedule} : get the schedule of the "id" conference.
+     * <p>
+     * The schedule is read with a fixed number of queries, whatever the number of sessions: one for its version, which is
+     * the only one run when the schedule is not modified, one for the conference, and one for its sessions with their
+     * speaker and number of attendees.
+     *
+     * @param id the id of the conference.
+     * @param webRequest the request, whose {@code If-None-Match} header is checked against the version of the schedule.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the schedule of the conference,
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} header,
+     * or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/schedule")
+    @Transactional(readOnly = true)
+    public ResponseEntity<ConferenceScheduleDTO> getConferenceSchedule(@PathVariable("id") Long id, WebRequest webRequest) {
+        log.debug("REST request to get the schedule of Conference : {}", id);
+        List<ScheduleVersion> version = conferenceRepository.findScheduleVersionById(id);
+        if (!version.isEmpty() && webRequest.checkNotModified(ETagUtil.scheduleTag(ENTITY_NAME, id, version))) {
+            return null;
+        }
+        Optional<ConferenceScheduleDTO> schedule = Optional.of(version)
+            .filter(v -> !v.isEmpty())
+            .flatMap(v -> conferenceRepository.findSummaryById(id))
+            .map(conference -> new ConferenceScheduleDTO(conference, sessionRepository.findAllScheduledByConferenceId(id)));
+        return ResponseUtil.wrapOrNotFound(schedule);
+    }
+
+    /**
+     * {@code GET  /conferences/:id?fields=} : get the requested fields of the "id" conference.
+     *
+     * @param id the id of the conference to retrieve.
+     * @param fields the fields to return, separated by commas.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the requested fields of the conference,
+     * or with status {@code 400 (Bad Request)} if a field can't be requested, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping(value = "/{id}", params = SparseFieldsUtil.FIELDS_PARAMETER)
+    @Transactional(readOnly = true)
+    public ResponseEntity<Map<String, Object>> getConferenceFields(
+        @PathVariable("id") Long id,
+        @RequestParam(SparseFieldsUtil.FIELDS_PARAMETER) String fields
+    ) {
+        log.debug("REST request to get fields {} of Conference : {}", fields, id);
+        List<String> selection = SparseFieldsUtil.parseFields(
+            fields,
+            sparseFieldsRepository.getSelectableFields(Conference.class),
+            ENTITY_NAME
+        );
+        return ResponseUtil.wrapOrNotFound(sparseFieldsRepository.findById(Conference.class, selection, id));
+    }
+
     /**
      * {@code DELETE  /conferences/:id} : delete the "id" conference.
      *
@@ -184,4 +348,8 @@ public class ConferenceResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    private static String rowVersion(ConferenceSummary conference) {
+        return ETagUtil.rowVersion(conference.id(), conference.version(), conference.attendeeCount());
+    }
 }
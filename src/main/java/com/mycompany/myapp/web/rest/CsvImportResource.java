@@ -0,0 +1,96 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.service.CsvImportService;
+import com.mycompany.myapp.service.CsvImportType;
+import com.mycompany.myapp.service.dto.CsvImportDTO;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for importing entities from CSV files.
+ * <p>
+ * The file is sent as the raw request body, which is streamed to the database, see {@link CsvImportService}.
+ */
+@RestController
+@RequestMapping("/api/admin/imports")
+public class CsvImportResource {
+
+    private static final String ENTITY_NAME = "csvImport";
+
+    private static final String DELIMITERS = ",;|\t";
+
+    private final Logger log = LoggerFactory.getLogger(CsvImportResource.class);
+
+    private final CsvImportService csvImportService;
+
+    public CsvImportResource(CsvImportService csvImportService) {
+        this.csvImportService = csvImportService;
+    }
+
+    /**
+     * {@code POST  /admin/imports/:type} : Import attendees, speakers or sessions from a CSV file.
+     * <p>
+     * The file has a header line, then the {@link CsvImportType#getColumns() columns} of the type, in that order.
+     *
+     * @param type the type of the imported entities: {@code attendees}, {@code speakers} or {@code sessions}.
+     * @param delimiter the column delimiter: a comma, a semicolon, a pipe or a tab.
+     * @param csv the content of the file.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of the import, or with
+     * status {@code 400 (Bad Request)} and the outcome of the import if the file could not be imported.
+     */
+    @PostMapping(value = "/{type}", consumes = { "text/csv", "text/plain" })
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<CsvImportDTO> importCsv(
+        @PathVariable("type") String type,
+        @RequestParam(name = "delimiter", defaultValue = ",") String delimiter,
+        InputStream csv
+    ) {
+        log.debug("REST request to import {} from CSV", type);
+        CsvImportType importType;
+        try {
+            importType = CsvImportType.valueOf(type.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Unknown import type", ENTITY_NAME, "typeinvalid");
+        }
+        if (delimiter.length() != 1 || DELIMITERS.indexOf(delimiter.charAt(0)) < 0) {
+            throw new BadRequestAlertException("Invalid delimiter", ENTITY_NAME, "delimiterinvalid");
+        }
+        CsvImportDTO result = csvImportService.importCsv(importType, csv, delimiter.charAt(0));
+        return ResponseEntity.status(result.getStatus() == CsvImportDTO.Status.FAILED ? HttpStatus.BAD_REQUEST : HttpStatus.OK).body(result);
+    }
+
+    /**
+     * {@code GET  /admin/imports} : get the running imports, and the last finished ones.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of imports in body.
+     */
+    @GetMapping("")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public List<CsvImportDTO> getAllImports() {
+        log.debug("REST request to get all CSV imports");
+        return csvImportService.findAll();
+    }
+
+    /**
+     * {@code GET  /admin/imports/:id} : get the progress, or the outcome, of an import.
+     *
+     * @param id the id of the import.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the import, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<CsvImportDTO> getImport(@PathVariable("id") String id) {
+        log.debug("REST request to get CSV import : {}", id);
+        return ResponseUtil.wrapOrNotFound(csvImportService.findOne(id));
+    }
+}
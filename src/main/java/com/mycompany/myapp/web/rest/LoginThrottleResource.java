@@ -0,0 +1,95 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.security.LoginThrottle;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for inspecting and clearing the buckets of the {@link LoginThrottle}.
+ */
+@RestController
+@RequestMapping("/api/admin/login-throttle")
+public class LoginThrottleResource {
+
+    private static final String ENTITY_NAME = "loginThrottle";
+
+    private final Logger log = LoggerFactory.getLogger(LoginThrottleResource.class);
+
+    private final LoginThrottle loginThrottle;
+
+    public LoginThrottleResource(LoginThrottle loginThrottle) {
+        this.loginThrottle = loginThrottle;
+    }
+
+    /**
+     * {@code GET  /admin/login-throttle} : get the buckets having the fewest tokens.
+     *
+     * @param limit the maximum number of buckets.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of buckets in body, the emptiest first.
+     */
+    @GetMapping("")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public List<LoginThrottle.Bucket> getBuckets(@RequestParam(name = "limit", defaultValue = "100") int limit) {
+        log.debug("REST request to get the login throttle buckets");
+        return loginThrottle.getBuckets(limit);
+    }
+
+    /**
+     * {@code GET  /admin/login-throttle/:type/:key} : get a bucket.
+     *
+     * @param type the type of the bucket: {@code login} or {@code ip}.
+     * @param key the login or the IP address.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the bucket, or with status
+     * {@code 404 (Not Found)} if it is full.
+     */
+    @GetMapping("/{type}/{key}")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<LoginThrottle.Bucket> getBucket(@PathVariable("type") String type, @PathVariable("key") String key) {
+        log.debug("REST request to get the login throttle bucket {} {}", type, key);
+        return ResponseUtil.wrapOrNotFound(loginThrottle.getBucket(toBucketType(type), key));
+    }
+
+    /**
+     * {@code DELETE  /admin/login-throttle} : refill all the buckets.
+     *
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @DeleteMapping("")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Void> clearBuckets() {
+        log.debug("REST request to clear the login throttle buckets");
+        loginThrottle.clearAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * {@code DELETE  /admin/login-throttle/:type/:key} : refill a bucket.
+     *
+     * @param type the type of the bucket: {@code login} or {@code ip}.
+     * @param key the login or the IP address.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @DeleteMapping("/{type}/{key}")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Void> clearBucket(@PathVariable("type") String type, @PathVariable("key") String key) {
+        log.debug("REST request to clear the login throttle bucket {} {}", type, key);
+        loginThrottle.clear(toBucketType(type), key);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static LoginThrottle.BucketType toBucketType(String type) {
+        try {
+            return LoginThrottle.BucketType.valueOf(type.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Unknown bucket type", ENTITY_NAME, "typeinvalid");
+        }
+    }
+}
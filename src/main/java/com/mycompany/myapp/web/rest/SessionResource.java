@@ -1,24 +1,49 @@
 package com.mycompany.myapp.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.domain.Session;
 import com.mycompany.myapp.repository.SessionRepository;
+import com.mycompany.myapp.repository.SparseFieldsRepository;
+import com.mycompany.myapp.repository.projection.SessionSummary;
+import com.mycompany.myapp.service.BulkService;
+import com.mycompany.myapp.service.EntityReferenceService;
+import com.mycompany.myapp.service.MergePatchService;
+import com.mycompany.myapp.service.StreamingQueryService;
+import com.mycompany.myapp.service.dto.BulkItemResultDTO;
+import com.mycompany.myapp.service.dto.MultiGetResultDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.ETagUtil;
+import com.mycompany.myapp.web.rest.util.KeysetPaginationUtil;
+import com.mycompany.myapp.web.rest.util.MultiGetUtil;
+import com.mycompany.myapp.web.rest.util.NdjsonUtil;
+import com.mycompany.myapp.web.rest.util.SparseFieldsUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -41,8 +66,38 @@ public class SessionResource {
 
     private final SessionRepository sessionRepository;
 
-    public SessionResource(SessionRepository sessionRepository) {
+    private final SparseFieldsRepository sparseFieldsRepository;
+
+    private final MergePatchService mergePatchService;
+
+    private final EntityReferenceService entityReferenceService;
+
+    private final BulkService bulkService;
+
+    private final StreamingQueryService streamingQueryService;
+
+    private final ObjectMapper objectMapper;
+
+    private final int maxIds;
+
+    public SessionResource(
+        SessionRepository sessionRepository,
+        SparseFieldsRepository sparseFieldsRepository,
+        MergePatchService mergePatchService,
+        EntityReferenceService entityReferenceService,
+        BulkService bulkService,
+        StreamingQueryService streamingQueryService,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
         this.sessionRepository = sessionRepository;
+        this.sparseFieldsRepository = sparseFieldsRepository;
+        this.mergePatchService = mergePatchService;
+        this.entityReferenceService = entityReferenceService;
+        this.bulkService = bulkService;
+        this.streamingQueryService = streamingQueryService;
+        this.objectMapper = objectMapper;
+        this.maxIds = applicationProperties.getMultiGet().getMaxIds();
     }
 
     /**
@@ -58,25 +113,47 @@ public class SessionResource {
         if (session.getId() != null) {
             throw new BadRequestAlertException("A new session cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        session = sessionRepository.save(session);
+        session = sessionRepository.save(entityReferenceService.resolve(session));
         return ResponseEntity.created(new URI("/api/sessions/" + session.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, session.getId().toString()))
             .body(session);
     }
 
+    /**
+     * {@code POST  /sessions/bulk} : Create or update sessions in bulk.
+     * <p>
+     * Sessions without id are created, the others are updated. The result of each session is streamed back as one line of
+     * newline delimited JSON.
+     *
+     * @param sessions the sessions to create or update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the result of each session in body.
+     */
+    @PostMapping(value = "/bulk", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<StreamingResponseBody> bulkSaveSessions(@RequestBody List<Session> sessions) {
+        log.debug("REST request to save {} Sessions in bulk", sessions.size());
+        StreamingResponseBody body = NdjsonUtil.stream(objectMapper, BulkItemResultDTO.class, results ->
+            bulkService.saveSessions(sessions, results)
+        );
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     /**
      * {@code PUT  /sessions/:id} : Updates an existing session.
      *
      * @param id the id of the session to save.
+     * @param ifMatch the entity tags the session must match, if any.
      * @param session the session to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated session,
      * or with status {@code 400 (Bad Request)} if the session is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the session doesn't match the {@code If-Match} header,
      * or with status {@code 500 (Internal Server Error)} if the session couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<Session> updateSession(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody Session session
     ) throws URISyntaxException {
         log.debug("REST request to update Session : {}, {}", id, session);
@@ -87,94 +164,229 @@ public class SessionResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!sessionRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long currentVersion = checkIfMatch(id, ifMatch);
+        if (session.getVersion() == null) {
+            // the last write wins for clients which don't send the version
+            session.setVersion(currentVersion);
         }
 
-        session = sessionRepository.save(session);
+        session = sessionRepository.saveAndFlush(entityReferenceService.resolve(session));
+        // the number of attendees isn't updatable, so it's read again rather than taken from the merged session
+        SessionSummary summary = sessionRepository
+            .findSummaryById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
+            .eTag(summaryTag(summary))
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, session.getId().toString()))
             .body(session);
     }
 
     /**
-     * {@code PATCH  /sessions/:id} : Partial updates given fields of an existing session, field will ignore if it is null
+     * {@code PATCH  /sessions/:id} : Partial updates given fields of an existing session, with a JSON merge patch: fields
+     * set to {@code null} are cleared, and missing fields are left unchanged.
      *
      * @param id the id of the session to save.
-     * @param session the session to update.
+     * @param ifMatch the entity tags the session must match, if any.
+     * @param patch the merge patch of the session.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated session,
-     * or with status {@code 400 (Bad Request)} if the session is not valid,
-     * or with status {@code 404 (Not Found)} if the session is not found,
-     * or with status {@code 500 (Internal Server Error)} if the session couldn't be updated.
-     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     * or with status {@code 400 (Bad Request)} if the patch is not valid or the session is not found,
+     * or with status {@code 409 (Conflict)} if the version of the patch is not the current one,
+     * or with status {@code 412 (Precondition Failed)} if the session doesn't match the {@code If-Match} header.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Session> partialUpdateSession(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody Session session
-    ) throws URISyntaxException {
-        log.debug("REST request to partial update Session partially : {}, {}", id, session);
-        if (session.getId() == null) {
-            throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
-        }
-        if (!Objects.equals(id, session.getId())) {
-            throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @NotNull @RequestBody ObjectNode patch
+    ) {
+        log.debug("REST request to partial update Session partially : {}, {}", id, patch);
+        Long expectedVersion = null;
+        if (ifMatch != null) {
+            expectedVersion = checkIfMatch(id, ifMatch);
         }
 
-        if (!sessionRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<Session> result = sessionRepository
-            .findById(session.getId())
-            .map(existingSession -> {
-                if (session.getTitle() != null) {
-                    existingSession.setTitle(session.getTitle());
-                }
-                if (session.getDescription() != null) {
-                    existingSession.setDescription(session.getDescription());
-                }
-                if (session.getRoom() != null) {
-                    existingSession.setRoom(session.getRoom());
-                }
-
-                return existingSession;
-            })
-            .map(sessionRepository::save);
-
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, session.getId().toString())
-        );
+        Session result = mergePatchService
+            .patch(Session.class, id, patch, expectedVersion)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity.ok()
+            .eTag(ETagUtil.entityTag(ENTITY_NAME, id, result.getVersion(), result.getAttendeeCount()))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id.toString()))
+            .body(result);
     }
 
     /**
      * {@code GET  /sessions} : get all the sessions.
      *
      * @param pageable the pagination information.
+     * @param after the keyset pagination cursor, switches to keyset pagination (ordered by id, without total count) when present.
+     * @param webRequest the request, whose {@code If-None-Match} header is checked against the version of the sessions returned.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of sessions in body.
      */
     @GetMapping("")
-    public ResponseEntity<List<Session>> getAllSessions(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<SessionSummary>> getAllSessions(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        WebRequest webRequest
+    ) {
+        if (after != null) {
+            log.debug("REST request to get a window of Sessions after : {}", after);
+            KeysetScrollPosition position = KeysetPaginationUtil.decodeCursor(after).orElseThrow(
+                () -> new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid")
+            );
+            Window<SessionSummary> window = sessionRepository
+                .findAllByOrderByIdAsc(position, Limit.of(pageable.getPageSize()))
+                .map(SessionSummary::of);
+            if (webRequest.checkNotModified(ETagUtil.collectionTag(ENTITY_NAME, window, SessionResource::rowVersion))) {
+                return null;
+            }
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                window
+            );
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
         log.debug("REST request to get a page of Sessions");
-        Page<Session> page = sessionRepository.findAll(pageable);
+        Page<SessionSummary> page = sessionRepository.findAllSummaries(pageable);
+        if (webRequest.checkNotModified(ETagUtil.collectionTag(ENTITY_NAME, page, SessionResource::rowVersion))) {
+            return null;
+        }
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /sessions} : get all the sessions, as newline delimited JSON.
+     * <p>
+     * The sessions are streamed from a database cursor while they are written, one per line, so memory use doesn't depend on their number.
+     * Unlike the JSON list, all the sessions are written: there are no pages.
+     *
+     * @param sort the order of the sessions, by id if not set.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the sessions in body.
+     */
+    @GetMapping(value = "", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<StreamingResponseBody> streamAllSessions(Sort sort) {
+        log.debug("REST request to stream all Sessions");
+        Sort order = sort.and(Sort.by("id"));
+        StreamingResponseBody body = NdjsonUtil.stream(objectMapper, SessionSummary.class, sessions ->
+            streamingQueryService.stream(() -> sessionRepository.streamAllSummaries(order), sessions)
+        );
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * {@code GET  /sessions?fields=} : get the requested fields of all the sessions.
+     *
+     * @param fields the fields to return, separated by commas.
+     * @param pageable the pagination information.
+     * @param after the keyset pagination cursor, switches to keyset pagination (ordered by id, without total count) when present.
+     * @param webRequest the request, whose {@code If-None-Match} header is checked against the version of the sessions returned.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the requested fields of the sessions in body,
+     * or with status {@code 400 (Bad Request)} if a field can't be requested.
+     */
+    @GetMapping(value = "", params = { SparseFieldsUtil.FIELDS_PARAMETER, "!" + MultiGetUtil.IDS_PARAMETER })
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<Map<String, Object>>> getAllSessionsFields(
+        @RequestParam(SparseFieldsUtil.FIELDS_PARAMETER) String fields,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        WebRequest webRequest
+    ) {
+        List<String> selection = SparseFieldsUtil.parseFields(
+            fields,
+            sparseFieldsRepository.getSelectableFields(Session.class),
+            ENTITY_NAME
+        );
+        if (after != null) {
+            log.debug("REST request to get fields {} of a window of Sessions after : {}", selection, after);
+            KeysetScrollPosition position = KeysetPaginationUtil.decodeCursor(after).orElseThrow(
+                () -> new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid")
+            );
+            Window<Map<String, Object>> window = sparseFieldsRepository.findAll(
+                Session.class,
+                selection,
+                position,
+                Limit.of(pageable.getPageSize())
+            );
+            if (webRequest.checkNotModified(ETagUtil.collectionTag(ENTITY_NAME, window, ETagUtil::fieldsVersion))) {
+                return null;
+            }
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                window
+            );
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
+        log.debug("REST request to get fields {} of a page of Sessions", selection);
+        Page<Map<String, Object>> page = sparseFieldsRepository.findAll(Session.class, selection, pageable);
+        if (webRequest.checkNotModified(ETagUtil.collectionTag(ENTITY_NAME, page, ETagUtil::fieldsVersion))) {
+            return null;
+        }
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /sessions?ids=} : get the sessions with the given ids.
+     *
+     * @param ids the ids of the sessions, separated by commas.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the sessions found and the missing ids,
+     * or with status {@code 400 (Bad Request)} if there are too many ids.
+     */
+    @GetMapping(value = "", params = MultiGetUtil.IDS_PARAMETER)
+    @Transactional(readOnly = true)
+    public ResponseEntity<MultiGetResultDTO<SessionSummary>> getSessions(@RequestParam(MultiGetUtil.IDS_PARAMETER) List<Long> ids) {
+        log.debug("REST request to get Sessions : {}", ids);
+        return ResponseEntity.ok(
+            MultiGetUtil.resolve(ids, maxIds, ENTITY_NAME, sessionRepository::findAllSummariesById, SessionSummary::id)
+        );
+    }
+
     /**
      * {@code GET  /sessions/:id} : get the "id" session.
      *
      * @param id the id of the session to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the session, or with status {@code 404 (Not Found)}.
+     * @param webRequest the request, whose {@code If-None-Match} header is checked against the version and the number of attendees
+     * of the session.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the session,
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} header,
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Session> getSession(@PathVariable("id") Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<SessionSummary> getSession(@PathVariable("id") Long id, WebRequest webRequest) {
         log.debug("REST request to get Session : {}", id);
-        Optional<Session> session = sessionRepository.findById(id);
+        Optional<SessionSummary> session = sessionRepository.findSummaryById(id);
+        if (session.isPresent() && webRequest.checkNotModified(summaryTag(session.get()))) {
+            return null;
+        }
         return ResponseUtil.wrapOrNotFound(session);
     }
 
+    /**
+     * {@code GET  /sessions/:id?fields=} : get the requested fields of the "id" session.
+     *
+     * @param id the id of the session to retrieve.
+     * @param fields the fields to return, separated by commas.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the requested fields of the session,
+     * or with status {@code 400 (Bad Request)} if a field can't be requested, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping(value = "/{id}", params = SparseFieldsUtil.FIELDS_PARAMETER)
+    @Transactional(readOnly = true)
+    public ResponseEntity<Map<String, Object>> getSessionFields(
+        @PathVariable("id") Long id,
+        @RequestParam(SparseFieldsUtil.FIELDS_PARAMETER) String fields
+    ) {
+        log.debug("REST request to get fields {} of Session : {}", fields, id);
+        List<String> selection = SparseFieldsUtil.parseFields(
+            fields,
+            sparseFieldsRepository.getSelectableFields(Session.class),
+            ENTITY_NAME
+        );
+        return ResponseUtil.wrapOrNotFound(sparseFieldsRepository.findById(Session.class, selection, id));
+    }
+
     /**
      * {@code DELETE  /sessions/:id} : delete the "id" session.
      *
@@ -189,4 +401,28 @@ public class SessionResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * Check the {@code If-Match} header of an update against the tag of the session, which includes its number of attendees
+     * like the tags returned by all the methods.
+     *
+     * @param id the id of the session.
+     * @param ifMatch the {@code If-Match} header, the check passes if it is not set.
+     * @return the current version of the session.
+     */
+    private Long checkIfMatch(Long id, String ifMatch) {
+        SessionSummary current = sessionRepository
+            .findSummaryById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        ETagUtil.checkIfMatch(ifMatch, summaryTag(current), ENTITY_NAME);
+        return current.version();
+    }
+
+    private static String summaryTag(SessionSummary session) {
+        return ETagUtil.entityTag(ENTITY_NAME, session.id(), session.version(), session.attendeeCount());
+    }
+
+    private static String rowVersion(SessionSummary session) {
+        return ETagUtil.rowVersion(session.id(), session.version(), session.attendeeCount());
+    }
 }
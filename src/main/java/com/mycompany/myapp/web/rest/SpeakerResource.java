@@ -1,19 +1,41 @@
 package com.mycompany.myapp.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Conference;
+import com.mycompany.myapp.domain.Session;
 import com.mycompany.myapp.domain.Speaker;
+import com.mycompany.myapp.repository.SparseFieldsRepository;
 import com.mycompany.myapp.repository.SpeakerRepository;
+import com.mycompany.myapp.service.EntityReferenceService;
+import com.mycompany.myapp.service.MergePatchService;
+import com.mycompany.myapp.service.StreamingQueryService;
+import com.mycompany.myapp.service.dto.MultiGetResultDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.ETagUtil;
+import com.mycompany.myapp.web.rest.util.MultiGetUtil;
+import com.mycompany.myapp.web.rest.util.NdjsonUtil;
+import com.mycompany.myapp.web.rest.util.SparseFieldsUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -34,8 +56,34 @@ public class SpeakerResource {
 
     private final SpeakerRepository speakerRepository;
 
-    public SpeakerResource(SpeakerRepository speakerRepository) {
+    private final SparseFieldsRepository sparseFieldsRepository;
+
+    private final MergePatchService mergePatchService;
+
+    private final EntityReferenceService entityReferenceService;
+
+    private final StreamingQueryService streamingQueryService;
+
+    private final ObjectMapper objectMapper;
+
+    private final int maxIds;
+
+    public SpeakerResource(
+        SpeakerRepository speakerRepository,
+        SparseFieldsRepository sparseFieldsRepository,
+        MergePatchService mergePatchService,
+        EntityReferenceService entityReferenceService,
+        StreamingQueryService streamingQueryService,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
         this.speakerRepository = speakerRepository;
+        this.sparseFieldsRepository = sparseFieldsRepository;
+        this.mergePatchService = mergePatchService;
+        this.entityReferenceService = entityReferenceService;
+        this.streamingQueryService = streamingQueryService;
+        this.objectMapper = objectMapper;
+        this.maxIds = applicationProperties.getMultiGet().getMaxIds();
     }
 
     /**
@@ -51,7 +99,7 @@ public class SpeakerResource {
         if (speaker.getId() != null) {
             throw new BadRequestAlertException("A new speaker cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        speaker = speakerRepository.save(speaker);
+        speaker = speakerRepository.save(entityReferenceService.resolve(speaker));
         return ResponseEntity.created(new URI("/api/speakers/" + speaker.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, speaker.getId().toString()))
             .body(speaker);
@@ -61,15 +109,20 @@ public class SpeakerResource {
      * {@code PUT  /speakers/:id} : Updates an existing speaker.
      *
      * @param id the id of the speaker to save.
+     * @param ifMatch the entity tags the speaker must match, if any.
      * @param speaker the speaker to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated speaker,
      * or with status {@code 400 (Bad Request)} if the speaker is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the speaker doesn't match the {@code If-Match} header,
      * or with status {@code 500 (Internal Server Error)} if the speaker couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Speaker> updateSpeaker(@PathVariable(value = "id", required = false) final Long id, @RequestBody Speaker speaker)
-        throws URISyntaxException {
+    public ResponseEntity<Speaker> updateSpeaker(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody Speaker speaker
+    ) throws URISyntaxException {
         log.debug("REST request to update Speaker : {}, {}", id, speaker);
         if (speaker.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -78,96 +131,197 @@ public class SpeakerResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!speakerRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long currentVersion = speakerRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        ETagUtil.checkIfMatch(ifMatch, ETagUtil.entityTag(ENTITY_NAME, id, currentVersion), ENTITY_NAME);
+        if (speaker.getVersion() == null) {
+            // the last write wins for clients which don't send the version
+            speaker.setVersion(currentVersion);
         }
 
-        speaker = speakerRepository.save(speaker);
+        speaker = speakerRepository.saveAndFlush(entityReferenceService.resolve(speaker));
         return ResponseEntity.ok()
+            .eTag(ETagUtil.entityTag(ENTITY_NAME, id, speaker.getVersion()))
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, speaker.getId().toString()))
             .body(speaker);
     }
 
     /**
-     * {@code PATCH  /speakers/:id} : Partial updates given fields of an existing speaker, field will ignore if it is null
+     * {@code PATCH  /speakers/:id} : Partial updates given fields of an existing speaker, with a JSON merge patch: fields
+     * set to {@code null} are cleared, and missing fields are left unchanged.
      *
      * @param id the id of the speaker to save.
-     * @param speaker the speaker to update.
+     * @param ifMatch the entity tags the speaker must match, if any.
+     * @param patch the merge patch of the speaker.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated speaker,
-     * or with status {@code 400 (Bad Request)} if the speaker is not valid,
-     * or with status {@code 404 (Not Found)} if the speaker is not found,
-     * or with status {@code 500 (Internal Server Error)} if the speaker couldn't be updated.
-     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     * or with status {@code 400 (Bad Request)} if the patch is not valid or the speaker is not found,
+     * or with status {@code 409 (Conflict)} if the version of the patch is not the current one,
+     * or with status {@code 412 (Precondition Failed)} if the speaker doesn't match the {@code If-Match} header.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Speaker> partialUpdateSpeaker(
         @PathVariable(value = "id", required = false) final Long id,
-        @RequestBody Speaker speaker
-    ) throws URISyntaxException {
-        log.debug("REST request to partial update Speaker partially : {}, {}", id, speaker);
-        if (speaker.getId() == null) {
-            throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
-        }
-        if (!Objects.equals(id, speaker.getId())) {
-            throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
-        }
-
-        if (!speakerRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody ObjectNode patch
+    ) {
+        log.debug("REST request to partial update Speaker partially : {}, {}", id, patch);
+        Long expectedVersion = null;
+        if (ifMatch != null) {
+            expectedVersion = speakerRepository
+                .findVersionById(id)
+                .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+            ETagUtil.checkIfMatch(ifMatch, ETagUtil.entityTag(ENTITY_NAME, id, expectedVersion), ENTITY_NAME);
         }
 
-        Optional<Speaker> result = speakerRepository
-            .findById(speaker.getId())
-            .map(existingSpeaker -> {
-                if (speaker.getFullName() != null) {
-                    existingSpeaker.setFullName(speaker.getFullName());
-                }
-                if (speaker.getEmail() != null) {
-                    existingSpeaker.setEmail(speaker.getEmail());
-                }
-                if (speaker.getCompany() != null) {
-                    existingSpeaker.setCompany(speaker.getCompany());
-                }
-
-                return existingSpeaker;
-            })
-            .map(speakerRepository::save);
-
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, speaker.getId().toString())
-        );
+        Speaker result = mergePatchService
+            .patch(Speaker.class, id, patch, expectedVersion)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity.ok()
+            .eTag(ETagUtil.entityTag(ENTITY_NAME, id, result.getVersion()))
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id.toString()))
+            .body(result);
     }
 
     /**
      * {@code GET  /speakers} : get all the speakers.
      *
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param webRequest the request, whose {@code If-None-Match} header is checked against the version of the speakers returned.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of speakers in body.
      */
     @GetMapping("")
-    public List<Speaker> getAllSpeakers(@RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload) {
+    @Transactional(readOnly = true)
+    public List<Speaker> getAllSpeakers(
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        WebRequest webRequest
+    ) {
         log.debug("REST request to get all Speakers");
+        List<Speaker> speakers;
         if (eagerload) {
-            return speakerRepository.findAllWithEagerRelationships();
+            speakers = speakerRepository.findAllWithEagerRelationships();
         } else {
-            return speakerRepository.findAll();
+            speakers = speakerRepository.findAll();
         }
+        if (webRequest.checkNotModified(ETagUtil.collectionTag(ENTITY_NAME, speakers, SpeakerResource::rowVersion))) {
+            return null;
+        }
+        return speakers;
+    }
+
+    /**
+     * {@code GET  /speakers} : get all the speakers, as newline delimited JSON.
+     * <p>
+     * The speakers are streamed from a database cursor while they are written, one per line, so memory use doesn't depend on their number.
+     * The speakers are written with their conferences, which are fetched for a chunk of speakers at a time.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the speakers in body.
+     */
+    @GetMapping(value = "", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<StreamingResponseBody> streamAllSpeakers() {
+        log.debug("REST request to stream all Speakers");
+        StreamingResponseBody body = NdjsonUtil.stream(objectMapper, Speaker.class, speakers ->
+            streamingQueryService.streamInChunks(
+                () -> speakerRepository.streamAllIds(Sort.by("id")),
+                ids -> speakerRepository.findAllWithEagerRelationships(ids, Sort.by("id")),
+                speakers
+            )
+        );
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * {@code GET  /speakers?fields=} : get the requested fields of all the speakers.
+     *
+     * @param fields the fields to return, separated by commas.
+     * @param webRequest the request, whose {@code If-None-Match} header is checked against the version of the speakers returned.
+     * @return the requested fields of the speakers.
+     */
+    @GetMapping(value = "", params = { SparseFieldsUtil.FIELDS_PARAMETER, "!" + MultiGetUtil.IDS_PARAMETER })
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllSpeakersFields(
+        @RequestParam(SparseFieldsUtil.FIELDS_PARAMETER) String fields,
+        WebRequest webRequest
+    ) {
+        log.debug("REST request to get fields {} of all Speakers", fields);
+        List<String> selection = SparseFieldsUtil.parseFields(
+            fields,
+            sparseFieldsRepository.getSelectableFields(Speaker.class),
+            ENTITY_NAME
+        );
+        List<Map<String, Object>> speakers = sparseFieldsRepository.findAll(Speaker.class, selection, Pageable.unpaged()).getContent();
+        if (webRequest.checkNotModified(ETagUtil.collectionTag(ENTITY_NAME, speakers, ETagUtil::fieldsVersion))) {
+            return null;
+        }
+        return speakers;
+    }
+
+    /**
+     * {@code GET  /speakers?ids=} : get the speakers with the given ids with their conferences.
+     *
+     * @param ids the ids of the speakers, separated by commas.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the speakers found and the missing ids,
+     * or with status {@code 400 (Bad Request)} if there are too many ids.
+     */
+    @GetMapping(value = "", params = MultiGetUtil.IDS_PARAMETER)
+    @Transactional(readOnly = true)
+    public ResponseEntity<MultiGetResultDTO<Speaker>> getSpeakers(@RequestParam(MultiGetUtil.IDS_PARAMETER) List<Long> ids) {
+        log.debug("REST request to get Speakers : {}", ids);
+        return ResponseEntity.ok(
+            MultiGetUtil.resolve(
+                ids,
+                maxIds,
+                ENTITY_NAME,
+                batch -> speakerRepository.findAllWithEagerRelationships(batch, Sort.by("id")),
+                Speaker::getId
+            )
+        );
     }
 
     /**
      * {@code GET  /speakers/:id} : get the "id" speaker.
      *
      * @param id the id of the speaker to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the speaker, or with status {@code 404 (Not Found)}.
+     * @param webRequest the request, whose {@code If-None-Match} header is checked against the version of the speaker.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the speaker,
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} header,
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Speaker> getSpeaker(@PathVariable("id") Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<Speaker> getSpeaker(@PathVariable("id") Long id, WebRequest webRequest) {
         log.debug("REST request to get Speaker : {}", id);
         Optional<Speaker> speaker = speakerRepository.findOneWithEagerRelationships(id);
+        if (speaker.isPresent() && webRequest.checkNotModified(ETagUtil.entityTag(ENTITY_NAME, id, speaker.get().getVersion()))) {
+            return null;
+        }
         return ResponseUtil.wrapOrNotFound(speaker);
     }
 
+    /**
+     * {@code GET  /speakers/:id?fields=} : get the requested fields of the "id" speaker.
+     *
+     * @param id the id of the speaker to retrieve.
+     * @param fields the fields to return, separated by commas.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the requested fields of the speaker,
+     * or with status {@code 400 (Bad Request)} if a field can't be requested, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping(value = "/{id}", params = SparseFieldsUtil.FIELDS_PARAMETER)
+    @Transactional(readOnly = true)
+    public ResponseEntity<Map<String, Object>> getSpeakerFields(
+        @PathVariable("id") Long id,
+        @RequestParam(SparseFieldsUtil.FIELDS_PARAMETER) String fields
+    ) {
+        log.debug("REST request to get fields {} of Speaker : {}", fields, id);
+        List<String> selection = SparseFieldsUtil.parseFields(
+            fields,
+            sparseFieldsRepository.getSelectableFields(Speaker.class),
+            ENTITY_NAME
+        );
+        return ResponseUtil.wrapOrNotFound(sparseFieldsRepository.findById(Speaker.class, selection, id));
+    }
+
     /**
      * {@code DELETE  /speakers/:id} : delete the "id" speaker.
      *
@@ -182,4 +336,17 @@ public class SpeakerResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * @param speaker a speaker returned in a list.
+     * @return the version of the speaker, including the versions of its sessions and conferences when they are embedded.
+     */
+    private static String rowVersion(Speaker speaker) {
+        return ETagUtil.rowVersion(
+            speaker.getId(),
+            speaker.getVersion(),
+            ETagUtil.relatedVersions(speaker.getSessions(), Session::getId, Session::getVersion),
+            ETagUtil.relatedVersions(speaker.getConferences(), Conference::getId, Conference::getVersion)
+        );
+    }
 }
@@ -2,8 +2,11 @@ package com.mycompany.myapp.web.rest.errors;
 
 import static org.springframework.core.annotation.AnnotatedElementUtils.findMergedAnnotation;
 
+import com.mycompany.myapp.security.LoginThrottledException;
+import com.mycompany.myapp.security.PasswordHashingRejectedException;
 import jakarta.servlet.http.HttpServletRequest;
 import java.net.URI;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -90,6 +93,13 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
         if (
             ex instanceof com.mycompany.myapp.service.InvalidPasswordException
         ) return (ProblemDetailWithCause) new InvalidPasswordException().getBody();
+        if (
+            ex instanceof com.mycompany.myapp.service.InvalidMergePatchException invalidMergePatchException
+        ) return (ProblemDetailWithCause) new BadRequestAlertException(
+            invalidMergePatchException.getMessage(),
+            invalidMergePatchException.getEntityName(),
+            "patchinvalid"
+        ).getBody();
 
         if (
             ex instanceof ErrorResponseException exp && exp.getBody() instanceof ProblemDetailWithCause problemDetailWithCause
@@ -214,6 +224,7 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
         if (err instanceof AccessDeniedException) return HttpStatus.FORBIDDEN;
         if (err instanceof ConcurrencyFailureException) return HttpStatus.CONFLICT;
         if (err instanceof BadCredentialsException) return HttpStatus.UNAUTHORIZED;
+        if (getRetryAfter(err) != null) return HttpStatus.TOO_MANY_REQUESTS;
         return null;
     }
 
@@ -223,6 +234,13 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     }
 
     private HttpHeaders buildHeaders(Throwable err) {
+        Duration retryAfter = getRetryAfter(err);
+        if (retryAfter != null) {
+            HttpHeaders headers = new HttpHeaders();
+            long retryAfterSeconds = (retryAfter.toMillis() + 999) / 1000;
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(retryAfterSeconds, 1)));
+            return headers;
+        }
         return err instanceof BadRequestAlertException badRequestAlertException
             ? HeaderUtil.createFailureAlert(
                 applicationName,
@@ -234,6 +252,17 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
             : null;
     }
 
+    /**
+     * Get the time after which a request rejected because of the load can be retried, authentication providers may wrap
+     * the exceptions of the password encoder.
+     */
+    private Duration getRetryAfter(Throwable err) {
+        if (err instanceof LoginThrottledException throttled) return throttled.getRetryAfter();
+        if (err instanceof PasswordHashingRejectedException rejected) return rejected.getRetryAfter();
+        if (err.getCause() instanceof PasswordHashingRejectedException rejected) return rejected.getRetryAfter();
+        return null;
+    }
+
     public Optional<ProblemDetailWithCause> buildCause(final Throwable throwable, NativeWebRequest request) {
         if (throwable != null && isCasualChainEnabled()) {
             return Optional.of(customizeProblem(getProblemDetailWithCause(throwable), throwable, request));
@@ -0,0 +1,78 @@
+package com.mycompany.myapp.web.rest.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Utility class for streaming CSV ({@code text/csv}, RFC 4180) responses.
+ */
+public final class CsvUtil {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    public static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private CsvUtil() {}
+
+    /**
+     * Create a response body that writes a header line, then one line for each element given by the producer.
+     *
+     * @param header the names of the columns.
+     * @param columns the function giving the values of the columns of an element, {@code null} values are written empty.
+     * @param producer the producer, called once with the consumer of the elements to write.
+     * @param <T> the type of the elements.
+     * @return the streaming response body.
+     */
+    public static <T> StreamingResponseBody stream(List<String> header, Function<T, List<?>> columns, Consumer<Consumer<T>> producer) {
+        return outputStream -> {
+            // the writer is only flushed at the end, the servlet output buffer being flushed when full
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writeLine(writer, header);
+            producer.accept(element -> {
+                try {
+                    writeLine(writer, columns.apply(element));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+    }
+
+    private static void writeLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                writeValue(writer, value.toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static void writeValue(Writer writer, String value) throws IOException {
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quoted) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,180 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.mycompany.myapp.repository.projection.ScheduleVersion;
+import com.mycompany.myapp.web.rest.errors.PreconditionFailedException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Utility class for the entity tags of versioned entities.
+ *
+ * <p>
+ * Tags are strong, and derived from the optimistic lock version of the entities, so they are known as soon as the
+ * version is read: a request whose {@code If-None-Match} header matches is answered with {@code 304 (Not Modified)}
+ * without loading or serializing the body, which {@link org.springframework.web.filter.ShallowEtagHeaderFilter} can't
+ * avoid.
+ * <p>
+ * A collection tag is a digest of the versions of the rows actually returned, including the entities embedded in them,
+ * computed after the page query and before serialization: it costs no query over the whole table, and changes whenever
+ * a returned row or an embedded entity changes.
+ */
+public final class ETagUtil {
+
+    private static final String ANY_TAG = "*";
+
+    private ETagUtil() {}
+
+    /**
+     * @param entityName the name of the entity.
+     * @param id the id of the entity.
+     * @param version the version of the entity.
+     * @return the quoted entity tag of the entity.
+     */
+    public static String entityTag(String entityName, Long id, Long version) {
+        return "\"" + entityName + "-" + id + "-" + version + "\"";
+    }
+
+    /**
+     * @param entityName the name of the entity.
+     * @param id the id of the entity.
+     * @param version the version of the entity.
+     * @param counter the denormalized counter included in the representation, which is updated without incrementing the
+     * version of the entity.
+     * @return the quoted entity tag of the representation.
+     */
+    public static String entityTag(String entityName, Long id, Long version, Integer counter) {
+        return "\"" + entityName + "-" + id + "-" + version + "-" + counter + "\"";
+    }
+
+    /**
+     * @param values the values identifying the version of a row, such as its id, its version and its counters.
+     * @return the version of the row, for a collection tag.
+     */
+    public static String rowVersion(Object... values) {
+        StringBuilder version = new StringBuilder();
+        for (Object value : values) {
+            // prefixed with its length, so that values can't be split differently into the same version
+            String string = String.valueOf(value);
+            version.append(string.length()).append(':').append(string);
+        }
+        return version.toString();
+    }
+
+    /**
+     * @param row the requested fields of a row, from {@code ?fields=}.
+     * @return the version of the row, from the values of its fields as they may not include its version.
+     */
+    public static String fieldsVersion(Map<String, Object> row) {
+        return rowVersion(row.values().toArray());
+    }
+
+    /**
+     * @param related the entities embedded in a row.
+     * @param id the id of an embedded entity.
+     * @param version the version of an embedded entity.
+     * @param <E> the type of the embedded entities.
+     * @return the versions of the embedded entities, or an empty string if they are not loaded, as they are then written
+     * as {@code null}.
+     */
+    public static <E> String relatedVersions(Collection<E> related, Function<E, Long> id, Function<E, Long> version) {
+        if (related == null || !Hibernate.isInitialized(related)) {
+            return "";
+        }
+        return related
+            .stream()
+            .sorted(Comparator.comparing(id, Comparator.nullsFirst(Comparator.naturalOrder())))
+            .map(entity -> rowVersion(id.apply(entity), version.apply(entity)))
+            .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    /**
+     * @param entityName the name of the entity.
+     * @param rows the rows returned.
+     * @param rowVersion the version of a row.
+     * @param <T> the type of the rows.
+     * @return the quoted entity tag of the rows.
+     */
+    public static <T> String collectionTag(String entityName, List<T> rows, Function<T, String> rowVersion) {
+        return digestTag(entityName, "list", rows, rowVersion);
+    }
+
+    /**
+     * @param entityName the name of the entity.
+     * @param page the page returned, whose total number of rows is part of the tag as it is sent in the headers.
+     * @param rowVersion the version of a row.
+     * @param <T> the type of the rows.
+     * @return the quoted entity tag of the page.
+     */
+    public static <T> String collectionTag(String entityName, Page<T> page, Function<T, String> rowVersion) {
+        return digestTag(entityName, "page-" + page.getTotalElements(), page.getContent(), rowVersion);
+    }
+
+    /**
+     * @param entityName the name of the entity.
+     * @param window the keyset window returned, whose next link is part of the tag as it is sent in the headers.
+     * @param rowVersion the version of a row.
+     * @param <T> the type of the rows.
+     * @return the quoted entity tag of the window.
+     */
+    public static <T> String collectionTag(String entityName, Window<T> window, Function<T, String> rowVersion) {
+        return digestTag(entityName, "window-" + window.hasNext(), window.getContent(), rowVersion);
+    }
+
+    /**
+     * @param entityName the name of the entity owning the schedule.
+     * @param id the id of the entity.
+     * @param version the rows of the version of the schedule, ordered by session id.
+     * @return the quoted entity tag of the schedule.
+     */
+    public static String scheduleTag(String entityName, Long id, List<ScheduleVersion> version) {
+        ScheduleVersion conference = version.get(0);
+        String header = rowVersion(conference.conferenceVersion(), conference.conferenceAttendeeCount(), conference.registrationVersion());
+        String digest = digest(header, version, row ->
+            rowVersion(row.sessionId(), row.sessionVersion(), row.speakerId(), row.speakerVersion())
+        );
+        return "\"" + entityName + "-schedule-" + id + "-" + digest + "\"";
+    }
+
+    private static <T> String digestTag(String entityName, String header, List<T> rows, Function<T, String> rowVersion) {
+        return "\"" + entityName + "s-" + digest(header, rows, rowVersion) + "\"";
+    }
+
+    private static <T> String digest(String header, List<T> rows, Function<T, String> rowVersion) {
+        StringBuilder versions = new StringBuilder(header);
+        for (T row : rows) {
+            versions.append('\n').append(rowVersion.apply(row));
+        }
+        return DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Check the {@code If-Match} header of an update against the current tag of the entity.
+     *
+     * @param ifMatch the {@code If-Match} header, the check passes if it is not set.
+     * @param currentTag the current entity tag of the entity.
+     * @param entityName the name of the entity.
+     * @throws PreconditionFailedException {@code 412 (Precondition Failed)} if no tag of the header matches.
+     */
+    public static void checkIfMatch(String ifMatch, String currentTag, String entityName) {
+        if (ifMatch == null) {
+            return;
+        }
+        for (String tag : ifMatch.split(",")) {
+            // weak tags never match, as If-Match uses the strong comparison
+            String trimmed = tag.trim();
+            if (trimmed.equals(ANY_TAG) || trimmed.equals(currentTag)) {
+                return;
+            }
+        }
+        throw new PreconditionFailedException(entityName);
+    }
+}
@@ -0,0 +1,90 @@
+package com.mycompany.myapp.web.rest.util;
+
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (seek) pagination.
+ *
+ * <p>
+ * Unlike {@link tech.jhipster.web.util.PaginationUtil}, keyset pagination never runs a {@code COUNT} query and never
+ * uses an {@code OFFSET}: each page is read with a {@code where id > :lastId} predicate, so page 10,000 costs the same
+ * as page 1. Clients receive an opaque cursor in the {@code X-Next-Cursor} header (and a {@code rel="next"} link) and
+ * send it back as the {@code after} request parameter. An empty {@code after} parameter requests the first page.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String CURSOR_PARAMETER = "after";
+
+    public static final String HEADER_X_NEXT_CURSOR = "X-Next-Cursor";
+
+    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+    private static final String ID_KEY = "id";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Decode a cursor previously returned in the {@code X-Next-Cursor} header.
+     *
+     * @param cursor the opaque cursor, an empty cursor meaning the first page.
+     * @return the scroll position to resume from, or an empty {@link Optional} if the cursor is invalid.
+     */
+    public static Optional<KeysetScrollPosition> decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return Optional.of(ScrollPosition.keyset());
+        }
+        try {
+            long id = Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+            return Optional.of(ScrollPosition.forward(Map.of(ID_KEY, id)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Encode the position of the last element of a {@link Window} as an opaque cursor.
+     *
+     * @param position the keyset position, which must contain the entity {@code id}.
+     * @return the cursor.
+     */
+    public static String encodeCursor(KeysetScrollPosition position) {
+        Object id = position.getKeys().get(ID_KEY);
+        if (id == null) {
+            throw new IllegalArgumentException("Keyset position does not contain an id: " + position);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Generate keyset pagination headers for a Spring Data {@link Window} object.
+     *
+     * @param uriBuilder The URI builder.
+     * @param window The window.
+     * @param <T> The type of object.
+     * @return http header, with a next cursor only if there are more elements.
+     */
+    public static <T> HttpHeaders generateKeysetPaginationHttpHeaders(UriComponentsBuilder uriBuilder, Window<T> window) {
+        HttpHeaders headers = new HttpHeaders();
+        if (window.hasNext() && !window.isEmpty()) {
+            String cursor = encodeCursor((KeysetScrollPosition) window.positionAt(window.size() - 1));
+            headers.add(HEADER_X_NEXT_CURSOR, cursor);
+            String uri = uriBuilder
+                .replaceQueryParam(CURSOR_PARAMETER, cursor)
+                .replaceQueryParam("page")
+                .toUriString()
+                .replace(",", "%2C")
+                .replace(";", "%3B");
+            headers.add(HttpHeaders.LINK, MessageFormat.format(HEADER_LINK_FORMAT, uri, "next"));
+        }
+        return headers;
+    }
+}
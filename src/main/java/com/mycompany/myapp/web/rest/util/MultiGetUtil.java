@@ -0,0 +1,70 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.mycompany.myapp.service.dto.MultiGetResultDTO;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Utility class for handling multi-get requests.
+ *
+ * <p>
+ * Clients resolve several entities at once by listing their ids, separated by commas, in the {@code ids} request
+ * parameter, e.g. {@code ?ids=1,2,3}: the entities are loaded with a single {@code IN} query, and the ids that don't
+ * exist are reported as missing rather than failing the whole request.
+ */
+public final class MultiGetUtil {
+
+    public static final String IDS_PARAMETER = "ids";
+
+    private MultiGetUtil() {}
+
+    /**
+     * Resolve the entities of a multi-get request.
+     *
+     * @param ids the requested ids, duplicates are ignored.
+     * @param maxIds the maximum number of distinct ids.
+     * @param entityName the name of the entity, for the error.
+     * @param loader the loader of the entities with the given ids, in any order.
+     * @param idGetter the id of an entity.
+     * @param <T> the type of the entities.
+     * @return the entities found, in the order of the requested ids, and the missing ids.
+     * @throws BadRequestAlertException {@code 400 (Bad Request)} if there are more than {@code maxIds} ids.
+     */
+    public static <T> MultiGetResultDTO<T> resolve(
+        List<Long> ids,
+        int maxIds,
+        String entityName,
+        Function<List<Long>, List<T>> loader,
+        Function<T, Long> idGetter
+    ) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        distinctIds.remove(null);
+        if (distinctIds.size() > maxIds) {
+            throw new BadRequestAlertException("Too many ids, the maximum is " + maxIds, entityName, "idstoomany");
+        }
+        if (distinctIds.isEmpty()) {
+            return new MultiGetResultDTO<>(List.of(), List.of());
+        }
+        Map<Long, T> entities = loader
+            .apply(List.copyOf(distinctIds))
+            .stream()
+            .collect(Collectors.toMap(idGetter, Function.identity(), (first, second) -> first));
+        List<T> found = new ArrayList<>(entities.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : distinctIds) {
+            T entity = entities.get(id);
+            if (entity != null) {
+                found.add(entity);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new MultiGetResultDTO<>(found, missing);
+    }
+}
@@ -0,0 +1,61 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Utility class for streaming newline delimited JSON ({@code application/x-ndjson}) responses.
+ */
+public final class NdjsonUtil {
+
+    private static final Map<WriterKey, ObjectWriter> WRITERS = new ConcurrentReferenceHashMap<>();
+
+    private NdjsonUtil() {}
+
+    /**
+     * Create a response body that writes each element given by the producer as one JSON line.
+     *
+     * @param objectMapper the object mapper used to serialize the elements.
+     * @param type the type of the elements.
+     * @param producer the producer, called once with the consumer of the elements to write.
+     * @param <T> the type of the elements.
+     * @return the streaming response body.
+     */
+    public static <T> StreamingResponseBody stream(ObjectMapper objectMapper, Class<T> type, Consumer<Consumer<T>> producer) {
+        ObjectWriter writer = WRITERS.computeIfAbsent(new WriterKey(objectMapper, type), NdjsonUtil::createWriter);
+        return outputStream ->
+            producer.accept(element -> {
+                try {
+                    writer.writeValue(outputStream, element);
+                    outputStream.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+
+    /**
+     * The writers are cached per type. The serializer of a final type, such as a record, is resolved once by its writer;
+     * entities are resolved per element, as they may be Hibernate proxies.
+     */
+    private static ObjectWriter createWriter(WriterKey key) {
+        // the servlet output buffer is flushed when full, rather than after every element
+        ObjectWriter writer = key.objectMapper()
+            .writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        return Modifier.isFinal(key.type().getModifiers()) ? writer.forType(key.type()) : writer;
+    }
+
+    private record WriterKey(ObjectMapper objectMapper, Class<?> type) {}
+}
@@ -0,0 +1,45 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Utility class for handling sparse fieldsets.
+ *
+ * <p>
+ * Clients list the fields they need, separated by commas, in the {@code fields} request parameter, e.g.
+ * {@code ?fields=id,title,room}: the response then only contains those fields, which are the only columns read from
+ * the database. The id is always returned.
+ */
+public final class SparseFieldsUtil {
+
+    public static final String FIELDS_PARAMETER = "fields";
+
+    private static final String ID_FIELD = "id";
+
+    private SparseFieldsUtil() {}
+
+    /**
+     * Parse the {@code fields} request parameter.
+     *
+     * @param fields the fields, separated by commas.
+     * @param selectableFields the fields that can be requested.
+     * @param entityName the name of the entity, for the error.
+     * @return the requested fields, without duplicates, the id first.
+     * @throws BadRequestAlertException {@code 400 (Bad Request)} if a field can't be requested.
+     */
+    public static List<String> parseFields(String fields, Set<String> selectableFields, String entityName) {
+        Set<String> result = new LinkedHashSet<>();
+        result.add(ID_FIELD);
+        Arrays.stream(fields.split(",")).map(String::trim).filter(field -> !field.isEmpty()).forEach(result::add);
+        for (String field : result) {
+            if (!selectableFields.contains(field)) {
+                throw new BadRequestAlertException("Unknown field: " + field, entityName, "fieldinvalid");
+            }
+        }
+        return List.copyOf(result);
+    }
+}
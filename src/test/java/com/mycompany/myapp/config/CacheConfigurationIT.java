@@ -0,0 +1,101 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Authority;
+import com.mycompany.myapp.domain.Conference;
+import com.mycompany.myapp.repository.AuthorityRepository;
+import com.mycompany.myapp.repository.ConferenceRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the Hibernate second-level cache set up by {@link CacheConfiguration}.
+ */
+@IntegrationTest
+class CacheConfigurationIT {
+
+    @Autowired
+    private ConferenceRepository conferenceRepository;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    private Conference conference;
+
+    @BeforeEach
+    public void initTest() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        conference = transactionTemplate.execute(status -> conferenceRepository.save(new Conference().title("Cached conference")));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        statistics.setStatisticsEnabled(false);
+        transactionTemplate.executeWithoutResult(status -> conferenceRepository.deleteById(conference.getId()));
+    }
+
+    @Test
+    void repeatedConferenceReadsSkipTheDatabase() {
+        readConference();
+        long statementsBefore = statistics.getPrepareStatementCount();
+
+        Conference cached = readConference();
+
+        assertThat(cached.getTitle()).isEqualTo("Cached conference");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsBefore);
+        assertThat(statistics.getDomainDataRegionStatistics(Conference.class.getName()).getHitCount()).isPositive();
+    }
+
+    @Test
+    void repeatedAuthorityReadsSkipTheDatabase() {
+        transactionTemplate.executeWithoutResult(status -> authorityRepository.findById(AuthoritiesConstants.USER));
+        long statementsBefore = statistics.getPrepareStatementCount();
+
+        Authority authority = transactionTemplate.execute(status -> authorityRepository.findById(AuthoritiesConstants.USER).orElseThrow());
+
+        assertThat(authority.getName()).isEqualTo(AuthoritiesConstants.USER);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsBefore);
+    }
+
+    @Test
+    void cacheStatisticsArePublished() {
+        readConference();
+        readConference();
+
+        assertThat(
+            meterRegistry.find("cache.gets").tag("cache", Conference.class.getName()).tag("result", "hit").functionCounter()
+        ).isNotNull();
+        assertThat(meterRegistry.find("cache.evictions").tag("cache", Conference.class.getName()).functionCounter()).isNotNull();
+    }
+
+    private Conference readConference() {
+        return transactionTemplate.execute(status -> conferenceRepository.findById(conference.getId()).orElseThrow());
+    }
+}
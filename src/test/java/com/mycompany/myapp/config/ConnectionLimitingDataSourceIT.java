@@ -0,0 +1,37 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.repository.SessionRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for the connection limit of {@link DatabaseConfiguration}.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "application.datasource.connection-limit.enabled=true")
+class ConnectionLimitingDataSourceIT {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Test
+    void dataSourceLimitsTheConnectionsToThePoolSize() {
+        assertThat(dataSource).isInstanceOf(ConnectionLimitingDataSource.class);
+        HikariDataSource pool = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+        assertThat(pool).isNotNull();
+
+        sessionRepository.count();
+
+        assertThat(((ConnectionLimitingDataSource) dataSource).getAvailableConnections()).isEqualTo(pool.getMaximumPoolSize());
+    }
+}
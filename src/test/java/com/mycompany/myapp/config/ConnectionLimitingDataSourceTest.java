@@ -0,0 +1,75 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+/**
+ * Test class for the {@link ConnectionLimitingDataSource} class.
+ */
+class ConnectionLimitingDataSourceTest {
+
+    private DataSource pool;
+
+    private Connection pooledConnection;
+
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        pool = mock(DataSource.class);
+        pooledConnection = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(pooledConnection);
+        dataSource = new ConnectionLimitingDataSource(pool, 2, Duration.ofMillis(10));
+    }
+
+    @Test
+    void delegatesToTheConnection() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+
+        verify(pooledConnection).setAutoCommit(false);
+        assertThat(((ConnectionProxy) connection).getTargetConnection()).isSameAs(pooledConnection);
+        assertThat(dataSource.getAvailableConnections()).isEqualTo(1);
+    }
+
+    @Test
+    void givesThePermitBackOnceWhenTheConnectionIsClosed() throws SQLException {
+        Connection connection = dataSource.getConnection();
+
+        connection.close();
+        connection.close();
+
+        verify(pooledConnection, times(2)).close();
+        assertThat(dataSource.getAvailableConnections()).isEqualTo(2);
+    }
+
+    @Test
+    void failsWhenAllTheConnectionsAreInUse() throws SQLException {
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(dataSource.getAvailableConnections()).isZero();
+    }
+
+    @Test
+    void givesThePermitBackWhenThePoolFails() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("pool exhausted"));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+        assertThat(dataSource.getAvailableConnections()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,78 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.repository.SessionRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the read replica routing of {@link DatabaseConfiguration}, with both pools connected to the
+ * test database.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "application.datasource.replica.enabled=true")
+class DatabaseConfigurationIT {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void setup() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void dataSourceRoutesReadOnlyConnections() {
+        assertThat(dataSource).isInstanceOf(SlowQueryLogDataSource.class);
+        assertThat(DataSourceUnwrapper.unwrap(dataSource, LazyConnectionDataSourceProxy.class)).isNotNull();
+        assertThat(replicaDataSource.isReadOnly()).isTrue();
+        assertThat(replicaDataSource.getPoolName()).endsWith("-replica");
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        transactionTemplate.setReadOnly(true);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            sessionRepository.count();
+            assertThat(replicaDataSource.getHikariPoolMXBean().getActiveConnections()).isEqualTo(1);
+            assertThat(primaryDataSource.getHikariPoolMXBean().getActiveConnections()).isZero();
+        });
+    }
+
+    @Test
+    void readWriteTransactionsUseThePrimary() {
+        transactionTemplate.executeWithoutResult(status -> {
+            sessionRepository.count();
+            assertThat(primaryDataSource.getHikariPoolMXBean().getActiveConnections()).isEqualTo(1);
+            assertThat(replicaDataSource.getHikariPoolMXBean().getActiveConnections()).isZero();
+        });
+    }
+}
@@ -0,0 +1,116 @@
+package com.mycompany.myapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.mycompany.myapp.domain.Attendee;
+import com.mycompany.myapp.domain.Conference;
+import com.mycompany.myapp.domain.Session;
+import com.mycompany.myapp.domain.Speaker;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of the serialization of lists of entities, with the modules of {@link JacksonConfiguration}, with and without
+ * a cached {@link ObjectWriter} for the list type.
+ * <p>
+ * Run with {@code ./mvnw test-compile} then the {@link #main(String[])} method, with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonSerializationBenchmark {
+
+    private static final int SIZE = 200;
+
+    private ObjectMapper objectMapper;
+
+    private ObjectWriter sessionsWriter;
+
+    private ObjectWriter attendeesWriter;
+
+    private List<Session> sessions;
+
+    private List<Attendee> attendees;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        JacksonConfiguration configuration = new JacksonConfiguration();
+        objectMapper = JsonMapper.builder()
+            .addModules(configuration.javaTimeModule(), configuration.jdk8TimeModule(), configuration.hibernate6Module())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        sessionsWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, Session.class));
+        attendeesWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, Attendee.class));
+
+        Conference conference = new Conference().id(1L).version(0L).title("Conference").date(LocalDate.of(2026, 10, 18)).palce("Paris");
+        sessions = new ArrayList<>();
+        attendees = new ArrayList<>();
+        for (long i = 0; i < SIZE; i++) {
+            Speaker speaker = new Speaker().id(i).version(0L).fullName("Speaker " + i).email("speaker" + i + "@localhost").company("Company");
+            Session session = new Session()
+                .id(i)
+                .version(0L)
+                .title("Session " + i)
+                .description("Description of the session " + i)
+                .room("Room " + (i % 10))
+                .speaker(speaker)
+                .conference(conference);
+            sessions.add(session);
+            attendees.add(
+                new Attendee()
+                    .id(i)
+                    .version(0L)
+                    .firstName("First name " + i)
+                    .lastName("Last name " + i)
+                    .email("attendee" + i + "@localhost")
+                    .telephone("+33 1 23 45 67 89")
+                    .addSession(session)
+            );
+        }
+    }
+
+    @Benchmark
+    public byte[] sessions() throws Exception {
+        return objectMapper.writeValueAsBytes(sessions);
+    }
+
+    @Benchmark
+    public byte[] sessionsWithCachedWriter() throws Exception {
+        return sessionsWriter.writeValueAsBytes(sessions);
+    }
+
+    @Benchmark
+    public byte[] attendees() throws Exception {
+        return objectMapper.writeValueAsBytes(attendees);
+    }
+
+    @Benchmark
+    public byte[] attendeesWithCachedWriter() throws Exception {
+        return attendeesWriter.writeValueAsBytes(attendees);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JacksonSerializationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
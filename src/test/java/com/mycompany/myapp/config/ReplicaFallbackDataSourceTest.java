@@ -0,0 +1,88 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ReplicaFallbackDataSource} class.
+ */
+class ReplicaFallbackDataSourceTest {
+
+    private DataSource replica;
+
+    private Connection replicaConnection;
+
+    private Connection primaryConnection;
+
+    private ResultSet lagResultSet;
+
+    private ReplicaFallbackDataSource dataSource;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        replica = mock(DataSource.class);
+        replicaConnection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        lagResultSet = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(lagResultSet);
+        when(lagResultSet.next()).thenReturn(true);
+
+        DataSource primary = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        dataSource = new ReplicaFallbackDataSource(replica, primary, Duration.ofSeconds(5), Duration.ofSeconds(10));
+    }
+
+    @Test
+    void usesTheReplicaWhenItIsHealthy() throws SQLException {
+        when(lagResultSet.getDouble(1)).thenReturn(0.5);
+
+        dataSource.checkReplicaHealth();
+
+        assertThat(dataSource.isReplicaHealthy()).isTrue();
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void fallsBackToThePrimaryWhenTheReplicaLags() throws SQLException {
+        when(lagResultSet.getDouble(1)).thenReturn(30.0);
+
+        dataSource.checkReplicaHealth();
+
+        assertThat(dataSource.isReplicaHealthy()).isFalse();
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+
+        when(lagResultSet.getDouble(1)).thenReturn(0.0);
+
+        dataSource.checkReplicaHealth();
+
+        assertThat(dataSource.isReplicaHealthy()).isTrue();
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void fallsBackToThePrimaryWhenTheReplicaIsDown() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(dataSource.isReplicaHealthy()).isFalse();
+
+        dataSource.checkReplicaHealth();
+
+        assertThat(dataSource.isReplicaHealthy()).isFalse();
+    }
+}
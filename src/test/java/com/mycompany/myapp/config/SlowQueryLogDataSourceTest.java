@@ -0,0 +1,121 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.mycompany.myapp.management.SlowQueryLog;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+/**
+ * Test class for the {@link SlowQueryLogDataSource} class.
+ */
+class SlowQueryLogDataSourceTest {
+
+    private static final String INSERT = "insert into session (id, title) values (?, ?)";
+
+    private static final String UPDATE = "update conference set title = ? where id = ?";
+
+    private Connection pooledConnection;
+
+    private SlowQueryLogDataSource dataSource;
+
+    private Logger logger;
+
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        DataSource pool = mock(DataSource.class);
+        pooledConnection = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(pooledConnection);
+        dataSource = new SlowQueryLogDataSource(pool);
+        logger = (Logger) LoggerFactory.getLogger(SlowQueryLog.class);
+        appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        SlowQueryLog.setThreshold(Duration.ZERO);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        SlowQueryLog.setThreshold(null);
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void logsABatchWithTheSqlItWasPreparedWith() throws SQLException {
+        PreparedStatement insert = mock(PreparedStatement.class);
+        PreparedStatement update = mock(PreparedStatement.class);
+        when(pooledConnection.prepareStatement(INSERT)).thenReturn(insert);
+        when(pooledConnection.prepareStatement(UPDATE)).thenReturn(update);
+        when(insert.executeBatch()).thenAnswer(invocation -> {
+            Thread.sleep(2);
+            return new int[] { 1, 1 };
+        });
+
+        Connection connection = dataSource.getConnection();
+        PreparedStatement batch = connection.prepareStatement(INSERT);
+        batch.addBatch();
+        batch.addBatch();
+        // Hibernate prepares the next statement before it executes the pending batch
+        connection.prepareStatement(UPDATE);
+        batch.executeBatch();
+
+        verify(insert).executeBatch();
+        assertThat(appender.list)
+            .singleElement()
+            .extracting(ILoggingEvent::getFormattedMessage)
+            .asString()
+            .endsWith("2 parameters: " + INSERT);
+    }
+
+    @Test
+    void logsTheBatchOfAStatement() throws SQLException {
+        Statement statement = mock(Statement.class);
+        when(pooledConnection.createStatement()).thenReturn(statement);
+        when(statement.executeBatch()).thenAnswer(invocation -> {
+            Thread.sleep(2);
+            return new int[] { 1, 1 };
+        });
+
+        Statement batch = dataSource.getConnection().createStatement();
+        batch.addBatch("delete from session");
+        batch.addBatch("delete from conference");
+        batch.executeBatch();
+
+        assertThat(appender.list)
+            .singleElement()
+            .extracting(ILoggingEvent::getFormattedMessage)
+            .asString()
+            .endsWith("delete from session; delete from conference");
+    }
+
+    @Test
+    void doesntLogWhenDisabled() throws SQLException {
+        PreparedStatement insert = mock(PreparedStatement.class);
+        when(pooledConnection.prepareStatement(INSERT)).thenReturn(insert);
+        SlowQueryLog.setThreshold(null);
+
+        Connection connection = dataSource.getConnection();
+        connection.prepareStatement(INSERT).executeUpdate();
+
+        verify(insert).executeUpdate();
+        assertThat(((ConnectionProxy) connection).getTargetConnection()).isSameAs(pooledConnection);
+        assertThat(appender.list).isEmpty();
+    }
+}
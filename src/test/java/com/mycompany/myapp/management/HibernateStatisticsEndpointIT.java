@@ -0,0 +1,65 @@
+package com.mycompany.myapp.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.repository.SessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Integration tests for the {@link HibernateStatisticsEndpoint}.
+ */
+@IntegrationTest
+class HibernateStatisticsEndpointIT {
+
+    @Autowired
+    private HibernateStatisticsEndpoint endpoint;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    public void cleanup() {
+        endpoint.configure(false, Duration.ofMillis(-1));
+        endpoint.clear();
+    }
+
+    @Test
+    void statisticsAreDisabledByDefault() {
+        Map<String, Object> statistics = endpoint.statistics();
+
+        assertThat(statistics).containsEntry("enabled", false).containsEntry("slowQueryThresholdMs", null);
+        assertThat(statistics.get("connectionPools")).asInstanceOf(InstanceOfAssertFactories.MAP).isNotEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void statisticsCanBeEnabledAtRuntime() {
+        Map<String, Object> statistics = endpoint.configure(true, Duration.ofMillis(500));
+        assertThat(statistics).containsEntry("enabled", true).containsEntry("slowQueryThresholdMs", 500L);
+
+        sessionRepository.findAllSummaries(PageRequest.of(0, 10));
+
+        Map<String, Object> queries = (Map<String, Object>) endpoint.statistics().get("queries");
+        assertThat((Long) queries.get("executions")).isPositive();
+        assertThat((List<Map<String, Object>>) queries.get("slowest")).isNotEmpty()
+            .allSatisfy(query -> assertThat(query).containsKeys("query", "executions", "maxTimeMs"));
+        assertThat(meterRegistry.find("hibernate.query.executions").functionCounter().count()).isPositive();
+    }
+
+    @Test
+    void slowQueryLogCountsParameters() {
+        assertThat(SlowQueryLog.parameterCount("select s.id from session s where s.id = ? and s.title <> '?' and s.room = ?")).isEqualTo(2);
+    }
+}
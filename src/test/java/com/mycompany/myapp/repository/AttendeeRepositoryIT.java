@@ -0,0 +1,119 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Attendee;
+import com.mycompany.myapp.domain.Session;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the eager loading of {@link AttendeeRepository}, counting the statements prepared by Hibernate.
+ */
+@IntegrationTest
+@Transactional
+class AttendeeRepositoryIT {
+
+    private static final String LAST_NAME_PREFIX = "EagerLoading";
+
+    @Autowired
+    private AttendeeRepository attendeeRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private List<Attendee> attendees;
+
+    @BeforeEach
+    public void initTest() {
+        Session first = new Session().title("first").description("first");
+        Session second = new Session().title("second").description("second");
+        em.persist(first);
+        em.persist(second);
+        attendees = List.of(
+            new Attendee().firstName("A").lastName(LAST_NAME_PREFIX + "A").addSession(first),
+            new Attendee().firstName("B").lastName(LAST_NAME_PREFIX + "B").addSession(first).addSession(second),
+            new Attendee().firstName("C").lastName(LAST_NAME_PREFIX + "C")
+        );
+        attendees.forEach(em::persist);
+        em.flush();
+        em.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void findOneWithEagerRelationshipsRunsASingleQuery() {
+        long statementsBefore = statistics.getPrepareStatementCount();
+
+        Attendee attendee = attendeeRepository.findOneWithEagerRelationships(attendees.get(1).getId()).orElseThrow();
+
+        assertThat(Hibernate.isInitialized(attendee.getSessions())).isTrue();
+        assertThat(attendee.getSessions()).extracting(Session::getTitle).containsExactlyInAnyOrder("first", "second");
+        assertThat(statistics.getPrepareStatementCount() - statementsBefore).isEqualTo(1);
+    }
+
+    @Test
+    void findAllWithEagerRelationshipsKeepsTheDatabaseOrder() {
+        List<Long> ids = attendees.stream().map(Attendee::getId).toList();
+
+        List<Attendee> result = attendeeRepository.findAllWithEagerRelationships(ids, Sort.by(Sort.Direction.DESC, "lastName"));
+
+        assertThat(result).extracting(Attendee::getLastName).containsExactly(
+            LAST_NAME_PREFIX + "C",
+            LAST_NAME_PREFIX + "B",
+            LAST_NAME_PREFIX + "A"
+        );
+        assertThat(result).allSatisfy(attendee -> assertThat(Hibernate.isInitialized(attendee.getSessions())).isTrue());
+        assertThat(result.get(1).getSessions()).hasSize(2);
+    }
+
+    @Test
+    void findAllWithEagerRelationshipsPagesWithABoundedNumberOfQueries() {
+        long total = attendeeRepository.count();
+        long statementsBefore = statistics.getPrepareStatementCount();
+
+        Page<Attendee> page = attendeeRepository.findAllWithEagerRelationships(PageRequest.of(0, 2, Sort.by("lastName")));
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getContent()).allSatisfy(attendee -> assertThat(Hibernate.isInitialized(attendee.getSessions())).isTrue());
+        assertThat(page.getTotalElements()).isEqualTo(total);
+        // ids, join fetch and count
+        assertThat(statistics.getPrepareStatementCount() - statementsBefore).isEqualTo(3);
+    }
+
+    @Test
+    void findAllWithEagerRelationshipsSkipsTheCountOnTheLastPage() {
+        long total = attendeeRepository.count();
+        long statementsBefore = statistics.getPrepareStatementCount();
+
+        Page<Attendee> page = attendeeRepository.findAllWithEagerRelationships(PageRequest.of(0, (int) total + 1));
+
+        assertThat(page.getTotalElements()).isEqualTo(total);
+        assertThat(statistics.getPrepareStatementCount() - statementsBefore).isEqualTo(2);
+    }
+}
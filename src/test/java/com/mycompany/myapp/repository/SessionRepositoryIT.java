@@ -0,0 +1,97 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Conference;
+import com.mycompany.myapp.domain.Session;
+import com.mycompany.myapp.repository.projection.EntityRef;
+import com.mycompany.myapp.repository.projection.SessionSummary;
+import jakarta.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link SessionSummary} projections of {@link SessionRepository}.
+ */
+@IntegrationTest
+@Transactional
+class SessionRepositoryIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SessionRepositoryIT.class);
+
+    private static final int SESSION_COUNT = 500;
+
+    private static final int RUNS = 5;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private Conference conference;
+
+    @BeforeEach
+    public void initTest() {
+        conference = new Conference().title("Projections");
+        em.persist(conference);
+        for (int i = 0; i < SESSION_COUNT; i++) {
+            em.persist(new Session().title("Session " + i).description("Description " + i).room("Room " + i).conference(conference));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void summariesReferenceTheirAssociationsById() {
+        Page<SessionSummary> page = sessionRepository.findAllSummaries(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id")));
+
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(page.getTotalElements()).isGreaterThanOrEqualTo(SESSION_COUNT);
+        SessionSummary summary = page.getContent().get(0);
+        assertThat(summary.conference()).isEqualTo(new EntityRef(conference.getId()));
+        assertThat(summary.speaker()).isNull();
+        assertThat(sessionRepository.findSummaryById(summary.id())).contains(summary);
+        assertThat(em.unwrap(org.hibernate.Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void summariesAllocateLessThanManagedEntities() {
+        Pageable pageable = PageRequest.of(0, SESSION_COUNT, Sort.by("id"));
+
+        long entitiesBytes = allocatedBytes(() -> sessionRepository.findAll(pageable));
+        long summariesBytes = allocatedBytes(() -> sessionRepository.findAllSummaries(pageable));
+
+        LOG.info("Allocated bytes for a page of {} sessions: entities={}, summaries={}", SESSION_COUNT, entitiesBytes, summariesBytes);
+        assertThat(summariesBytes).isLessThan(entitiesBytes);
+    }
+
+    /**
+     * @return the smallest number of bytes allocated by the current thread over several runs, each run starting with an
+     * empty persistence context.
+     */
+    private long allocatedBytes(Supplier<Page<?>> query) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            em.clear();
+            long before = threadMXBean.getThreadAllocatedBytes(threadId);
+            assertThat(query.get().getContent()).hasSize(SESSION_COUNT);
+            min = Math.min(min, threadMXBean.getThreadAllocatedBytes(threadId) - before);
+        }
+        em.clear();
+        return min;
+    }
+}
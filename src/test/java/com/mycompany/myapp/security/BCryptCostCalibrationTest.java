@@ -0,0 +1,47 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.info.Info;
+
+/**
+ * Test class for the {@link BCryptCostCalibration} class.
+ */
+class BCryptCostCalibrationTest {
+
+    @Test
+    void usesTheMinimumCostWhenHashingTakesLongerThanTheTarget() {
+        BCryptCostCalibration calibration = BCryptCostCalibration.calibrate(Duration.ZERO, 5, 8);
+
+        assertThat(calibration.getCost()).isEqualTo(5);
+        assertThat(calibration.getHashTime()).isPositive();
+    }
+
+    @Test
+    void doesNotExceedTheMaximumCost() {
+        BCryptCostCalibration calibration = BCryptCostCalibration.calibrate(Duration.ofMinutes(1), 4, 6);
+
+        assertThat(calibration.getCost()).isEqualTo(6);
+    }
+
+    @Test
+    void rejectsInvalidCosts() {
+        assertThatIllegalArgumentException().isThrownBy(() -> BCryptCostCalibration.calibrate(Duration.ZERO, 3, 10));
+        assertThatIllegalArgumentException().isThrownBy(() -> BCryptCostCalibration.calibrate(Duration.ZERO, 12, 10));
+    }
+
+    @Test
+    void reportsTheCostAndTheHashTime() {
+        Info.Builder builder = new Info.Builder();
+
+        new BCryptCostCalibration(12, Duration.ofMillis(230), Duration.ofMillis(250)).contribute(builder);
+
+        assertThat(builder.build().get("passwordHashing")).isEqualTo(
+            Map.of("algorithm", "bcrypt", "cost", 12, "hashTimeMs", 230L, "targetHashTimeMs", 250L)
+        );
+    }
+}
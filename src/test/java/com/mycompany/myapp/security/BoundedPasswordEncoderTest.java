@@ -0,0 +1,184 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Test class for the {@link BoundedPasswordEncoder} class.
+ */
+class BoundedPasswordEncoderTest {
+
+    private static final Duration MAX_WAIT = Duration.ofSeconds(5);
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(2);
+
+    private PasswordEncoder delegate;
+
+    private MeterRegistry meterRegistry;
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    public void setup() {
+        delegate = mock(PasswordEncoder.class);
+        meterRegistry = new SimpleMeterRegistry();
+        passwordEncoder = new BoundedPasswordEncoder(delegate, 1, 1, MAX_WAIT, RETRY_AFTER, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        passwordEncoder.close();
+    }
+
+    @Test
+    void hashesWithTheDelegateOnTheHashingThreads() {
+        when(delegate.encode("password")).thenAnswer(invocation -> Thread.currentThread().getName());
+        when(delegate.matches("password", "hash")).thenReturn(true);
+
+        assertThat(passwordEncoder.encode("password")).startsWith(BoundedPasswordEncoder.EXECUTOR_NAME);
+        assertThat(passwordEncoder.matches("password", "hash")).isTrue();
+        assertThat(meterRegistry.get("executor").tag("name", BoundedPasswordEncoder.EXECUTOR_NAME).timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void rethrowsTheExceptionsOfTheDelegate() {
+        when(delegate.encode("password")).thenThrow(new IllegalArgumentException("invalid password"));
+
+        assertThatThrownBy(() -> passwordEncoder.encode("password"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("invalid password");
+    }
+
+    @Test
+    void rejectsThePasswordsWhenTheQueueIsFull() throws Exception {
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.encode(any())).thenAnswer(invocation -> {
+            hashing.countDown();
+            release.await();
+            return "hash";
+        });
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("running"));
+        assertThat(hashing.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("queued"));
+        while (passwordEncoder.getQueueSize() == 0) {
+            Thread.sleep(1);
+        }
+
+        assertThatThrownBy(() -> passwordEncoder.encode("rejected"))
+            .isInstanceOf(PasswordHashingRejectedException.class)
+            .extracting(e -> ((PasswordHashingRejectedException) e).getRetryAfter())
+            .isEqualTo(RETRY_AFTER);
+        assertThat(rejected("queue-full")).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+    }
+
+    @Test
+    void rejectsThePasswordsWaitingLongerThanTheMaximumWait() throws Exception {
+        BoundedPasswordEncoder impatientPasswordEncoder = new BoundedPasswordEncoder(
+            delegate,
+            1,
+            1,
+            Duration.ofMillis(50),
+            RETRY_AFTER,
+            meterRegistry
+        );
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.encode(any())).thenAnswer(invocation -> {
+            release.await();
+            return "hash";
+        });
+        try {
+            assertThatThrownBy(() -> impatientPasswordEncoder.encode("password"))
+                .isInstanceOf(PasswordHashingRejectedException.class)
+                .extracting(e -> ((PasswordHashingRejectedException) e).getRetryAfter())
+                .isEqualTo(RETRY_AFTER);
+            assertThat(rejected("timeout")).isEqualTo(1);
+        } finally {
+            release.countDown();
+            impatientPasswordEncoder.close();
+        }
+    }
+
+    @Test
+    void servesTheOtherRequestsWhileTheQueueIsSaturated() throws Exception {
+        int workerThreads = 4;
+        ExecutorService workers = Executors.newFixedThreadPool(workerThreads);
+        BoundedPasswordEncoder serverPasswordEncoder = new BoundedPasswordEncoder(
+            delegate,
+            1,
+            BoundedPasswordEncoder.defaultQueueCapacity(workerThreads, 1),
+            MAX_WAIT,
+            RETRY_AFTER,
+            meterRegistry
+        );
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.matches(any(), any())).thenAnswer(invocation -> {
+            hashing.countDown();
+            release.await();
+            return true;
+        });
+        try {
+            List<Future<Integer>> logins = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                logins.add(
+                    workers.submit(() -> {
+                        try {
+                            return serverPasswordEncoder.matches("password", "hash") ? 200 : 401;
+                        } catch (PasswordHashingRejectedException e) {
+                            return 429;
+                        }
+                    })
+                );
+            }
+            assertThat(hashing.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // the logins hashing or waiting for a hash hold at most half of the workers
+            assertThat(workers.submit(() -> "served").get(5, TimeUnit.SECONDS)).isEqualTo("served");
+
+            release.countDown();
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<Integer> login : logins) {
+                statuses.add(login.get(5, TimeUnit.SECONDS));
+            }
+            assertThat(statuses).containsOnly(200, 429).filteredOn(status -> status == 200).hasSize(2);
+        } finally {
+            release.countDown();
+            serverPasswordEncoder.close();
+            workers.shutdownNow();
+        }
+    }
+
+    @Test
+    void defaultQueueCapacityLeavesHalfOfTheWorkersToTheOtherRequests() {
+        assertThat(BoundedPasswordEncoder.defaultQueueCapacity(64, 8)).isEqualTo(24);
+        assertThat(BoundedPasswordEncoder.defaultQueueCapacity(4, 4)).isEqualTo(1);
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get(BoundedPasswordEncoder.REJECTED_METER_NAME).tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,100 @@
+package com.mycompany.myapp.security;
+
+import static com.mycompany.myapp.security.SecurityUtils.AUTHORITIES_KEY;
+import static com.mycompany.myapp.security.SecurityUtils.JWT_ALGORITHM;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import com.nimbusds.jose.util.Base64;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+/**
+ * Benchmark of the decoding of a token by {@link CachingJwtDecoder}, with a cold cache, with a token without expiration
+ * time which is never kept, and with a warm cache, against the {@link NimbusJwtDecoder} alone.
+ * <p>
+ * Run with {@code ./mvnw test-compile} then the {@link #main(String[])} method, with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class CachingJwtDecoderBenchmark {
+
+    private static final String SECRET = "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
+
+    private String token;
+
+    private String uncachedToken;
+
+    private JwtDecoder nimbusJwtDecoder;
+
+    private JwtDecoder cachingJwtDecoder;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        byte[] keyBytes = Base64.from(SECRET).decode();
+        SecretKey key = new SecretKeySpec(keyBytes, 0, keyBytes.length, JWT_ALGORITHM.getName());
+        NimbusJwtEncoder encoder = new NimbusJwtEncoder(new ImmutableSecret<>(key));
+        Instant now = Instant.now();
+        JwtClaimsSet.Builder claims = JwtClaimsSet.builder()
+            .issuedAt(now)
+            .subject("user")
+            .claim(AUTHORITIES_KEY, List.of(AuthoritiesConstants.USER));
+        uncachedToken = encoder.encode(JwtEncoderParameters.from(JwsHeader.with(JWT_ALGORITHM).build(), claims.build())).getTokenValue();
+        claims.expiresAt(now.plus(1, ChronoUnit.DAYS));
+        token = encoder.encode(JwtEncoderParameters.from(JwsHeader.with(JWT_ALGORITHM).build(), claims.build())).getTokenValue();
+
+        nimbusJwtDecoder = NimbusJwtDecoder.withSecretKey(key).macAlgorithm(JWT_ALGORITHM).build();
+        cachingJwtDecoder = new CachingJwtDecoder(nimbusJwtDecoder, 10_000, new SimpleMeterRegistry());
+        cachingJwtDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt nimbus() {
+        return nimbusJwtDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt coldCache() {
+        return cachingJwtDecoder.decode(uncachedToken);
+    }
+
+    @Benchmark
+    public Jwt warmCache() {
+        return cachingJwtDecoder.decode(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CachingJwtDecoderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,85 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+/**
+ * Test class for the {@link CachingJwtDecoder} class.
+ */
+class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T10:00:00Z");
+
+    private JwtDecoder delegate;
+
+    private MeterRegistry meterRegistry;
+
+    private CachingJwtDecoder jwtDecoder;
+
+    @BeforeEach
+    public void setup() {
+        delegate = mock(JwtDecoder.class);
+        meterRegistry = new SimpleMeterRegistry();
+        jwtDecoder = new CachingJwtDecoder(delegate, 100, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void decodesATokenOnce() {
+        Jwt jwt = jwt("token", NOW.plusSeconds(60));
+        when(delegate.decode("token")).thenReturn(jwt);
+
+        assertThat(jwtDecoder.decode("token")).isSameAs(jwt);
+        assertThat(jwtDecoder.decode("token")).isSameAs(jwt);
+
+        verify(delegate).decode("token");
+        assertThat(meterRegistry.get(CachingJwtDecoder.HIT_RATIO_METER_NAME).gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void decodesEachToken() {
+        when(delegate.decode("token")).thenReturn(jwt("token", NOW.plusSeconds(60)));
+        when(delegate.decode("other")).thenReturn(jwt("other", NOW.plusSeconds(60)));
+
+        assertThat(jwtDecoder.decode("token").getTokenValue()).isEqualTo("token");
+        assertThat(jwtDecoder.decode("other").getTokenValue()).isEqualTo("other");
+    }
+
+    @Test
+    void doesNotCacheExpiredTokens() {
+        when(delegate.decode("token")).thenReturn(jwt("token", NOW.minusSeconds(1)));
+
+        jwtDecoder.decode("token");
+        jwtDecoder.decode("token");
+
+        verify(delegate, times(2)).decode("token");
+    }
+
+    @Test
+    void doesNotCacheFailures() {
+        when(delegate.decode("token")).thenThrow(new BadJwtException("Invalid signature"));
+
+        assertThatThrownBy(() -> jwtDecoder.decode("token")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> jwtDecoder.decode("token")).isInstanceOf(BadJwtException.class);
+
+        verify(delegate, times(2)).decode("token");
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token).header("alg", "HS512").subject("user").issuedAt(NOW.minusSeconds(60)).expiresAt(expiresAt).build();
+    }
+}
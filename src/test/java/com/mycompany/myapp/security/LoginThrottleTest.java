@@ -0,0 +1,151 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Test class for the {@link LoginThrottle} class.
+ */
+class LoginThrottleTest {
+
+    private static final String IP_ADDRESS = "192.0.2.1";
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private MeterRegistry meterRegistry;
+
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        loginThrottle = new LoginThrottle(
+            true,
+            0,
+            new LoginThrottle.Limit(2, Duration.ofMinutes(1)),
+            new LoginThrottle.Limit(5, Duration.ofMinutes(1)),
+            100,
+            meterRegistry,
+            nanos::get
+        );
+    }
+
+    @Test
+    void rejectsTheAttemptsOverTheCapacityOfTheLogin() {
+        loginThrottle.acquire("user", IP_ADDRESS);
+        loginThrottle.acquire("USER", IP_ADDRESS);
+
+        assertThatThrownBy(() -> loginThrottle.acquire("User", IP_ADDRESS))
+            .isInstanceOf(LoginThrottledException.class)
+            .extracting(e -> ((LoginThrottledException) e).getRetryAfter())
+            .isEqualTo(Duration.ofSeconds(30));
+        loginThrottle.acquire("other", IP_ADDRESS);
+        assertThat(throttled("login")).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsTheAttemptsOverTheCapacityOfTheIpAddress() {
+        for (int i = 0; i < 5; i++) {
+            loginThrottle.acquire("user" + i, IP_ADDRESS);
+        }
+
+        assertThatThrownBy(() -> loginThrottle.acquire("user", IP_ADDRESS)).isInstanceOf(LoginThrottledException.class);
+        loginThrottle.acquire("user", "192.0.2.2");
+        assertThat(throttled("ip")).isEqualTo(1);
+        assertThat(loginThrottle.getBucket(LoginThrottle.BucketType.LOGIN, "user")).hasValueSatisfying(bucket ->
+            assertThat(bucket.tokens()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void refillsTheBucketsOverTime() {
+        loginThrottle.acquire("user", IP_ADDRESS);
+        loginThrottle.acquire("user", IP_ADDRESS);
+
+        nanos.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        loginThrottle.acquire("user", IP_ADDRESS);
+        assertThatThrownBy(() -> loginThrottle.acquire("user", IP_ADDRESS)).isInstanceOf(LoginThrottledException.class);
+    }
+
+    @Test
+    void listsTheEmptiestBucketsFirst() {
+        loginThrottle.acquire("user", IP_ADDRESS);
+        loginThrottle.acquire("user", IP_ADDRESS);
+
+        assertThat(loginThrottle.getBuckets(2)).containsExactly(
+            new LoginThrottle.Bucket(LoginThrottle.BucketType.LOGIN, "user", 0),
+            new LoginThrottle.Bucket(LoginThrottle.BucketType.IP, IP_ADDRESS, 3)
+        );
+        assertThat(loginThrottle.getBuckets(1)).hasSize(1);
+    }
+
+    @Test
+    void clearsTheBuckets() {
+        loginThrottle.acquire("user", IP_ADDRESS);
+        loginThrottle.acquire("user", IP_ADDRESS);
+
+        loginThrottle.clear(LoginThrottle.BucketType.LOGIN, "USER");
+
+        assertThat(loginThrottle.getBucket(LoginThrottle.BucketType.LOGIN, "user")).isEmpty();
+        loginThrottle.acquire("user", IP_ADDRESS);
+
+        loginThrottle.clearAll();
+
+        assertThat(loginThrottle.getBuckets(10)).isEmpty();
+    }
+
+    @Test
+    void acceptsEveryAttemptWhenDisabled() {
+        LoginThrottle disabled = new LoginThrottle(
+            false,
+            0,
+            new LoginThrottle.Limit(1, Duration.ofMinutes(1)),
+            new LoginThrottle.Limit(1, Duration.ofMinutes(1)),
+            100,
+            meterRegistry,
+            nanos::get
+        );
+
+        disabled.acquire("user", IP_ADDRESS);
+        disabled.acquire("user", IP_ADDRESS);
+
+        assertThat(disabled.getBuckets(10)).isEmpty();
+    }
+
+    @Test
+    void resolvesTheClientAddressAppendedByTheOutermostTrustedProxy() {
+        LoginThrottle behindTwoProxies = new LoginThrottle(
+            true,
+            2,
+            new LoginThrottle.Limit(1, Duration.ofMinutes(1)),
+            new LoginThrottle.Limit(1, Duration.ofMinutes(1)),
+            100,
+            meterRegistry,
+            nanos::get
+        );
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.2");
+
+        assertThat(behindTwoProxies.getClientAddress(request)).isEqualTo("10.0.0.2");
+
+        // forged by the client, then appended by the outer proxy, then by the inner one
+        request.addHeader("X-Forwarded-For", "203.0.113.9, " + IP_ADDRESS);
+        request.addHeader("X-Forwarded-For", "10.0.0.1");
+
+        assertThat(behindTwoProxies.getClientAddress(request)).isEqualTo(IP_ADDRESS);
+        assertThat(loginThrottle.getClientAddress(request)).isEqualTo("10.0.0.2");
+    }
+
+    private double throttled(String bucket) {
+        return meterRegistry.get(LoginThrottle.THROTTLED_METER_NAME).tag("bucket", bucket).counter().count();
+    }
+}
@@ -0,0 +1,141 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.service.UserService;
+import com.mycompany.myapp.service.dto.AdminUserDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link UserCache}.
+ */
+@Transactional
+@IntegrationTest
+@TestPropertySource(properties = "application.user-cache.maximum-size=100")
+class UserCacheIT {
+
+    private static final String LOGIN = "user-cache";
+    private static final String EMAIL = "user-cache@localhost";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("userDetailsService")
+    private UserDetailsService domainUserDetailsService;
+
+    @Autowired
+    private ActiveUserJwtAuthenticationConverter activeUserJwtAuthenticationConverter;
+
+    private User user;
+
+    @BeforeEach
+    public void init() {
+        user = new User();
+        user.setLogin(LOGIN);
+        user.setPassword(RandomStringUtils.randomAlphanumeric(60));
+        user.setActivated(true);
+        user.setEmail(EMAIL);
+        user.setLangKey("en");
+        userRepository.saveAndFlush(user);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        userCache.clear();
+    }
+
+    @Test
+    void cachesTheUsersByLoginAndByEmail() {
+        double hits = hits();
+
+        User byLogin = userCache.findOneWithAuthoritiesByLogin(LOGIN.toUpperCase()).orElseThrow();
+        User byEmail = userCache.findOneWithAuthoritiesByEmail(EMAIL.toUpperCase()).orElseThrow();
+
+        assertThat(userCache.findOneWithAuthoritiesByLogin(LOGIN)).containsSame(byLogin);
+        assertThat(userCache.findOneWithAuthoritiesByEmail(EMAIL)).containsSame(byEmail);
+        assertThat(hits()).isEqualTo(hits + 2);
+    }
+
+    @Test
+    void doesNotCacheUnknownUsers() {
+        assertThat(userCache.findOneWithAuthoritiesByLogin("unknown-user")).isEmpty();
+
+        assertThat(userCache.findOneWithAuthoritiesByLogin("unknown-user")).isEmpty();
+        assertThat(meterRegistry.get("cache.size").tag("cache", UserCache.CACHE_NAME).gauge().value()).isZero();
+    }
+
+    @Test
+    void deactivatedUsersCantAuthenticate() {
+        assertThat(domainUserDetailsService.loadUserByUsername(LOGIN).isEnabled()).isTrue();
+        assertThat(domainUserDetailsService.loadUserByUsername(EMAIL).isEnabled()).isTrue();
+
+        AdminUserDTO userDTO = new AdminUserDTO(user);
+        userDTO.setActivated(false);
+        userService.updateUser(userDTO);
+
+        assertThatExceptionOfType(UserNotActivatedException.class).isThrownBy(() -> domainUserDetailsService.loadUserByUsername(LOGIN));
+        assertThatExceptionOfType(UserNotActivatedException.class).isThrownBy(() -> domainUserDetailsService.loadUserByUsername(EMAIL));
+    }
+
+    @Test
+    void deletedUsersCantAuthenticate() {
+        domainUserDetailsService.loadUserByUsername(LOGIN);
+
+        userService.deleteUser(LOGIN);
+        userRepository.flush();
+
+        assertThatExceptionOfType(UsernameNotFoundException.class).isThrownBy(() -> domainUserDetailsService.loadUserByUsername(LOGIN));
+    }
+
+    @Test
+    void tokensOfDeactivatedUsersAreRejected() {
+        Jwt jwt = Jwt.withTokenValue("token")
+            .header("alg", "HS512")
+            .subject(LOGIN)
+            .claim(SecurityUtils.AUTHORITIES_KEY, AuthoritiesConstants.USER)
+            .issuedAt(Instant.now())
+            .build();
+        AbstractAuthenticationToken authentication = activeUserJwtAuthenticationConverter.convert(jwt);
+        assertThat(authentication.getName()).isEqualTo(LOGIN);
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly(AuthoritiesConstants.USER);
+
+        AdminUserDTO userDTO = new AdminUserDTO(user);
+        userDTO.setActivated(false);
+        userService.updateUser(userDTO);
+
+        assertThatExceptionOfType(InvalidBearerTokenException.class).isThrownBy(() -> activeUserJwtAuthenticationConverter.convert(jwt));
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets").tag("cache", UserCache.CACHE_NAME).tag("result", "hit").functionCounter().count();
+    }
+}
@@ -1,9 +1,12 @@
 package com.mycompany.myapp.security.jwt;
 
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.config.SecurityConfiguration;
 import com.mycompany.myapp.config.SecurityJwtConfiguration;
 import com.mycompany.myapp.config.WebConfigurer;
+import com.mycompany.myapp.management.QueryMetersService;
 import com.mycompany.myapp.management.SecurityMetersService;
+import com.mycompany.myapp.security.LoginThrottle;
 import com.mycompany.myapp.web.rest.AuthenticateController;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -21,10 +24,13 @@ import tech.jhipster.config.JHipsterProperties;
     },
     classes = {
         JHipsterProperties.class,
+        ApplicationProperties.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
         SecurityMetersService.class,
+        QueryMetersService.class,
+        LoginThrottle.class,
         AuthenticateController.class,
         JwtAuthenticationTestUtils.class,
     }
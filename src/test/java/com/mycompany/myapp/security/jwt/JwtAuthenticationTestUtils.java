@@ -3,12 +3,19 @@ package com.mycompany.myapp.security.jwt;
 import static com.mycompany.myapp.security.SecurityUtils.AUTHORITIES_KEY;
 import static com.mycompany.myapp.security.SecurityUtils.JWT_ALGORITHM;
 
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.security.UserCache;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Instant;
 import java.util.Collections;
+import java.util.Optional;
 import javax.crypto.Mac;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
@@ -25,6 +32,10 @@ public class JwtAuthenticationTestUtils {
 
     public static final String BEARER = "Bearer ";
 
+    public static final String DEACTIVATED_USER = "deactivated";
+
+    public static final String DELETED_USER = "deleted";
+
     @Bean
     private HandlerMappingIntrospector mvcHandlerMappingIntrospector() {
         return new HandlerMappingIntrospector();
@@ -35,6 +46,24 @@ public class JwtAuthenticationTestUtils {
         return new SimpleMeterRegistry();
     }
 
+    @Bean
+    private UserCache userCache() {
+        UserCache userCache = mock(UserCache.class);
+        when(userCache.findOneWithAuthoritiesByLogin(anyString())).thenAnswer(invocation -> Optional.of(user(invocation.getArgument(0))));
+        User deactivated = user(DEACTIVATED_USER);
+        deactivated.setActivated(false);
+        when(userCache.findOneWithAuthoritiesByLogin(DEACTIVATED_USER)).thenReturn(Optional.of(deactivated));
+        when(userCache.findOneWithAuthoritiesByLogin(DELETED_USER)).thenReturn(Optional.empty());
+        return userCache;
+    }
+
+    private static User user(String login) {
+        User user = new User();
+        user.setLogin(login);
+        user.setActivated(true);
+        return user;
+    }
+
     public static String createValidToken(String jwtKey) {
         return createValidTokenForUser(jwtKey, "anonymous");
     }
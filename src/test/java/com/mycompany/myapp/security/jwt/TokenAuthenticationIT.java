@@ -41,6 +41,16 @@ class TokenAuthenticationIT {
         expectUnauthorized(createExpiredToken(jwtKey));
     }
 
+    @Test
+    void testReturnFalseWhenUserIsDeactivated() throws Exception {
+        expectUnauthorized(createValidTokenForUser(jwtKey, DEACTIVATED_USER));
+    }
+
+    @Test
+    void testReturnFalseWhenUserIsDeleted() throws Exception {
+        expectUnauthorized(createValidTokenForUser(jwtKey, DELETED_USER));
+    }
+
     private void expectOk(String token) throws Exception {
         mvc.perform(MockMvcRequestBuilders.get("/api/authenticate").header(AUTHORIZATION, BEARER + token)).andExpect(status().isOk());
     }
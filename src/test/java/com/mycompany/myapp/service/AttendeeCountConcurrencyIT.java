@@ -0,0 +1,169 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the numbers of attendees maintained by the database, when attendees register concurrently.
+ */
+@IntegrationTest
+class AttendeeCountConcurrencyIT {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private static final String CONFERENCE_INSERT =
+        "insert into conference (id, title) values (nextval('sequence_generator'), 'Concurrent') returning id";
+
+    private static final String SESSION_INSERT =
+        "insert into session (id, title, conference_id) values (nextval('sequence_generator'), 'Concurrent', ?) returning id";
+
+    private static final String ATTENDEE_INSERT =
+        "insert into attendee (id, first_name) values (nextval('sequence_generator'), 'Concurrent') returning id";
+
+    private static final String REGISTRATION_INSERT = "insert into rel_attendee__session (attendee_id, session_id) values (?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    private TransactionTemplate transactionTemplate;
+
+    private ExecutorService executor;
+
+    private long conferenceId;
+
+    private long firstSessionId;
+
+    private long secondSessionId;
+
+    private long firstAttendeeId;
+
+    private long secondAttendeeId;
+
+    @BeforeEach
+    public void initTest() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        executor = Executors.newFixedThreadPool(2);
+        conferenceId = insert(CONFERENCE_INSERT);
+        firstSessionId = insert(SESSION_INSERT, conferenceId);
+        secondSessionId = insert(SESSION_INSERT, conferenceId);
+        firstAttendeeId = insert(ATTENDEE_INSERT);
+        secondAttendeeId = insert(ATTENDEE_INSERT);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        executor.shutdownNow();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from rel_attendee__session where attendee_id in (?, ?)", firstAttendeeId, secondAttendeeId);
+            jdbcTemplate.update("delete from attendee where id in (?, ?)", firstAttendeeId, secondAttendeeId);
+            jdbcTemplate.update("delete from session where id in (?, ?)", firstSessionId, secondSessionId);
+            jdbcTemplate.update("delete from conference where id = ?", conferenceId);
+        });
+    }
+
+    @Test
+    void testRegistrationsInOppositeOrdersDontDeadlock() throws Exception {
+        CountDownLatch firstRegistered = new CountDownLatch(1);
+        CountDownLatch secondWaiting = new CountDownLatch(1);
+
+        // like Hibernate, each registration is its own statement; the registrations have their own connections, as the
+        // pool of the tests only has one
+        Future<?> first = executor.submit(() -> {
+            try (Connection connection = connect()) {
+                register(connection, firstAttendeeId, firstSessionId);
+                firstRegistered.countDown();
+                await(secondWaiting);
+                register(connection, firstAttendeeId, secondSessionId);
+                connection.commit();
+            }
+            return null;
+        });
+        await(firstRegistered);
+        Future<?> second = executor.submit(() -> {
+            try (Connection connection = connect()) {
+                register(connection, secondAttendeeId, secondSessionId);
+                register(connection, secondAttendeeId, firstSessionId);
+                connection.commit();
+            }
+            return null;
+        });
+        awaitLockWait();
+        secondWaiting.countDown();
+
+        first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        second.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertThat(attendeeCounts("session", List.of(firstSessionId, secondSessionId))).containsExactly(2, 2);
+        assertThat(attendeeCounts("conference", List.of(conferenceId))).containsExactly(4);
+    }
+
+    private Connection connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(
+            dataSourceProperties.determineUrl(),
+            dataSourceProperties.determineUsername(),
+            dataSourceProperties.determinePassword()
+        );
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    private static void register(Connection connection, long attendeeId, long sessionId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(REGISTRATION_INSERT)) {
+            statement.setLong(1, attendeeId);
+            statement.setLong(2, sessionId);
+            statement.executeUpdate();
+        }
+    }
+
+    private long insert(String sql, Object... args) {
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject(sql, Long.class, args));
+    }
+
+    private List<Integer> attendeeCounts(String table, List<Long> ids) {
+        return ids
+            .stream()
+            .map(id -> jdbcTemplate.queryForObject("select attendee_count from " + table + " where id = ?", Integer.class, id))
+            .toList();
+    }
+
+    private void awaitLockWait() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (jdbcTemplate.queryForObject("select count(*) from pg_locks where not granted", Integer.class) == 0) {
+            assertThat(System.nanoTime()).as("the second registration waits for the first one").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
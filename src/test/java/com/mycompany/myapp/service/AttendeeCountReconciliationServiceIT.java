@@ -0,0 +1,132 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Attendee;
+import com.mycompany.myapp.domain.Conference;
+import com.mycompany.myapp.domain.Session;
+import com.mycompany.myapp.repository.ConferenceRepository;
+import com.mycompany.myapp.repository.SessionRepository;
+import com.mycompany.myapp.repository.projection.SessionSummary;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the numbers of attendees maintained by the database, and for
+ * {@link AttendeeCountReconciliationService}.
+ */
+@IntegrationTest
+@Transactional
+class AttendeeCountReconciliationServiceIT {
+
+    @Autowired
+    private AttendeeCountReconciliationService attendeeCountReconciliationService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private ConferenceRepository conferenceRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private Conference conference;
+
+    private Session session;
+
+    private Attendee attendee;
+
+    @BeforeEach
+    public void initTest() {
+        conference = new Conference().title("Counted");
+        em.persist(conference);
+        session = new Session().title("Counted").conference(conference);
+        em.persist(session);
+        attendee = new Attendee().firstName("Counted").addSession(session);
+        em.persist(attendee);
+        em.persist(new Attendee().firstName("Counted").addSession(session));
+        em.flush();
+    }
+
+    @Test
+    void testCountsAreMaintainedWhenAttendeesRegister() {
+        assertThat(sessionAttendeeCount(session)).isEqualTo(2);
+        assertThat(conferenceAttendeeCount(conference)).isEqualTo(2);
+
+        attendee.removeSession(session);
+        em.flush();
+
+        assertThat(sessionAttendeeCount(session)).isEqualTo(1);
+        assertThat(conferenceAttendeeCount(conference)).isEqualTo(1);
+    }
+
+    @Test
+    void testRegistrationsChangeTheSummaryButNotTheVersionOfTheSession() {
+        SessionSummary summary = sessionRepository.findSummaryById(session.getId()).orElseThrow();
+
+        em.persist(new Attendee().firstName("Counted").addSession(session));
+        em.flush();
+
+        SessionSummary updated = sessionRepository.findSummaryById(session.getId()).orElseThrow();
+        assertThat(updated.attendeeCount()).isEqualTo(summary.attendeeCount() + 1);
+        assertThat(updated.version()).isEqualTo(summary.version());
+    }
+
+    @Test
+    void testRegistrationVersionOnlyGrows() {
+        long version = registrationVersion(conference);
+
+        Attendee other = new Attendee().firstName("Counted").addSession(session);
+        em.persist(other);
+        em.flush();
+        other.removeSession(session);
+        em.flush();
+
+        assertThat(sessionAttendeeCount(session)).isEqualTo(2);
+        assertThat(registrationVersion(conference)).isEqualTo(version + 2);
+    }
+
+    @Test
+    void testCountsMoveWithTheirSession() {
+        Conference other = new Conference().title("Other");
+        em.persist(other);
+        session.setConference(other);
+        em.flush();
+
+        assertThat(conferenceAttendeeCount(conference)).isZero();
+        assertThat(conferenceAttendeeCount(other)).isEqualTo(2);
+    }
+
+    @Test
+    void testDriftIsRepaired() {
+        em.createNativeQuery("update session set attendee_count = 42 where id = :id").setParameter("id", session.getId()).executeUpdate();
+        em
+            .createNativeQuery("update conference set attendee_count = 42 where id = :id")
+            .setParameter("id", conference.getId())
+            .executeUpdate();
+
+        assertThat(attendeeCountReconciliationService.reconcileSessions()).isEqualTo(1);
+        assertThat(attendeeCountReconciliationService.reconcileConferences()).isEqualTo(1);
+
+        assertThat(sessionAttendeeCount(session)).isEqualTo(2);
+        assertThat(conferenceAttendeeCount(conference)).isEqualTo(2);
+        assertThat(attendeeCountReconciliationService.reconcileSessions()).isZero();
+    }
+
+    private int sessionAttendeeCount(Session session) {
+        return sessionRepository.findSummaryById(session.getId()).orElseThrow().attendeeCount();
+    }
+
+    private int conferenceAttendeeCount(Conference conference) {
+        return conferenceRepository.findSummaryById(conference.getId()).orElseThrow().attendeeCount();
+    }
+
+    private long registrationVersion(Conference conference) {
+        return conferenceRepository.findScheduleVersionById(conference.getId()).get(0).registrationVersion();
+    }
+}
@@ -0,0 +1,79 @@
+package com.mycompany.myapp.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Session;
+import com.mycompany.myapp.management.QueryMetersService;
+import com.mycompany.myapp.repository.SessionRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+@AutoConfigureMockMvc
+@WithMockUser
+@IntegrationTest
+@Transactional
+class QueryCountFilterIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testStatementsAreCountedPerEndpoint() throws Exception {
+        Session session = sessionRepository.saveAndFlush(new Session().title("Counted"));
+        long countBefore = statementsSummary("/api/sessions/{id}").count();
+
+        mockMvc
+            .perform(get("/api/sessions/{id}", session.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(QueryCountFilter.QUERY_COUNT_HEADER, "1"));
+
+        DistributionSummary summary = statementsSummary("/api/sessions/{id}");
+        assertThat(summary.count()).isEqualTo(countBefore + 1);
+        assertThat(summary.takeSnapshot().histogramCounts()).hasSize(QueryMetersService.STATEMENTS_SLOS.length);
+        Timer jdbcTime = meterRegistry.get(QueryMetersService.JDBC_TIME_METER_NAME).tag("uri", "/api/sessions/{id}").timer();
+        assertThat(jdbcTime.count()).isPositive();
+        assertThat(jdbcTime.takeSnapshot().histogramCounts()).hasSize(QueryMetersService.JDBC_TIME_SLOS.length);
+    }
+
+    @Test
+    void testHeaderIsSentWithErrors() throws Exception {
+        mockMvc
+            .perform(get("/api/sessions/{id}", Long.MAX_VALUE))
+            .andExpect(status().isNotFound())
+            .andExpect(header().string(QueryCountFilter.QUERY_COUNT_HEADER, "1"));
+    }
+
+    @Test
+    void testStatementsOutsideRequestsAreNotCounted() throws Exception {
+        sessionRepository.saveAndFlush(new Session().title("Not counted"));
+
+        mockMvc.perform(get("/api/sessions/{id}", Long.MAX_VALUE)).andExpect(header().string(QueryCountFilter.QUERY_COUNT_HEADER, "1"));
+    }
+
+    private DistributionSummary statementsSummary(String uri) {
+        return DistributionSummary.builder(QueryMetersService.STATEMENTS_METER_NAME)
+            .baseUnit(QueryMetersService.STATEMENTS_METER_BASE_UNIT)
+            .description(QueryMetersService.STATEMENTS_METER_DESCRIPTION)
+            .tag(QueryMetersService.METHOD_DIMENSION, "GET")
+            .tag(QueryMetersService.URI_DIMENSION, uri)
+            .serviceLevelObjectives(QueryMetersService.STATEMENTS_SLOS)
+            .register(meterRegistry);
+    }
+}
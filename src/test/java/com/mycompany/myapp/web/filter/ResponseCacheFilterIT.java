@@ -0,0 +1,191 @@
+package com.mycompany.myapp.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Attendee;
+import com.mycompany.myapp.domain.Conference;
+import com.mycompany.myapp.domain.Session;
+import com.mycompany.myapp.domain.Speaker;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+@IntegrationTest
+@Transactional
+@TestPropertySource(
+    properties = {
+        "application.response-cache.endpoints.[/api/conferences].invalidated-by=/api/conferences/**",
+        "application.response-cache.endpoints.[/api/speakers].invalidated-by=/api/speakers/**,/api/conferences/**",
+        "application.response-cache.endpoints.[/api/authorities].invalidated-by=/api/authorities/**",
+    }
+)
+class ResponseCacheFilterIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private EntityManager em;
+
+    private Conference conference;
+
+    @BeforeEach
+    public void initTest() {
+        responseCacheFilter.getFilter().invalidateAll();
+        conference = new Conference().title("Cached");
+        em.persist(conference);
+        em.flush();
+    }
+
+    @Test
+    void testResponsesAreCached() throws Exception {
+        MvcResult result = mockMvc
+            .perform(get("/api/conferences"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(QueryCountFilter.QUERY_COUNT_HEADER, not("0")))
+            .andReturn();
+        String eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc
+            .perform(get("/api/conferences"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(QueryCountFilter.QUERY_COUNT_HEADER, "0"))
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(content().string(result.getResponse().getContentAsString()));
+
+        mockMvc.perform(get("/api/conferences").header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isNotModified());
+
+        assertThat(meterRegistry.get(ResponseCacheFilter.HIT_RATIO_METER_NAME).gauge().value()).isPositive();
+        assertThat(meterRegistry.get(ResponseCacheFilter.WEIGHTED_SIZE_METER_NAME).gauge().value()).isGreaterThan(
+            result.getResponse().getContentAsByteArray().length
+        );
+    }
+
+    @Test
+    void testResponsesAreCachedPerParametersAndAuthorities() throws Exception {
+        mockMvc.perform(get("/api/conferences")).andExpect(status().isOk());
+
+        mockMvc
+            .perform(get("/api/conferences").param("sort", "id,desc"))
+            .andExpect(header().string(QueryCountFilter.QUERY_COUNT_HEADER, not("0")));
+        mockMvc
+            .perform(get("/api/conferences").with(user("user").authorities(new SimpleGrantedAuthority(AuthoritiesConstants.USER))))
+            .andExpect(header().string(QueryCountFilter.QUERY_COUNT_HEADER, not("0")));
+    }
+
+    @Test
+    void testWritesEvictTheResponsesTheyChange() throws Exception {
+        mockMvc.perform(get("/api/conferences")).andExpect(jsonPath("$.[*].id").value(hasItem(conference.getId().intValue())));
+
+        mockMvc.perform(delete("/api/conferences/{id}", conference.getId())).andExpect(status().isNoContent());
+
+        mockMvc
+            .perform(get("/api/conferences"))
+            .andExpect(header().string(QueryCountFilter.QUERY_COUNT_HEADER, not("0")))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(conference.getId().intValue()))));
+    }
+
+    @Test
+    void testWritesToDependenciesEvictTheResponses() throws Exception {
+        Speaker speaker = new Speaker().fullName("Cached").addConference(conference);
+        em.persist(speaker);
+        em.flush();
+        mockMvc.perform(get("/api/speakers")).andExpect(status().isOk());
+
+        // the conferences are written in the speakers
+        mockMvc
+            .perform(
+                put("/api/conferences/{id}", conference.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(new Conference().id(conference.getId()).title("Renamed")))
+            )
+            .andExpect(status().isOk());
+
+        mockMvc
+            .perform(get("/api/speakers"))
+            .andExpect(header().string(QueryCountFilter.QUERY_COUNT_HEADER, not("0")))
+            .andExpect(jsonPath("$.[?(@.id == " + speaker.getId() + ")].conferences[0].title").value(hasItem("Renamed")));
+    }
+
+    @Test
+    void testFailedWritesDontEvictTheResponses() throws Exception {
+        mockMvc.perform(get("/api/conferences")).andExpect(status().isOk());
+
+        mockMvc
+            .perform(
+                put("/api/conferences/{id}", conference.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(new Conference().id(Long.MAX_VALUE).title("Renamed")))
+            )
+            .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/conferences")).andExpect(header().string(QueryCountFilter.QUERY_COUNT_HEADER, "0"));
+    }
+
+    @Test
+    void testRegistrationsDontEvictTheConferences() throws Exception {
+        Session session = new Session().title("Cached").conference(conference);
+        em.persist(session);
+        Attendee attendee = new Attendee().firstName("Cached").addSession(session);
+        em.persist(attendee);
+        em.flush();
+        mockMvc.perform(get("/api/conferences")).andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/attendees/{id}", attendee.getId())).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/conferences")).andExpect(header().string(QueryCountFilter.QUERY_COUNT_HEADER, "0"));
+    }
+
+    @Test
+    void testOtherWritesDontEvictTheResponses() throws Exception {
+        mockMvc.perform(get("/api/authorities")).andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/conferences/{id}", conference.getId())).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/authorities")).andExpect(header().string(QueryCountFilter.QUERY_COUNT_HEADER, "0"));
+    }
+
+    @Test
+    void testStreamedResponsesAreNotCached() throws Exception {
+        mockMvc.perform(get("/api/conferences").accept(MediaType.APPLICATION_NDJSON)).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/conferences")).andExpect(header().string(QueryCountFilter.QUERY_COUNT_HEADER, not("0")));
+    }
+}
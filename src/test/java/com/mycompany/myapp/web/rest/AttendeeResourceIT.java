@@ -1,34 +1,55 @@
 package com.mycompany.myapp.web.rest;
 
 import static com.mycompany.myapp.domain.AttendeeAsserts.*;
+import static com.mycompany.myapp.web.rest.TestUtil.convertObjectToMergePatch;
 import static com.mycompany.myapp.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.domain.Attendee;
+import com.mycompany.myapp.domain.Conference;
+import com.mycompany.myapp.domain.Session;
 import com.mycompany.myapp.repository.AttendeeRepository;
+import com.mycompany.myapp.repository.ConferenceRepository;
+import com.mycompany.myapp.repository.SessionRepository;
+import com.mycompany.myapp.web.rest.util.CsvUtil;
+import com.mycompany.myapp.web.rest.util.KeysetPaginationUtil;
 import jakarta.persistence.EntityManager;
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -40,6 +61,8 @@ import org.springframework.transaction.annotation.Transactional;
 @WithMockUser
 class AttendeeResourceIT {
 
+    private static final Logger LOG = LoggerFactory.getLogger(AttendeeResourceIT.class);
+
     private static final String DEFAULT_FIRST_NAME = "AAAAAAAAAA";
     private static final String UPDATED_FIRST_NAME = "BBBBBBBBBB";
 
@@ -70,6 +93,15 @@ class AttendeeResourceIT {
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private ConferenceRepository conferenceRepository;
+
+    @Autowired
+    private AttendeeResource attendeeResource;
+
     @Autowired
     private MockMvc restAttendeeMockMvc;
 
@@ -115,7 +147,7 @@ class AttendeeResourceIT {
     @AfterEach
     public void cleanup() {
         if (insertedAttendee != null) {
-            attendeeRepository.delete(insertedAttendee);
+            attendeeRepository.deleteById(insertedAttendee.getId());
             insertedAttendee = null;
         }
     }
@@ -159,6 +191,169 @@ class AttendeeResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    void bulkSaveAttendees() throws Exception {
+        insertedAttendee = attendeeRepository.saveAndFlush(attendee);
+        List<Attendee> attendees = List.of(
+            createEntity(em),
+            createUpdatedEntity(em).id(insertedAttendee.getId()),
+            createEntity(em)
+        );
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        MvcResult mvcResult = restAttendeeMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .content(om.writeValueAsBytes(attendees))
+            )
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        String body = restAttendeeMockMvc
+            .perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : body.lines().toList()) {
+            results.add(om.readTree(line));
+        }
+
+        assertThat(results).extracting(result -> result.get("status").asText()).containsExactly("CREATED", "UPDATED", "CREATED");
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeCreate + 2);
+        assertAttendeeUpdatableFieldsEquals(createUpdatedEntity(em), getPersistedAttendee(insertedAttendee));
+        attendeeRepository.deleteAllById(List.of(results.get(0).get("id").asLong(), results.get(2).get("id").asLong()));
+    }
+
+    @Test
+    void createAndUpdateAttendeeWithSessionsById() throws Exception {
+        Session session = sessionRepository.saveAndFlush(SessionResourceIT.createEntity(em));
+        Session otherSession = sessionRepository.saveAndFlush(SessionResourceIT.createEntity(em));
+        try {
+            // the sessions are only referenced by id, without version
+            ObjectNode body = om.valueToTree(attendee);
+            body.putArray("sessions").addObject().put("id", session.getId());
+            insertedAttendee = om.readValue(
+                restAttendeeMockMvc
+                    .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(body)))
+                    .andExpect(status().isCreated())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString(),
+                Attendee.class
+            );
+            assertThat(attendeeRepository.findOneWithEagerRelationships(insertedAttendee.getId()).orElseThrow().getSessions())
+                .extracting(Session::getId)
+                .containsExactly(session.getId());
+
+            body.put("id", insertedAttendee.getId());
+            body.putArray("sessions").addObject().put("id", otherSession.getId());
+            restAttendeeMockMvc
+                .perform(
+                    put(ENTITY_API_URL_ID, insertedAttendee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(body))
+                )
+                .andExpect(status().isOk());
+            assertThat(attendeeRepository.findOneWithEagerRelationships(insertedAttendee.getId()).orElseThrow().getSessions())
+                .extracting(Session::getId)
+                .containsExactly(otherSession.getId());
+        } finally {
+            if (insertedAttendee != null) {
+                attendeeRepository.deleteById(insertedAttendee.getId());
+                insertedAttendee = null;
+            }
+            sessionRepository.deleteAllById(List.of(session.getId(), otherSession.getId()));
+        }
+    }
+
+    @Test
+    void exportAttendeesOfAConference() throws Exception {
+        Conference conference = conferenceRepository.saveAndFlush(new Conference().title("Export"));
+        Session first = sessionRepository.saveAndFlush(new Session().title("First").conference(conference));
+        Session second = sessionRepository.saveAndFlush(new Session().title("Second").conference(conference));
+        insertedAttendee = attendeeRepository.saveAndFlush(
+            new Attendee().firstName("Ada").lastName("Lovelace, \"Countess\"").email("ada@example.com").addSession(second).addSession(first)
+        );
+        Attendee otherAttendee = attendeeRepository.saveAndFlush(new Attendee().firstName("Other"));
+
+        try {
+            String csv = export(CsvUtil.TEXT_CSV_VALUE, conference.getId());
+            assertThat(csv).isEqualTo(
+                "first_name,last_name,email,telephone,session_ids\r\n" +
+                "Ada,\"Lovelace, \"\"Countess\"\"\",ada@example.com,," +
+                first.getId() +
+                "|" +
+                second.getId() +
+                "\r\n"
+            );
+
+            JsonNode json = om.readTree(export(MediaType.APPLICATION_NDJSON_VALUE, conference.getId()));
+            assertThat(json.get("id").asLong()).isEqualTo(insertedAttendee.getId());
+            assertThat(json.get("lastName").asText()).isEqualTo("Lovelace, \"Countess\"");
+            assertThat(json.get("sessionIds").asText()).isEqualTo(first.getId() + "|" + second.getId());
+        } finally {
+            attendeeRepository.delete(otherAttendee);
+            attendeeRepository.delete(insertedAttendee);
+            insertedAttendee = null;
+            sessionRepository.deleteAll(List.of(first, second));
+            conferenceRepository.delete(conference);
+        }
+    }
+
+    private String export(String mediaType, Long conferenceId) throws Exception {
+        MvcResult mvcResult = restAttendeeMockMvc
+            .perform(get(ENTITY_API_URL + "/export").param("conferenceId", conferenceId.toString()).accept(mediaType))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        return restAttendeeMockMvc
+            .perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(mediaType))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    }
+
+    @Test
+    @Transactional
+    @Timeout(value = 2, unit = TimeUnit.MINUTES)
+    void exportOneMillionAttendeesInConstantMemory() throws Exception {
+        int count = 1_000_000;
+        em
+            .createNativeQuery(
+                "insert into attendee (id, first_name, last_name, email, telephone) " +
+                "select g, 'First ' || g, 'Last ' || g, 'attendee' || g || '@example.com', '+33 1 23 45 67 89' " +
+                "from generate_series(2000000000, 2000000000 + :count - 1) g"
+            )
+            .setParameter("count", count)
+            .executeUpdate();
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long baseline = runtime.totalMemory() - runtime.freeMemory();
+        long[] lines = { 0 };
+        long[] maxGrowth = { 0 };
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) {
+                if (b == '\n' && ++lines[0] % 200_000 == 0) {
+                    // the memory retained while exporting, a full materialization would hold hundreds of megabytes
+                    System.gc();
+                    maxGrowth[0] = Math.max(maxGrowth[0], runtime.totalMemory() - runtime.freeMemory() - baseline);
+                }
+            }
+        };
+
+        long start = System.currentTimeMillis();
+        attendeeResource.exportAttendeesAsCsv(null).getBody().writeTo(new BufferedOutputStream(out));
+        LOG.info("Exported {} attendees in {} ms, retaining at most {} bytes", count, System.currentTimeMillis() - start, maxGrowth[0]);
+
+        assertThat(lines[0]).isGreaterThan(count);
+        assertThat(maxGrowth[0]).isLessThan(64L * 1024 * 1024);
+    }
+
     @Test
     @Transactional
     void getAllAttendees() throws Exception {
@@ -177,6 +372,56 @@ class AttendeeResourceIT {
             .andExpect(jsonPath("$.[*].telephone").value(hasItem(DEFAULT_TELEPHONE)));
     }
 
+    @Test
+    @Transactional
+    void getAllAttendeesWithKeysetPagination() throws Exception {
+        // Initialize the database
+        insertedAttendee = attendeeRepository.saveAndFlush(attendee);
+
+        // Get the first window
+        restAttendeeMockMvc
+            .perform(get(ENTITY_API_URL + "?size=1&after="))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.length()").value(1));
+
+        // Start right before the inserted attendee
+        String cursor = KeysetPaginationUtil.encodeCursor(ScrollPosition.forward(Map.of("id", attendee.getId() - 1)));
+        restAttendeeMockMvc
+            .perform(get(ENTITY_API_URL + "?size=1&after={cursor}", cursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(attendee.getId().intValue()))
+            .andExpect(jsonPath("$.[0].firstName").value(DEFAULT_FIRST_NAME));
+    }
+
+    @Test
+    @Transactional
+    void getAllAttendeesWithETagChangesWithTheirSessions() throws Exception {
+        Session session = sessionRepository.saveAndFlush(new Session().title("Tagged"));
+        insertedAttendee = attendeeRepository.saveAndFlush(attendee.addSession(session));
+        String cursor = KeysetPaginationUtil.encodeCursor(ScrollPosition.forward(Map.of("id", attendee.getId() - 1)));
+        String eTag = restAttendeeMockMvc
+            .perform(get(ENTITY_API_URL + "?size=1&after={cursor}", cursor))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotNull();
+
+        restAttendeeMockMvc
+            .perform(get(ENTITY_API_URL + "?size=1&after={cursor}", cursor).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        // the sessions are embedded in the attendees, so updating one changes the tag of the attendees
+        sessionRepository.saveAndFlush(session.title("Retitled"));
+        restAttendeeMockMvc
+            .perform(get(ENTITY_API_URL + "?size=1&after={cursor}", cursor).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].sessions[0].title").value("Retitled"))
+            .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
     @SuppressWarnings({ "unchecked" })
     void getAllAttendeesWithEagerRelationshipsIsEnabled() throws Exception {
         when(attendeeRepositoryMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
@@ -315,7 +560,7 @@ class AttendeeResourceIT {
             .perform(
                 patch(ENTITY_API_URL_ID, partialUpdatedAttendee.getId())
                     .contentType("application/merge-patch+json")
-                    .content(om.writeValueAsBytes(partialUpdatedAttendee))
+                    .content(convertObjectToMergePatch(om, partialUpdatedAttendee))
             )
             .andExpect(status().isOk());
 
@@ -343,7 +588,7 @@ class AttendeeResourceIT {
             .perform(
                 patch(ENTITY_API_URL_ID, partialUpdatedAttendee.getId())
                     .contentType("application/merge-patch+json")
-                    .content(om.writeValueAsBytes(partialUpdatedAttendee))
+                    .content(convertObjectToMergePatch(om, partialUpdatedAttendee))
             )
             .andExpect(status().isOk());
 
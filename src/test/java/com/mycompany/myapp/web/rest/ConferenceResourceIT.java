@@ -1,16 +1,24 @@
 package com.mycompany.myapp.web.rest;
 
 import static com.mycompany.myapp.domain.ConferenceAsserts.*;
+import static com.mycompany.myapp.web.rest.TestUtil.convertObjectToMergePatch;
 import static com.mycompany.myapp.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Attendee;
 import com.mycompany.myapp.domain.Conference;
+import com.mycompany.myapp.domain.Session;
+import com.mycompany.myapp.domain.Speaker;
 import com.mycompany.myapp.repository.ConferenceRepository;
+import com.mycompany.myapp.web.filter.QueryCountFilter;
+import com.mycompany.myapp.web.rest.util.ETagUtil;
+import jakarta.persistence.Cache;
 import jakarta.persistence.EntityManager;
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -21,6 +29,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -46,6 +55,8 @@ class ConferenceResourceIT {
     private static final String DEFAULT_PALCE = "AAAAAAAAAA";
     private static final String UPDATED_PALCE = "BBBBBBBBBB";
 
+    private static final String ENTITY_NAME = "conference";
+
     private static final String ENTITY_API_URL = "/api/conferences";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
 
@@ -106,7 +117,7 @@ class ConferenceResourceIT {
     @AfterEach
     public void cleanup() {
         if (insertedConference != null) {
-            conferenceRepository.delete(insertedConference);
+            conferenceRepository.deleteById(insertedConference.getId());
             insertedConference = null;
         }
     }
@@ -184,6 +195,30 @@ class ConferenceResourceIT {
             .andExpect(jsonPath("$.[*].palce").value(hasItem(DEFAULT_PALCE)));
     }
 
+    @Test
+    @Transactional
+    void getAllConferencesWithETag() throws Exception {
+        insertedConference = conferenceRepository.saveAndFlush(conference);
+        String eTag = restConferenceMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restConferenceMockMvc
+            .perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        conferenceRepository.delete(conference);
+        insertedConference = null;
+        restConferenceMockMvc
+            .perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
     @Test
     @Transactional
     void getConference() throws Exception {
@@ -202,6 +237,76 @@ class ConferenceResourceIT {
             .andExpect(jsonPath("$.palce").value(DEFAULT_PALCE));
     }
 
+    @Test
+    @Transactional
+    void getAllConferencesWithIgnoredFields() throws Exception {
+        insertedConference = conferenceRepository.saveAndFlush(conference);
+
+        restConferenceMockMvc
+            .perform(get(ENTITY_API_URL + "?fields=title"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].title").value(hasItem(DEFAULT_TITLE)));
+        restConferenceMockMvc
+            .perform(get(ENTITY_API_URL + "?fields=title,registrationVersion"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.fieldinvalid"));
+    }
+
+    @Test
+    @Transactional
+    void getConferenceSchedule() throws Exception {
+        em.persist(conference);
+        Speaker speaker = SpeakerResourceIT.createEntity(em);
+        em.persist(speaker);
+        Session keynote = SessionResourceIT.createEntity(em).title("Keynote").room("A").conference(conference).speaker(speaker);
+        Session workshop = SessionResourceIT.createEntity(em).title("Workshop").room("B").conference(conference);
+        em.persist(workshop);
+        em.persist(keynote);
+        for (int i = 0; i < 2; i++) {
+            Attendee attendee = AttendeeResourceIT.createEntity(em).addSession(keynote);
+            em.persist(attendee);
+        }
+        em.flush();
+
+        String eTag = restConferenceMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/schedule", conference.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(QueryCountFilter.QUERY_COUNT_HEADER, "3"))
+            .andExpect(jsonPath("$.conference.id").value(conference.getId().intValue()))
+            .andExpect(jsonPath("$.conference.title").value(DEFAULT_TITLE))
+            .andExpect(jsonPath("$.sessions.length()").value(2))
+            .andExpect(jsonPath("$.sessions[0].id").value(keynote.getId().intValue()))
+            .andExpect(jsonPath("$.sessions[0].room").value("A"))
+            .andExpect(jsonPath("$.sessions[0].speaker.id").value(speaker.getId().intValue()))
+            .andExpect(jsonPath("$.sessions[0].speaker.fullName").value(speaker.getFullName()))
+            .andExpect(jsonPath("$.sessions[0].speaker.email").doesNotExist())
+            .andExpect(jsonPath("$.sessions[0].attendeeCount").value(2))
+            .andExpect(jsonPath("$.sessions[1].id").value(workshop.getId().intValue()))
+            .andExpect(jsonPath("$.sessions[1].speaker").isEmpty())
+            .andExpect(jsonPath("$.sessions[1].attendeeCount").value(0))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restConferenceMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/schedule", conference.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        em.persist(AttendeeResourceIT.createEntity(em).addSession(workshop));
+        em.flush();
+        restConferenceMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/schedule", conference.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+            .andExpect(jsonPath("$.sessions[1].attendeeCount").value(1));
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingConferenceSchedule() throws Exception {
+        restConferenceMockMvc.perform(get(ENTITY_API_URL_ID + "/schedule", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     void getNonExistingConference() throws Exception {
@@ -305,7 +410,7 @@ class ConferenceResourceIT {
             .perform(
                 patch(ENTITY_API_URL_ID, partialUpdatedConference.getId())
                     .contentType("application/merge-patch+json")
-                    .content(om.writeValueAsBytes(partialUpdatedConference))
+                    .content(convertObjectToMergePatch(om, partialUpdatedConference))
             )
             .andExpect(status().isOk());
 
@@ -336,7 +441,7 @@ class ConferenceResourceIT {
             .perform(
                 patch(ENTITY_API_URL_ID, partialUpdatedConference.getId())
                     .contentType("application/merge-patch+json")
-                    .content(om.writeValueAsBytes(partialUpdatedConference))
+                    .content(convertObjectToMergePatch(om, partialUpdatedConference))
             )
             .andExpect(status().isOk());
 
@@ -346,6 +451,52 @@ class ConferenceResourceIT {
         assertConferenceUpdatableFieldsEquals(partialUpdatedConference, getPersistedConference(partialUpdatedConference));
     }
 
+    @Test
+    void patchConferenceEvictsOnlyItFromTheCache() throws Exception {
+        insertedConference = conferenceRepository.saveAndFlush(conference);
+        Conference other = conferenceRepository.saveAndFlush(createEntity(em));
+        Cache cache = em.getEntityManagerFactory().getCache();
+        try {
+            conferenceRepository.findById(conference.getId());
+            conferenceRepository.findById(other.getId());
+            assertThat(cache.contains(Conference.class, conference.getId())).isTrue();
+            assertThat(cache.contains(Conference.class, other.getId())).isTrue();
+
+            restConferenceMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, conference.getId())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"title\": \"" + UPDATED_TITLE + "\"}")
+                )
+                .andExpect(status().isOk());
+
+            assertThat(cache.contains(Conference.class, conference.getId())).isFalse();
+            assertThat(cache.contains(Conference.class, other.getId())).isTrue();
+            assertThat(conferenceRepository.findById(conference.getId()).orElseThrow().getTitle()).isEqualTo(UPDATED_TITLE);
+        } finally {
+            conferenceRepository.deleteById(other.getId());
+        }
+    }
+
+    @Test
+    @Transactional
+    void patchConferenceWithVersionOtherThanIfMatch() throws Exception {
+        insertedConference = conferenceRepository.saveAndFlush(conference);
+        String eTag = ETagUtil.entityTag(ENTITY_NAME, conference.getId(), conference.getVersion());
+
+        restConferenceMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, conference.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType("application/merge-patch+json")
+                    .content("{\"version\": " + (conference.getVersion() + 1) + ", \"title\": \"" + UPDATED_TITLE + "\"}")
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.patchinvalid"));
+
+        assertThat(getPersistedConference(conference).getTitle()).isEqualTo(DEFAULT_TITLE);
+    }
+
     @Test
     @Transactional
     void patchNonExistingConference() throws Exception {
@@ -0,0 +1,242 @@
+package com.mycompany.myapp.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Attendee;
+import com.mycompany.myapp.domain.Conference;
+import com.mycompany.myapp.domain.Session;
+import com.mycompany.myapp.domain.Speaker;
+import com.mycompany.myapp.repository.AttendeeRepository;
+import com.mycompany.myapp.repository.ConferenceRepository;
+import com.mycompany.myapp.repository.SessionRepository;
+import com.mycompany.myapp.repository.SpeakerRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link CsvImportResource} REST controller.
+ * <p>
+ * The imports run in their own transaction, so the tests are not transactional and delete their rows afterwards.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class CsvImportResourceIT {
+
+    private static final String API_URL = "/api/admin/imports";
+
+    private static final String TEXT_CSV = "text/csv";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AttendeeRepository attendeeRepository;
+
+    @Autowired
+    private SpeakerRepository speakerRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private ConferenceRepository conferenceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc restCsvImportMockMvc;
+
+    @AfterEach
+    public void cleanup() {
+        // connections don't auto-commit, so the deletes need a transaction
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update(
+                "delete from rel_attendee__session where attendee_id in (select id from attendee where email like '%@import.test')"
+            );
+            jdbcTemplate.update("delete from attendee where email like '%@import.test'");
+            jdbcTemplate.update("delete from session where title like 'import-%'");
+            jdbcTemplate.update(
+                "delete from rel_speaker__conference where speaker_id in (select id from speaker where email like '%@import.test')"
+            );
+            jdbcTemplate.update("delete from speaker where email like '%@import.test'");
+            jdbcTemplate.update("delete from conference where title like 'import-%'");
+        });
+    }
+
+    @Test
+    void importAttendees() throws Exception {
+        Session session = sessionRepository.saveAndFlush(new Session().title("import-session"));
+        Attendee existing = attendeeRepository.saveAndFlush(
+            new Attendee().firstName("Old").lastName("Name").email("existing@import.test").telephone("555")
+        );
+        String csv =
+            """
+            first_name,last_name,email,telephone,session_ids
+            Ada,Lovelace,ada@import.test,123,%1$d
+            Grace,Hopper,EXISTING@import.test,,%1$d
+            Alan,Turing,alan@import.test,,%1$d|999999999999
+            Bad,Ids,bad@import.test,,abc
+            Ada,Again,ada@import.test,,
+            """.formatted(session.getId());
+
+        JsonNode result = om.readTree(
+            restCsvImportMockMvc
+                .perform(post(API_URL + "/attendees").contentType(TEXT_CSV).content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.type").value("attendees"))
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.rowsRead").value(5))
+                .andExpect(jsonPath("$.rowsCreated").value(1))
+                .andExpect(jsonPath("$.rowsUpdated").value(1))
+                .andExpect(jsonPath("$.rowsRejected").value(3))
+                .andExpect(jsonPath("$.rejectedRows[0].row").value(3))
+                .andExpect(jsonPath("$.rejectedRows[0].reason").value("session_ids contains an unknown session"))
+                .andExpect(jsonPath("$.rejectedRows[1].row").value(4))
+                .andExpect(jsonPath("$.rejectedRows[1].reason").value("session_ids must be session ids separated by |"))
+                .andExpect(jsonPath("$.rejectedRows[2].row").value(5))
+                .andExpect(jsonPath("$.rejectedRows[2].reason").value("email is already used by a previous row"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+        );
+
+        assertThat(jdbcTemplate.queryForList("select email from attendee where email like '%@import.test' order by email", String.class))
+            .containsExactly("ada@import.test", "existing@import.test");
+        assertThat(
+            jdbcTemplate.queryForMap("select first_name, last_name, telephone from attendee where id = ?", existing.getId())
+        ).containsEntry("first_name", "Grace").containsEntry("last_name", "Hopper").containsEntry("telephone", "555");
+        assertThat(
+            jdbcTemplate.queryForList(
+                "select a.email from rel_attendee__session r join attendee a on a.id = r.attendee_id where r.session_id = ? order by a.email",
+                String.class,
+                session.getId()
+            )
+        ).containsExactly("ada@import.test", "existing@import.test");
+
+        // the ids allocated by the import don't collide with the ones Hibernate hands out
+        for (int i = 0; i < 60; i++) {
+            attendeeRepository.saveAndFlush(new Attendee().email("hibernate" + i + "@import.test"));
+        }
+
+        restCsvImportMockMvc
+            .perform(get(API_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(result.get("id").asText())));
+        restCsvImportMockMvc
+            .perform(get(API_URL + "/{id}", result.get("id").asText()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("COMPLETED"))
+            .andExpect(jsonPath("$.bytesRead").value(csv.length()));
+    }
+
+    @Test
+    void importSpeakersEvictsTheSecondLevelCache() throws Exception {
+        Conference conference = conferenceRepository.saveAndFlush(new Conference().title("import-conference"));
+        Speaker existing = speakerRepository.saveAndFlush(new Speaker().fullName("Jane").email("jane@import.test").company("Old"));
+        assertThat(speakerRepository.findById(existing.getId())).get().extracting(Speaker::getCompany).isEqualTo("Old");
+        String csv =
+            """
+            full_name;email;company;conference_ids
+            Jane Doe;JANE@import.test;New;%1$d
+            Bob;bob@import.test;;%1$d|x
+            """.formatted(conference.getId());
+
+        restCsvImportMockMvc
+            .perform(post(API_URL + "/speakers").param("delimiter", ";").contentType(TEXT_CSV).content(csv))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rowsCreated").value(0))
+            .andExpect(jsonPath("$.rowsUpdated").value(1))
+            .andExpect(jsonPath("$.rowsRejected").value(1))
+            .andExpect(jsonPath("$.rejectedRows[0].row").value(2));
+
+        Speaker speaker = speakerRepository.findById(existing.getId()).orElseThrow();
+        assertThat(speaker.getFullName()).isEqualTo("Jane Doe");
+        assertThat(speaker.getCompany()).isEqualTo("New");
+        assertThat(
+            jdbcTemplate.queryForList("select conference_id from rel_speaker__conference where speaker_id = ?", Long.class, existing.getId())
+        ).containsExactly(conference.getId());
+    }
+
+    @Test
+    void importSessions() throws Exception {
+        Speaker speaker = speakerRepository.saveAndFlush(new Speaker().fullName("Speaker").email("speaker@import.test"));
+        String csv =
+            """
+            title,description,room,speaker_id,conference_id
+            import-one,"A description, with a comma",Room 1,%d,
+            ,No title,Room 2,,
+            import-unknown-conference,,,,999999999999
+            import-bad-speaker,,,x,
+            """.formatted(speaker.getId());
+
+        restCsvImportMockMvc
+            .perform(post(API_URL + "/sessions").contentType(TEXT_CSV).content(csv))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rowsCreated").value(1))
+            .andExpect(jsonPath("$.rowsRejected").value(3))
+            .andExpect(jsonPath("$.rejectedRows[0].reason").value("title is required"))
+            .andExpect(jsonPath("$.rejectedRows[1].reason").value("conference_id is an unknown conference"))
+            .andExpect(jsonPath("$.rejectedRows[2].reason").value("speaker_id and conference_id must be ids"));
+
+        List<Long> ids = jdbcTemplate.queryForList("select id from session where title like 'import-%'", Long.class);
+        assertThat(ids).hasSize(1);
+        assertThat(jdbcTemplate.queryForMap("select description, room, speaker_id from session where id = ?", ids.get(0)))
+            .containsEntry("description", "A description, with a comma")
+            .containsEntry("room", "Room 1")
+            .containsEntry("speaker_id", speaker.getId());
+    }
+
+    @Test
+    void importMalformedCsvImportsNothing() throws Exception {
+        String csv =
+            """
+            first_name,last_name,email,telephone,session_ids
+            Ada,Lovelace,ada@import.test,,
+            Too,Many,columns@import.test,,,extra
+            """;
+
+        restCsvImportMockMvc
+            .perform(post(API_URL + "/attendees").contentType(TEXT_CSV).content(csv))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.status").value("FAILED"))
+            .andExpect(jsonPath("$.error").isNotEmpty());
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from attendee where email like '%@import.test'", Long.class)).isZero();
+    }
+
+    @Test
+    void importUnknownTypeOrDelimiterIsRejected() throws Exception {
+        restCsvImportMockMvc.perform(post(API_URL + "/users").contentType(TEXT_CSV).content("login\n")).andExpect(status().isBadRequest());
+        restCsvImportMockMvc
+            .perform(post(API_URL + "/attendees").param("delimiter", "'").contentType(TEXT_CSV).content("first_name\n"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void importRequiresAdmin() throws Exception {
+        restCsvImportMockMvc
+            .perform(post(API_URL + "/attendees").contentType(TEXT_CSV).content("first_name,last_name,email,telephone,session_ids\n"))
+            .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,104 @@
+package com.mycompany.myapp.web.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.security.LoginThrottle;
+import com.mycompany.myapp.web.rest.vm.LoginVM;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+/**
+ * Integration tests for the {@link LoginThrottleResource} REST controller, and the throttling of {@link AuthenticateController}.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class LoginThrottleResourceIT {
+
+    private static final String LOGIN = "throttled-login";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @AfterEach
+    public void clearBuckets() {
+        loginThrottle.clearAll();
+    }
+
+    @Test
+    void rejectsTheAttemptsOverTheLimitUntilTheBucketIsCleared() throws Exception {
+        int capacity = applicationProperties.getLoginThrottle().getLogin().getCapacity();
+        for (int i = 0; i < capacity; i++) {
+            authenticate().andExpect(status().isUnauthorized());
+        }
+
+        authenticate().andExpect(status().isTooManyRequests()).andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        mockMvc
+            .perform(get("/api/admin/login-throttle/login/{key}", LOGIN))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.type").value("LOGIN"))
+            .andExpect(jsonPath("$.key").value(LOGIN))
+            .andExpect(jsonPath("$.tokens").isNumber());
+        mockMvc
+            .perform(get("/api/admin/login-throttle"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].key").value(LOGIN));
+
+        mockMvc.perform(delete("/api/admin/login-throttle/login/{key}", LOGIN)).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/admin/login-throttle/login/{key}", LOGIN)).andExpect(status().isNotFound());
+        authenticate().andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void clearsAllTheBuckets() throws Exception {
+        authenticate().andExpect(status().isUnauthorized());
+
+        mockMvc.perform(delete("/api/admin/login-throttle")).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/admin/login-throttle")).andExpect(status().isOk()).andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void rejectsUnknownBucketTypes() throws Exception {
+        mockMvc.perform(get("/api/admin/login-throttle/user/{key}", LOGIN)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void forbidsNonAdminUsers() throws Exception {
+        mockMvc.perform(get("/api/admin/login-throttle")).andExpect(status().isForbidden());
+    }
+
+    private ResultActions authenticate() throws Exception {
+        LoginVM login = new LoginVM();
+        login.setUsername(LOGIN);
+        login.setPassword("wrong password");
+        return mockMvc.perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(login)));
+    }
+}
@@ -1,27 +1,51 @@
 package com.mycompany.myapp.web.rest;
 
 import static com.mycompany.myapp.domain.SessionAsserts.*;
+import static com.mycompany.myapp.web.rest.TestUtil.convertObjectToMergePatch;
 import static com.mycompany.myapp.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Conference;
 import com.mycompany.myapp.domain.Session;
+import com.mycompany.myapp.domain.Speaker;
+import com.mycompany.myapp.repository.ConferenceRepository;
 import com.mycompany.myapp.repository.SessionRepository;
+import com.mycompany.myapp.repository.SpeakerRepository;
+import com.mycompany.myapp.web.rest.errors.ErrorConstants;
+import com.mycompany.myapp.web.rest.util.ETagUtil;
+import com.mycompany.myapp.web.rest.util.KeysetPaginationUtil;
 import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -32,6 +56,8 @@ import org.springframework.transaction.annotation.Transactional;
 @WithMockUser
 class SessionResourceIT {
 
+    private static final Logger LOG = LoggerFactory.getLogger(SessionResourceIT.class);
+
     private static final String DEFAULT_TITLE = "AAAAAAAAAA";
     private static final String UPDATED_TITLE = "BBBBBBBBBB";
 
@@ -44,6 +70,12 @@ class SessionResourceIT {
     private static final String ENTITY_API_URL = "/api/sessions";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
 
+    private static final String ENTITY_NAME = "session";
+
+    private static final int SPARSE_FIELDS_SESSION_COUNT = 200;
+
+    private static final int SPARSE_FIELDS_RUNS = 5;
+
     private static Random random = new Random();
     private static AtomicLong longCount = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
 
@@ -53,6 +85,12 @@ class SessionResourceIT {
     @Autowired
     private SessionRepository sessionRepository;
 
+    @Autowired
+    private ConferenceRepository conferenceRepository;
+
+    @Autowired
+    private SpeakerRepository speakerRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -93,7 +131,7 @@ class SessionResourceIT {
     @AfterEach
     public void cleanup() {
         if (insertedSession != null) {
-            sessionRepository.delete(insertedSession);
+            sessionRepository.deleteById(insertedSession.getId());
             insertedSession = null;
         }
     }
@@ -153,6 +191,150 @@ class SessionResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeTest);
     }
 
+    @Test
+    void bulkSaveSessions() throws Exception {
+        insertedSession = sessionRepository.saveAndFlush(session);
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            sessions.add(createEntity(em));
+        }
+        sessions.add(new Session().id(insertedSession.getId()).title(UPDATED_TITLE));
+        sessions.add(new Session().id(Long.MAX_VALUE).title(UPDATED_TITLE));
+        sessions.add(new Session().description(DEFAULT_DESCRIPTION));
+        sessions.add(createEntity(em).conference(new Conference().id(Long.MAX_VALUE)));
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        MvcResult mvcResult = restSessionMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .content(om.writeValueAsBytes(sessions))
+            )
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        String body = restSessionMockMvc
+            .perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        Map<Integer, JsonNode> results = new HashMap<>();
+        for (String line : body.lines().toList()) {
+            JsonNode result = om.readTree(line);
+            results.put(result.get("index").asInt(), result);
+        }
+        assertThat(results).hasSize(sessions.size());
+        List<Long> createdIds = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            assertThat(results.get(i).get("status").asText()).isEqualTo("CREATED");
+            createdIds.add(results.get(i).get("id").asLong());
+        }
+        assertThat(results.get(30).get("status").asText()).isEqualTo("UPDATED");
+        assertThat(results.get(31).get("status").asText()).isEqualTo("NOT_FOUND");
+        assertThat(results.get(32).get("status").asText()).isEqualTo("INVALID");
+        assertThat(results.get(32).get("errors").get(0).asText()).startsWith("title:");
+        assertThat(results.get(33).get("status").asText()).isEqualTo("FAILED");
+        assertThat(results.get(33).has("id")).isFalse();
+
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeCreate + 30);
+        assertThat(getPersistedSession(insertedSession).getTitle()).isEqualTo(UPDATED_TITLE);
+        sessionRepository.deleteAllById(createdIds);
+    }
+
+    @Test
+    void createAndUpdateSessionWithReferencesById() throws Exception {
+        Conference conference = conferenceRepository.saveAndFlush(ConferenceResourceIT.createEntity(em));
+        Speaker speaker = speakerRepository.saveAndFlush(SpeakerResourceIT.createEntity(em));
+        Speaker otherSpeaker = speakerRepository.saveAndFlush(SpeakerResourceIT.createEntity(em));
+        try {
+            // the associations are only referenced by id, without version
+            ObjectNode body = om.valueToTree(session);
+            body.putObject("conference").put("id", conference.getId());
+            body.putObject("speaker").put("id", speaker.getId());
+            insertedSession = om.readValue(
+                restSessionMockMvc
+                    .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(body)))
+                    .andExpect(status().isCreated())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString(),
+                Session.class
+            );
+            Session persistedSession = getPersistedSession(insertedSession);
+            assertThat(persistedSession.getConference().getId()).isEqualTo(conference.getId());
+            assertThat(persistedSession.getSpeaker().getId()).isEqualTo(speaker.getId());
+
+            body.put("id", insertedSession.getId());
+            body.putObject("speaker").put("id", otherSpeaker.getId());
+            restSessionMockMvc
+                .perform(
+                    put(ENTITY_API_URL_ID, insertedSession.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(body))
+                )
+                .andExpect(status().isOk());
+            persistedSession = getPersistedSession(insertedSession);
+            assertThat(persistedSession.getConference().getId()).isEqualTo(conference.getId());
+            assertThat(persistedSession.getSpeaker().getId()).isEqualTo(otherSpeaker.getId());
+        } finally {
+            if (insertedSession != null) {
+                sessionRepository.deleteById(insertedSession.getId());
+                insertedSession = null;
+            }
+            speakerRepository.deleteAllById(List.of(speaker.getId(), otherSpeaker.getId()));
+            conferenceRepository.deleteById(conference.getId());
+        }
+    }
+
+    @Test
+    void bulkSaveSessionsWithReferencesById() throws Exception {
+        Conference conference = conferenceRepository.saveAndFlush(ConferenceResourceIT.createEntity(em));
+        insertedSession = sessionRepository.saveAndFlush(session);
+        List<Long> createdIds = new ArrayList<>();
+        try {
+            ArrayNode sessions = om.createArrayNode();
+            ObjectNode created = om.valueToTree(createEntity(em));
+            created.putObject("conference").put("id", conference.getId());
+            sessions.add(created);
+            ObjectNode updated = om.valueToTree(createUpdatedEntity(em).id(insertedSession.getId()));
+            updated.putObject("conference").put("id", conference.getId());
+            sessions.add(updated);
+
+            MvcResult mvcResult = restSessionMockMvc
+                .perform(
+                    post(ENTITY_API_URL + "/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(om.writeValueAsBytes(sessions))
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            String body = restSessionMockMvc
+                .perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+            List<JsonNode> results = new ArrayList<>();
+            for (String line : body.lines().toList()) {
+                results.add(om.readTree(line));
+            }
+            assertThat(results).extracting(result -> result.get("status").asText()).containsExactly("CREATED", "UPDATED");
+            createdIds.add(results.get(0).get("id").asLong());
+
+            assertThat(sessionRepository.findById(createdIds.get(0)).orElseThrow().getConference().getId()).isEqualTo(conference.getId());
+            assertThat(getPersistedSession(insertedSession).getConference().getId()).isEqualTo(conference.getId());
+        } finally {
+            sessionRepository.deleteAllById(createdIds);
+            sessionRepository.deleteById(insertedSession.getId());
+            insertedSession = null;
+            conferenceRepository.deleteById(conference.getId());
+        }
+    }
+
     @Test
     @Transactional
     void getAllSessions() throws Exception {
@@ -170,6 +352,246 @@ class SessionResourceIT {
             .andExpect(jsonPath("$.[*].room").value(hasItem(DEFAULT_ROOM)));
     }
 
+    @Test
+    @Transactional
+    void getAllSessionsSortedByAttendeeCount() throws Exception {
+        em.persist(session);
+        for (int i = 0; i < 3; i++) {
+            em.persist(AttendeeResourceIT.createEntity(em).addSession(session));
+        }
+        em.flush();
+
+        restSessionMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=attendeeCount,desc&size=100"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].attendeeCount").value(greaterThanOrEqualTo(3)))
+            .andExpect(jsonPath("$.[?(@.id == " + session.getId() + ")].attendeeCount").value(hasItem(3)));
+    }
+
+    @Test
+    @Transactional
+    void getAllSessionsWithKeysetPagination() throws Exception {
+        // Initialize the database
+        List<Long> insertedIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            insertedIds.add(sessionRepository.saveAndFlush(createEntity(em)).getId());
+        }
+
+        // Walk through all the windows, following the cursor
+        List<Long> readIds = new ArrayList<>();
+        String cursor = "";
+        while (cursor != null) {
+            MvcResult result = restSessionMockMvc
+                .perform(get(ENTITY_API_URL + "?size=2&after={cursor}", cursor))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(header().doesNotExist("X-Total-Count"))
+                .andExpect(jsonPath("$.length()").value(lessThanOrEqualTo(2)))
+                .andReturn();
+            for (Session readSession : om.readValue(result.getResponse().getContentAsString(), Session[].class)) {
+                readIds.add(readSession.getId());
+            }
+            cursor = result.getResponse().getHeader(KeysetPaginationUtil.HEADER_X_NEXT_CURSOR);
+        }
+
+        assertThat(readIds).containsAll(insertedIds).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    @Transactional
+    void getAllSessionsWithInvalidCursor() throws Exception {
+        restSessionMockMvc.perform(get(ENTITY_API_URL + "?after=not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamAllSessions() throws Exception {
+        // Initialize the database, outside of the test transaction as the sessions are streamed in their own
+        insertedSession = sessionRepository.saveAndFlush(session);
+        Session updatedSession = sessionRepository.saveAndFlush(createUpdatedEntity(em));
+
+        try {
+            // Stream all the sessions, in the requested order
+            MvcResult mvcResult = restSessionMockMvc
+                .perform(get(ENTITY_API_URL + "?sort=title,desc").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            String body = restSessionMockMvc
+                .perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+            List<Long> ids = new ArrayList<>();
+            for (String line : body.lines().toList()) {
+                ids.add(om.readTree(line).get("id").asLong());
+            }
+
+            assertThat(ids).contains(insertedSession.getId(), updatedSession.getId()).doesNotHaveDuplicates();
+            assertThat(ids.indexOf(updatedSession.getId())).isLessThan(ids.indexOf(insertedSession.getId()));
+        } finally {
+            sessionRepository.deleteById(updatedSession.getId());
+        }
+    }
+
+    @Test
+    @Transactional
+    void getAllSessionsWithFields() throws Exception {
+        // Initialize the database
+        Conference conference = new Conference().title("Sparse");
+        em.persist(conference);
+        insertedSession = sessionRepository.saveAndFlush(session.conference(conference));
+
+        // Get the requested fields of all the sessions, the id always comes first
+        restSessionMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&fields=room, conference,title,room"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[0].id").value(session.getId().intValue()))
+            .andExpect(jsonPath("$.[0].room").value(DEFAULT_ROOM))
+            .andExpect(jsonPath("$.[0].conference.id").value(conference.getId().intValue()))
+            .andExpect(jsonPath("$.[0].title").value(DEFAULT_TITLE))
+            .andExpect(jsonPath("$.[0].length()").value(4))
+            .andExpect(jsonPath("$.[0].description").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getAllSessionsWithFieldsAndKeysetPagination() throws Exception {
+        // Initialize the database
+        List<Long> insertedIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            insertedIds.add(sessionRepository.saveAndFlush(createEntity(em)).getId());
+        }
+
+        // Walk through all the windows, following the cursor
+        List<Long> readIds = new ArrayList<>();
+        String cursor = "";
+        while (cursor != null) {
+            MvcResult result = restSessionMockMvc
+                .perform(get(ENTITY_API_URL + "?size=2&fields=title&after={cursor}", cursor))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Total-Count"))
+                .andExpect(jsonPath("$.length()").value(lessThanOrEqualTo(2)))
+                .andReturn();
+            for (JsonNode readSession : om.readTree(result.getResponse().getContentAsString())) {
+                assertThat(readSession.size()).isEqualTo(2);
+                readIds.add(readSession.get("id").asLong());
+            }
+            cursor = result.getResponse().getHeader(KeysetPaginationUtil.HEADER_X_NEXT_CURSOR);
+        }
+
+        assertThat(readIds).containsAll(insertedIds).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    @Transactional
+    void getSessionWithFields() throws Exception {
+        // Initialize the database
+        insertedSession = sessionRepository.saveAndFlush(session);
+
+        // Get the requested fields of the session
+        restSessionMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?fields=title,speaker", session.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.id").value(session.getId().intValue()))
+            .andExpect(jsonPath("$.title").value(DEFAULT_TITLE))
+            .andExpect(jsonPath("$.speaker").isEmpty())
+            .andExpect(jsonPath("$.description").doesNotExist())
+            .andExpect(jsonPath("$.room").doesNotExist());
+        restSessionMockMvc.perform(get(ENTITY_API_URL_ID + "?fields=title", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getSessionWithUnknownFields() throws Exception {
+        insertedSession = sessionRepository.saveAndFlush(session);
+
+        restSessionMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?fields=title,secret", session.getId()))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.fieldinvalid"));
+        // collections can't be requested
+        restSessionMockMvc.perform(get(ENTITY_API_URL + "?fields=attendees")).andExpect(status().isBadRequest());
+        // neither can the fields which aren't serialized
+        restSessionMockMvc.perform(get(ENTITY_API_URL + "?fields=attendeeCount")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void fieldsReduceTheSessionListPayload() throws Exception {
+        // Initialize the database with sessions having long descriptions
+        for (int i = 0; i < SPARSE_FIELDS_SESSION_COUNT; i++) {
+            sessionRepository.save(createEntity(em).description("Description ".repeat(20) + i));
+        }
+        sessionRepository.flush();
+        String url = ENTITY_API_URL + "?sort=id,desc&size=" + SPARSE_FIELDS_SESSION_COUNT;
+
+        long[] fullList = measureList(url);
+        long[] sparseList = measureList(url + "&fields=title,room");
+
+        LOG.info(
+            "Page of {} sessions: full list {} bytes in {} us, sparse list {} bytes in {} us",
+            SPARSE_FIELDS_SESSION_COUNT,
+            fullList[0],
+            fullList[1],
+            sparseList[0],
+            sparseList[1]
+        );
+        assertThat(sparseList[0]).isLessThan(fullList[0] / 3);
+    }
+
+    /**
+     * @return the payload size in bytes and the smallest latency, in microseconds, over several runs.
+     */
+    private long[] measureList(String url) throws Exception {
+        long bytes = 0;
+        long minNanos = Long.MAX_VALUE;
+        for (int i = 0; i < SPARSE_FIELDS_RUNS; i++) {
+            em.clear();
+            long start = System.nanoTime();
+            MvcResult result = restSessionMockMvc.perform(get(url)).andExpect(status().isOk()).andReturn();
+            minNanos = Math.min(minNanos, System.nanoTime() - start);
+            bytes = result.getResponse().getContentAsByteArray().length;
+        }
+        return new long[] { bytes, minNanos / 1_000 };
+    }
+
+    @Test
+    @Transactional
+    void getMultipleSessions() throws Exception {
+        // Initialize the database
+        insertedSession = sessionRepository.saveAndFlush(session);
+        Session updatedSession = sessionRepository.saveAndFlush(createUpdatedEntity(em));
+
+        // Get the sessions in the requested order, the missing ids don't fail the request
+        String ids = updatedSession.getId() + "," + Long.MAX_VALUE + "," + session.getId() + "," + updatedSession.getId();
+        restSessionMockMvc
+            .perform(get(ENTITY_API_URL + "?ids={ids}", ids))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.found.length()").value(2))
+            .andExpect(jsonPath("$.found[0].id").value(updatedSession.getId().intValue()))
+            .andExpect(jsonPath("$.found[0].title").value(UPDATED_TITLE))
+            .andExpect(jsonPath("$.found[1].id").value(session.getId().intValue()))
+            .andExpect(jsonPath("$.found[1].title").value(DEFAULT_TITLE))
+            .andExpect(jsonPath("$.missing.length()").value(1))
+            .andExpect(jsonPath("$.missing[0]").value(Long.MAX_VALUE));
+    }
+
+    @Test
+    @Transactional
+    void getTooManySessions() throws Exception {
+        String ids = LongStream.rangeClosed(1, 101).mapToObj(Long::toString).collect(Collectors.joining(","));
+
+        restSessionMockMvc
+            .perform(get(ENTITY_API_URL + "?ids={ids}", ids))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.idstoomany"));
+    }
+
     @Test
     @Transactional
     void getSession() throws Exception {
@@ -221,6 +643,216 @@ class SessionResourceIT {
         assertPersistedSessionToMatchAllProperties(updatedSession);
     }
 
+    @Test
+    @Transactional
+    void getSessionWithETag() throws Exception {
+        insertedSession = sessionRepository.saveAndFlush(session);
+        String eTag = ETagUtil.entityTag(ENTITY_NAME, session.getId(), session.getVersion(), 0);
+
+        restSessionMockMvc
+            .perform(get(ENTITY_API_URL_ID, session.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        restSessionMockMvc
+            .perform(get(ENTITY_API_URL_ID, session.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        sessionRepository.saveAndFlush(session.title(UPDATED_TITLE));
+        restSessionMockMvc
+            .perform(get(ENTITY_API_URL_ID, session.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, ETagUtil.entityTag(ENTITY_NAME, session.getId(), session.getVersion(), 0)))
+            .andExpect(jsonPath("$.title").value(UPDATED_TITLE));
+
+        // registrations don't increment the version of the session, but change its number of attendees
+        eTag = ETagUtil.entityTag(ENTITY_NAME, session.getId(), session.getVersion(), 0);
+        em.persist(AttendeeResourceIT.createEntity(em).addSession(session));
+        em.flush();
+        restSessionMockMvc
+            .perform(get(ENTITY_API_URL_ID, session.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, ETagUtil.entityTag(ENTITY_NAME, session.getId(), session.getVersion(), 1)))
+            .andExpect(jsonPath("$.attendeeCount").value(1));
+    }
+
+    @Test
+    @Transactional
+    void getAllSessionsWithETag() throws Exception {
+        insertedSession = sessionRepository.saveAndFlush(session);
+        String eTag = restSessionMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotNull();
+
+        restSessionMockMvc.perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isNotModified());
+
+        sessionRepository.saveAndFlush(session.title(UPDATED_TITLE));
+        restSessionMockMvc
+            .perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
+    @Test
+    @Transactional
+    void putSessionWithIfMatch() throws Exception {
+        insertedSession = sessionRepository.saveAndFlush(session);
+        String staleETag = ETagUtil.entityTag(ENTITY_NAME, session.getId(), session.getVersion(), 0);
+        sessionRepository.saveAndFlush(session.room(UPDATED_ROOM));
+        long version = session.getVersion();
+        String eTag = ETagUtil.entityTag(ENTITY_NAME, session.getId(), version, 0);
+
+        Session updatedSession = new Session().id(session.getId()).title(UPDATED_TITLE);
+        restSessionMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, session.getId())
+                    .header(HttpHeaders.IF_MATCH, staleETag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedSession))
+            )
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(jsonPath("$.message").value(ErrorConstants.ERR_PRECONDITION_FAILED));
+
+        restSessionMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, session.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedSession))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, ETagUtil.entityTag(ENTITY_NAME, session.getId(), version + 1, 0)))
+            .andExpect(jsonPath("$.version").value(version + 1));
+
+        assertThat(getPersistedSession(session).getTitle()).isEqualTo(UPDATED_TITLE);
+        restSessionMockMvc
+            .perform(
+                get(ENTITY_API_URL_ID, session.getId()).header(
+                    HttpHeaders.IF_NONE_MATCH,
+                    ETagUtil.entityTag(ENTITY_NAME, session.getId(), version + 1, 0)
+                )
+            )
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @Transactional
+    void putSessionWithStaleVersion() throws Exception {
+        insertedSession = sessionRepository.saveAndFlush(session);
+        Session updatedSession = new Session().id(session.getId()).version(session.getVersion()).title(UPDATED_TITLE);
+        sessionRepository.saveAndFlush(session.room(UPDATED_ROOM));
+        em.detach(session);
+
+        restSessionMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, session.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedSession))
+            )
+            .andExpect(status().isConflict());
+    }
+
+    @Test
+    @Transactional
+    void patchSessionWithIfMatch() throws Exception {
+        insertedSession = sessionRepository.saveAndFlush(session);
+        long version = session.getVersion();
+        String eTag = ETagUtil.entityTag(ENTITY_NAME, session.getId(), version, 0);
+        Session partialUpdatedSession = new Session().id(session.getId()).title(UPDATED_TITLE);
+
+        restSessionMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, session.getId())
+                    .header(HttpHeaders.IF_MATCH, "W/" + eTag)
+                    .contentType("application/merge-patch+json")
+                    .content(convertObjectToMergePatch(om, partialUpdatedSession))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        restSessionMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, session.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"other\", " + eTag)
+                    .contentType("application/merge-patch+json")
+                    .content(convertObjectToMergePatch(om, partialUpdatedSession))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, ETagUtil.entityTag(ENTITY_NAME, session.getId(), version + 1, 0)));
+    }
+
+    @Test
+    @Transactional
+    void mergePatchSession() throws Exception {
+        insertedSession = sessionRepository.saveAndFlush(session);
+        Speaker speaker = SpeakerResourceIT.createEntity(em);
+        em.persist(speaker);
+        em.flush();
+
+        restSessionMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, session.getId())
+                    .contentType("application/merge-patch+json")
+                    .content("{\"description\": null, \"speaker\": {\"id\": " + speaker.getId() + "}, \"attendees\": []}")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value(DEFAULT_TITLE))
+            .andExpect(jsonPath("$.description").doesNotExist())
+            .andExpect(jsonPath("$.speaker.id").value(speaker.getId().intValue()))
+            .andExpect(jsonPath("$.version").value(session.getVersion().intValue() + 1));
+
+        Session persistedSession = getPersistedSession(session);
+        assertThat(persistedSession.getTitle()).isEqualTo(DEFAULT_TITLE);
+        assertThat(persistedSession.getDescription()).isNull();
+        assertThat(persistedSession.getRoom()).isEqualTo(DEFAULT_ROOM);
+        assertThat(persistedSession.getSpeaker().getId()).isEqualTo(speaker.getId());
+    }
+
+    @Test
+    @Transactional
+    void mergePatchSessionWithInvalidFields() throws Exception {
+        insertedSession = sessionRepository.saveAndFlush(session);
+
+        restSessionMockMvc
+            .perform(patch(ENTITY_API_URL_ID, session.getId()).contentType("application/merge-patch+json").content("{\"unknown\": 1}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.patchinvalid"));
+
+        restSessionMockMvc
+            .perform(patch(ENTITY_API_URL_ID, session.getId()).contentType("application/merge-patch+json").content("{\"title\": null}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.patchinvalid"));
+
+        assertThat(getPersistedSession(session).getTitle()).isEqualTo(DEFAULT_TITLE);
+
+        // rejected by the foreign key, which aborts the transaction
+        restSessionMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, session.getId()).contentType("application/merge-patch+json").content("{\"speaker\": {\"id\": 0}}")
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.patchinvalid"));
+    }
+
+    @Test
+    @Transactional
+    void mergePatchSessionWithStaleVersion() throws Exception {
+        insertedSession = sessionRepository.saveAndFlush(session);
+
+        restSessionMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, session.getId())
+                    .contentType("application/merge-patch+json")
+                    .content("{\"version\": " + (session.getVersion() - 1) + ", \"title\": \"" + UPDATED_TITLE + "\"}")
+            )
+            .andExpect(status().isConflict());
+
+        assertThat(getPersistedSession(session).getTitle()).isEqualTo(DEFAULT_TITLE);
+    }
+
     @Test
     @Transactional
     void putNonExistingSession() throws Exception {
@@ -288,7 +920,7 @@ class SessionResourceIT {
             .perform(
                 patch(ENTITY_API_URL_ID, partialUpdatedSession.getId())
                     .contentType("application/merge-patch+json")
-                    .content(om.writeValueAsBytes(partialUpdatedSession))
+                    .content(convertObjectToMergePatch(om, partialUpdatedSession))
             )
             .andExpect(status().isOk());
 
@@ -316,7 +948,7 @@ class SessionResourceIT {
             .perform(
                 patch(ENTITY_API_URL_ID, partialUpdatedSession.getId())
                     .contentType("application/merge-patch+json")
-                    .content(om.writeValueAsBytes(partialUpdatedSession))
+                    .content(convertObjectToMergePatch(om, partialUpdatedSession))
             )
             .andExpect(status().isOk());
 
@@ -1,19 +1,25 @@
 package com.mycompany.myapp.web.rest;
 
 import static com.mycompany.myapp.domain.SpeakerAsserts.*;
+import static com.mycompany.myapp.web.rest.TestUtil.convertObjectToMergePatch;
 import static com.mycompany.myapp.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Conference;
 import com.mycompany.myapp.domain.Speaker;
+import com.mycompany.myapp.repository.ConferenceRepository;
 import com.mycompany.myapp.repository.SpeakerRepository;
 import jakarta.persistence.EntityManager;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -26,9 +32,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -64,6 +72,9 @@ class SpeakerResourceIT {
     @Mock
     private SpeakerRepository speakerRepositoryMock;
 
+    @Autowired
+    private ConferenceRepository conferenceRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -104,7 +115,7 @@ class SpeakerResourceIT {
     @AfterEach
     public void cleanup() {
         if (insertedSpeaker != null) {
-            speakerRepository.delete(insertedSpeaker);
+            speakerRepository.deleteById(insertedSpeaker.getId());
             insertedSpeaker = null;
         }
     }
@@ -165,6 +176,30 @@ class SpeakerResourceIT {
             .andExpect(jsonPath("$.[*].company").value(hasItem(DEFAULT_COMPANY)));
     }
 
+    @Test
+    @Transactional
+    void getAllSpeakersWithETagChangesWithTheirConferences() throws Exception {
+        Conference conference = conferenceRepository.saveAndFlush(new Conference().title("Tagged"));
+        insertedSpeaker = speakerRepository.saveAndFlush(speaker.addConference(conference));
+        String eTag = restSpeakerMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotNull();
+
+        restSpeakerMockMvc.perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isNotModified());
+
+        // the conferences are embedded in the speakers, so updating one changes the tag of the speakers
+        conferenceRepository.saveAndFlush(conference.title("Retitled"));
+        restSpeakerMockMvc
+            .perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].conferences[*].title").value(hasItem("Retitled")))
+            .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
     @SuppressWarnings({ "unchecked" })
     void getAllSpeakersWithEagerRelationshipsIsEnabled() throws Exception {
         when(speakerRepositoryMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
@@ -182,6 +217,63 @@ class SpeakerResourceIT {
         verify(speakerRepositoryMock, times(1)).findAll(any(Pageable.class));
     }
 
+    @Test
+    void streamAllSpeakers() throws Exception {
+        // Initialize the database, outside of the test transaction as the speakers are streamed in their own
+        Conference conference = conferenceRepository.saveAndFlush(new Conference().title("Streamed"));
+        insertedSpeaker = speakerRepository.saveAndFlush(speaker.addConference(conference));
+
+        try {
+            // Stream all the speakers
+            MvcResult mvcResult = restSpeakerMockMvc
+                .perform(get(ENTITY_API_URL).accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            String body = restSpeakerMockMvc
+                .perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+            List<JsonNode> speakers = new ArrayList<>();
+            for (String line : body.lines().toList()) {
+                speakers.add(om.readTree(line));
+            }
+
+            assertThat(speakers).extracting(json -> json.get("id").asLong()).contains(insertedSpeaker.getId()).isSorted();
+            JsonNode streamed = speakers
+                .stream()
+                .filter(json -> json.get("id").asLong() == insertedSpeaker.getId())
+                .findFirst()
+                .orElseThrow();
+            assertThat(streamed.get("fullName").asText()).isEqualTo(DEFAULT_FULL_NAME);
+            assertThat(streamed.get("conferences").get(0).get("id").asLong()).isEqualTo(conference.getId());
+        } finally {
+            speakerRepository.deleteById(insertedSpeaker.getId());
+            insertedSpeaker = null;
+            conferenceRepository.deleteById(conference.getId());
+        }
+    }
+
+    @Test
+    @Transactional
+    void getMultipleSpeakers() throws Exception {
+        // Initialize the database
+        Conference conference = conferenceRepository.saveAndFlush(new Conference().title("Multi-get"));
+        insertedSpeaker = speakerRepository.saveAndFlush(speaker.addConference(conference));
+
+        // Get the speakers with their conferences
+        restSpeakerMockMvc
+            .perform(get(ENTITY_API_URL + "?ids={ids}", Long.MAX_VALUE + "," + speaker.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.found[0].id").value(speaker.getId().intValue()))
+            .andExpect(jsonPath("$.found[0].fullName").value(DEFAULT_FULL_NAME))
+            .andExpect(jsonPath("$.found[0].conferences[0].id").value(conference.getId().intValue()))
+            .andExpect(jsonPath("$.missing.length()").value(1))
+            .andExpect(jsonPath("$.missing[0]").value(Long.MAX_VALUE));
+    }
+
     @Test
     @Transactional
     void getSpeaker() throws Exception {
@@ -300,7 +392,7 @@ class SpeakerResourceIT {
             .perform(
                 patch(ENTITY_API_URL_ID, partialUpdatedSpeaker.getId())
                     .contentType("application/merge-patch+json")
-                    .content(om.writeValueAsBytes(partialUpdatedSpeaker))
+                    .content(convertObjectToMergePatch(om, partialUpdatedSpeaker))
             )
             .andExpect(status().isOk());
 
@@ -328,7 +420,7 @@ class SpeakerResourceIT {
             .perform(
                 patch(ENTITY_API_URL_ID, partialUpdatedSpeaker.getId())
                     .contentType("application/merge-patch+json")
-                    .content(om.writeValueAsBytes(partialUpdatedSpeaker))
+                    .content(convertObjectToMergePatch(om, partialUpdatedSpeaker))
             )
             .andExpect(status().isOk());
 
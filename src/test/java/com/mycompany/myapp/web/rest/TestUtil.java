@@ -2,6 +2,9 @@ package com.mycompany.myapp.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
@@ -198,5 +201,17 @@ public final class TestUtil {
         return (T) e.create();
     }
 
+    /**
+     * Convert an object to a JSON merge patch: only the fields that are set are sent, as {@code null} clears a field.
+     *
+     * @param om the object mapper.
+     * @param object the object to convert.
+     * @return the JSON byte array.
+     * @throws JsonProcessingException if the object can't be serialized.
+     */
+    public static byte[] convertObjectToMergePatch(ObjectMapper om, Object object) throws JsonProcessingException {
+        return om.copy().setSerializationInclusion(JsonInclude.Include.NON_EMPTY).writeValueAsBytes(object);
+    }
+
     private TestUtil() {}
 }
@@ -0,0 +1,99 @@
+package com.mycompany.myapp.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.myapp.repository.projection.ScheduleVersion;
+import com.mycompany.myapp.web.rest.errors.PreconditionFailedException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+/**
+ * Test class for the {@link ETagUtil} utility class.
+ */
+class ETagUtilTest {
+
+    private record Row(Long id, Long version, Set<Row> related) {}
+
+    private static final Function<Row, String> ROW_VERSION = row ->
+        ETagUtil.rowVersion(row.id(), row.version(), ETagUtil.relatedVersions(row.related(), Row::id, Row::version));
+
+    @Test
+    void collectionTagIsStableForTheSameRows() {
+        List<Row> rows = List.of(new Row(1L, 0L, Set.of(new Row(3L, 1L, null), new Row(2L, 0L, null))));
+        List<Row> reordered = List.of(new Row(1L, 0L, Set.of(new Row(2L, 0L, null), new Row(3L, 1L, null))));
+
+        assertThat(ETagUtil.collectionTag("row", rows, ROW_VERSION))
+            .isEqualTo(ETagUtil.collectionTag("row", reordered, ROW_VERSION))
+            .startsWith("\"rows-")
+            .endsWith("\"");
+    }
+
+    @Test
+    void collectionTagChangesWithTheRelatedRows() {
+        List<Row> rows = List.of(new Row(1L, 0L, Set.of(new Row(2L, 0L, null))));
+        List<Row> updated = List.of(new Row(1L, 0L, Set.of(new Row(2L, 1L, null))));
+
+        assertThat(ETagUtil.collectionTag("row", rows, ROW_VERSION)).isNotEqualTo(ETagUtil.collectionTag("row", updated, ROW_VERSION));
+    }
+
+    @Test
+    void rowVersionCantBeSplitDifferently() {
+        assertThat(ETagUtil.rowVersion(1L, 23L)).isNotEqualTo(ETagUtil.rowVersion(12L, 3L));
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("title", "a, b");
+        row.put("room", "c");
+        Map<String, Object> other = new LinkedHashMap<>();
+        other.put("title", "a");
+        other.put("room", "b, c");
+        assertThat(ETagUtil.fieldsVersion(row)).isNotEqualTo(ETagUtil.fieldsVersion(other));
+    }
+
+    @Test
+    void pageAndWindowTagsIncludeTheirHeaders() {
+        List<Row> rows = List.of(new Row(1L, 0L, Set.of()));
+
+        assertThat(ETagUtil.collectionTag("row", new PageImpl<>(rows, PageRequest.of(0, 1), 1), ROW_VERSION)).isNotEqualTo(
+            ETagUtil.collectionTag("row", new PageImpl<>(rows, PageRequest.of(0, 1), 2), ROW_VERSION)
+        );
+        assertThat(ETagUtil.collectionTag("row", Window.from(rows, ScrollPosition::offset, false), ROW_VERSION)).isNotEqualTo(
+            ETagUtil.collectionTag("row", Window.from(rows, ScrollPosition::offset, true), ROW_VERSION)
+        );
+    }
+
+    @Test
+    void scheduleTagChangesWhenVersionsMoveBetweenSessions() {
+        List<ScheduleVersion> schedule = List.of(
+            new ScheduleVersion(0L, 0, 0L, 1L, 2L, 3L, 0L),
+            new ScheduleVersion(0L, 0, 0L, 2L, 1L, null, null)
+        );
+        List<ScheduleVersion> swapped = List.of(
+            new ScheduleVersion(0L, 0, 0L, 1L, 1L, 3L, 0L),
+            new ScheduleVersion(0L, 0, 0L, 2L, 2L, null, null)
+        );
+
+        assertThat(ETagUtil.scheduleTag("conference", 1L, schedule))
+            .isEqualTo(ETagUtil.scheduleTag("conference", 1L, List.copyOf(schedule)))
+            .isNotEqualTo(ETagUtil.scheduleTag("conference", 1L, swapped))
+            .startsWith("\"conference-schedule-1-");
+    }
+
+    @Test
+    void checkIfMatchUsesTheStrongComparison() {
+        String tag = ETagUtil.entityTag("row", 1L, 0L);
+
+        ETagUtil.checkIfMatch(null, tag, "row");
+        ETagUtil.checkIfMatch("\"other\", " + tag, tag, "row");
+        ETagUtil.checkIfMatch("*", tag, "row");
+        assertThatThrownBy(() -> ETagUtil.checkIfMatch("W/" + tag, tag, "row")).isInstanceOf(PreconditionFailedException.class);
+    }
+}
@@ -0,0 +1,65 @@
+package com.mycompany.myapp.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Test class for the {@link KeysetPaginationUtil} utility class.
+ */
+class KeysetPaginationUtilTest {
+
+    private static final String BASE_URL = "/api/_search/example";
+
+    @Test
+    void emptyCursorStartsAtTheBeginning() {
+        assertThat(KeysetPaginationUtil.decodeCursor("")).hasValueSatisfying(position -> assertThat(position.isInitial()).isTrue());
+    }
+
+    @Test
+    void cursorRoundTrip() {
+        String cursor = KeysetPaginationUtil.encodeCursor(ScrollPosition.forward(Map.of("id", 1234L)));
+
+        assertThat(cursor).doesNotContain("1234");
+        assertThat(KeysetPaginationUtil.decodeCursor(cursor)).hasValueSatisfying(
+            position -> assertThat(position.getKeys()).containsEntry("id", 1234L)
+        );
+    }
+
+    @Test
+    void invalidCursorIsRejected() {
+        assertThat(KeysetPaginationUtil.decodeCursor("!!")).isEmpty();
+        assertThat(KeysetPaginationUtil.decodeCursor("bm90LWEtbnVtYmVy")).isEmpty();
+    }
+
+    @Test
+    void nextCursorHeadersAreGeneratedWhenThereIsANextWindow() {
+        Window<String> window = Window.from(List.of("a", "b"), index -> ScrollPosition.forward(Map.of("id", index + 10L)), true);
+
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            UriComponentsBuilder.fromUriString(BASE_URL + "?size=2&after="),
+            window
+        );
+
+        String cursor = headers.getFirst(KeysetPaginationUtil.HEADER_X_NEXT_CURSOR);
+        assertThat(KeysetPaginationUtil.decodeCursor(cursor)).map(KeysetScrollPosition::getKeys).hasValue(Map.of("id", 11L));
+        assertThat(headers.getFirst(HttpHeaders.LINK)).isEqualTo("<" + BASE_URL + "?size=2&after=" + cursor + ">; rel=\"next\"");
+        assertThat(headers).doesNotContainKey("X-Total-Count");
+    }
+
+    @Test
+    void noHeadersAreGeneratedForTheLastWindow() {
+        Window<String> window = Window.from(List.of("a"), index -> ScrollPosition.forward(Map.of("id", 1L)), false);
+
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(UriComponentsBuilder.fromUriString(BASE_URL), window);
+
+        assertThat(headers).isEmpty();
+    }
+}